@@ -0,0 +1,19 @@
+package benchmark;
+
+import org.openjdk.jmh.Main;
+
+import java.util.Arrays;
+
+/**
+ * Entry point of target/benchmarks.jar. Accepts the usual JMH command line and always adds the GC profiler, so every
+ * result reports bytes allocated per operation alongside its time.
+ */
+
+public class BenchmarkRunner {
+    public static void main(String[] args) throws Exception {
+        String[] arguments = Arrays.copyOf(args, args.length + 2);
+        arguments[args.length] = "-prof";
+        arguments[args.length + 1] = "gc";
+        Main.main(arguments);
+    }
+}
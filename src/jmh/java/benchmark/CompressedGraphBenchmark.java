@@ -0,0 +1,68 @@
+package benchmark;
+
+import graph.CompactGraph;
+import graph.CompressedGraph;
+import graph.DominatingSetCalculations;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Breadth first search and the unconnected greedy on a CompactGraph snapshot and on the same snapshot compressed, to
+ * show what decoding neighbor lists on the fly costs.
+ */
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class CompressedGraphBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class SnapshotState {
+        CompactGraph snapshot;
+        CompressedGraph compressed;
+
+        @Setup(Level.Trial)
+        public void compress(GraphState state) {
+            snapshot = state.graph.freeze();
+            compressed = CompressedGraph.of(snapshot);
+        }
+    }
+
+    @Benchmark
+    public CompressedGraph compress(SnapshotState state) {
+        return CompressedGraph.of(state.snapshot);
+    }
+
+    @Benchmark
+    public int[] bfsCompact(SnapshotState state) {
+        return state.snapshot.bfsLevels(0);
+    }
+
+    @Benchmark
+    public int[] bfsCompressed(SnapshotState state) {
+        return state.compressed.bfsLevels(0);
+    }
+
+    @Benchmark
+    public int[] greedyCompact(SnapshotState state) {
+        return DominatingSetCalculations.greedy(state.snapshot);
+    }
+
+    @Benchmark
+    public int[] greedyCompressed(SnapshotState state) {
+        return DominatingSetCalculations.greedy(state.compressed);
+    }
+}
@@ -0,0 +1,55 @@
+package benchmark;
+
+import graph.DominatingSetCalculations;
+import graph.Vertex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The unconnected greedy, its component-parallel variant and the verifier, each run end to end from a Graph.
+ */
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class DominatingSetBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class DominatingSetState {
+        Set<Vertex> dominatingSet;
+
+        @Setup(Level.Trial)
+        public void generateDominatingSet(GraphState state) {
+            dominatingSet = DominatingSetCalculations.greedy(state.graph);
+        }
+    }
+
+    @Benchmark
+    public Set<Vertex> greedy(GraphState state) {
+        return DominatingSetCalculations.greedy(state.graph);
+    }
+
+    @Benchmark
+    public Set<Vertex> greedyByComponent(GraphState state) {
+        return DominatingSetCalculations.greedyByComponent(state.graph);
+    }
+
+    @Benchmark
+    public boolean verify(GraphState state, DominatingSetState dominatingSetState) {
+        return DominatingSetCalculations.verify(dominatingSetState.dominatingSet, state.graph);
+    }
+}
@@ -0,0 +1,78 @@
+package benchmark;
+
+import graph.Graph;
+import graph.Vertex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-call mutation cost: rebuilding a data set one addVertex and addEdge at a time, and removing its best connected
+ * vertices one removeVertex at a time.
+ */
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class GraphMutationBenchmark {
+    private static final int VERTICES_TO_REMOVE = 100;
+
+    @State(Scope.Thread)
+    public static class RemovalState {
+        Graph<?> graph;
+        int[] verticesToRemove;
+
+        @Setup(Level.Trial)
+        public void chooseVertices(GraphState state) {
+            verticesToRemove = state.graph.getVertexMap().values().stream()
+                    .sorted(Comparator.comparingInt(Vertex::degree).reversed())
+                    .limit(VERTICES_TO_REMOVE)
+                    .mapToInt(Vertex::getValue)
+                    .toArray();
+        }
+
+        @Setup(Level.Invocation)
+        public void cloneGraph(GraphState state) {
+            graph = state.graph.clone();
+        }
+    }
+
+    @Benchmark
+    public Graph<?> addEdge(GraphState state) {
+        Graph<?> graph = state.newGraph();
+        int[] edgePairs = state.edgePairs;
+        for(int i = 0; i < edgePairs.length; i += 2) {
+            addVertexIfAbsent(graph, edgePairs[i]);
+            addVertexIfAbsent(graph, edgePairs[i + 1]);
+            graph.addEdge(edgePairs[i], edgePairs[i + 1]);
+        }
+        return graph;
+    }
+
+    @Benchmark
+    public Graph<?> removeVertex(RemovalState removalState) {
+        for(int value : removalState.verticesToRemove) {
+            removalState.graph.removeVertex(value);
+        }
+        return removalState.graph;
+    }
+
+    private static void addVertexIfAbsent(Graph<?> graph, int value) {
+        if(!graph.getVertexMap().containsKey(value)) {
+            graph.addVertex(value);
+        }
+    }
+}
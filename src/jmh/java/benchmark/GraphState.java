@@ -0,0 +1,61 @@
+package benchmark;
+
+import graph.DirectedGraph;
+import graph.Edge;
+import graph.Graph;
+import graph.IntArrayList;
+import graph.UndirectedGraph;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import util.GraphLoader;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * One of the shipped data sets, loaded once per trial as either a DirectedGraph or an UndirectedGraph. Benchmarks run
+ * from the project root, where the data sets are found under data/raw_graph_data.
+ */
+
+@State(Scope.Benchmark)
+public class GraphState {
+    @Param({"facebook_1000", "facebook_2000", "facebook_combined", "twitter_higgs"})
+    public String dataSet;
+
+    @Param({"directed", "undirected"})
+    public String graphType;
+
+    Graph<?> graph;
+    int[] edgePairs;
+
+    @Setup(Level.Trial)
+    public void loadGraph() {
+        graph = newGraph();
+        GraphLoader.loadGraph(graph, fileName());
+        edgePairs = collectEdgePairs(graph);
+    }
+
+    Graph<?> newGraph() {
+        return "directed".equals(graphType) ? new DirectedGraph() : new UndirectedGraph();
+    }
+
+    String fileName() {
+        return "data/raw_graph_data/" + dataSet + ".txt";
+    }
+
+    private static int[] collectEdgePairs(Graph<?> graph) {
+        IntArrayList pairs = new IntArrayList(2 * graph.getNumEdges());
+        for(Map.Entry<Integer, Set<Edge>> entry : graph.getEdgeMap().entrySet()) {
+            for(Edge edge : entry.getValue()) {
+                if(edge.getA() == entry.getKey()) {
+                    pairs.add(edge.getA());
+                    pairs.add(edge.getB());
+                }
+            }
+        }
+        return pairs.toArray();
+    }
+}
@@ -0,0 +1,42 @@
+package benchmark;
+
+import graph.Graph;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import util.GraphLoader;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Whole-graph operations: loading a data set from its edge list, copying it and checking that it is connected.
+ */
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class TraversalBenchmark {
+
+    @Benchmark
+    public Graph<?> loadGraph(GraphState state) {
+        Graph<?> graph = state.newGraph();
+        GraphLoader.loadGraph(graph, state.fileName());
+        return graph;
+    }
+
+    @Benchmark
+    public Graph<?> cloneGraph(GraphState state) {
+        return state.graph.clone();
+    }
+
+    @Benchmark
+    public boolean isConnected(GraphState state) {
+        return state.graph.isConnected();
+    }
+}
@@ -0,0 +1,52 @@
+package graph;
+
+import java.util.function.Function;
+
+/**
+ * Dominating set produced by a calculation that may have been cancelled. The set is always a complete, valid dominating
+ * set. If the calculation was cancelled before finishing, the vertices it had chosen are completed by a quick
+ * fallback, and the set is usually larger than the one an uncancelled run would have produced.
+ * @param <T> The representation of the dominating set, such as a Set of Vertex objects or an int[] of values.
+ */
+
+public final class AnytimeResult<T> {
+    private final T dominatingSet;
+    private final boolean complete;
+    private final int numChosenGreedily;
+
+    AnytimeResult(T dominatingSet, boolean complete, int numChosenGreedily) {
+        this.dominatingSet = dominatingSet;
+        this.complete = complete;
+        this.numChosenGreedily = numChosenGreedily;
+    }
+
+    public T getDominatingSet() {
+        return dominatingSet;
+    }
+
+    /**
+     * @return true if the calculation finished before being cancelled, and so produced its usual result.
+     */
+    public boolean isComplete() {
+        return complete;
+    }
+
+    /**
+     * @return the number of vertices the calculation itself chose, as opposed to those added by the fallback. It is the
+     * size of the set if the calculation finished.
+     */
+    public int getNumChosenGreedily() {
+        return numChosenGreedily;
+    }
+
+    <U> AnytimeResult<U> map(Function<T, U> mapping) {
+        return new AnytimeResult<>(mapping.apply(dominatingSet), complete, numChosenGreedily);
+    }
+
+    @Override
+    public String toString() {
+        return "AnytimeResult{" +
+                (complete ? "complete" : "cancelled after " + numChosenGreedily + " chosen greedily") +
+                '}';
+    }
+}
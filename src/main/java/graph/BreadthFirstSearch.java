@@ -0,0 +1,258 @@
+package graph;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Level-synchronous, direction-optimizing breadth first search over a CompactGraph.
+ *
+ * Each level is expanded either top-down, with every frontier vertex claiming its unvisited out-neighbors, or
+ * bottom-up, with every unvisited vertex looking for an in-neighbor in the frontier and stopping at the first one found.
+ * Top-down is cheaper while the frontier is small. Once the out-edges of the frontier outnumber the in-edges left to
+ * check by ALPHA to one, the search switches to bottom-up, and it switches back once the frontier shrinks below
+ * 1 / BETA of the vertices. Visited vertices are claimed in an atomic bitset, so levels with enough work are split
+ * across the common fork-join pool.
+ */
+
+final class BreadthFirstSearch {
+    private static final int ALPHA = 14;
+    private static final int BETA = 24;
+    private static final int PARALLEL_THRESHOLD = 1 << 14;
+    private static final int RANGES_PER_THREAD = 4;
+    private static final Histogram SEARCH_TIMES = Metrics.histogram(Metrics.BFS);
+    private static final Counter VISITED = Metrics.counter(Metrics.BFS_VISITED);
+
+    private final CompactGraph graph;
+    private final int numVertices;
+    private final int[] levels;
+    private final AtomicLongArray visited;
+    private int numVisited;
+    private long uncheckedInEdges;
+    private int depth;
+
+    BreadthFirstSearch(CompactGraph graph) {
+        this.graph = graph;
+        numVertices = graph.numVertices();
+        levels = new int[numVertices];
+        visited = new AtomicLongArray(wordsFor(numVertices));
+    }
+
+    /**
+     * @return the number of hops from the source to every vertex, indexed by dense index, with -1 for vertices the
+     * source cannot reach.
+     */
+    int[] levels(int source) {
+        long start = Metrics.startTimer();
+        Arrays.fill(levels, -1);
+        for(int word = 0; word < visited.length(); word++) {
+            visited.set(word, 0);
+        }
+        levels[source] = 0;
+        claim(source);
+        numVisited = 1;
+        uncheckedInEdges = totalInEdges() - graph.inDegree(source);
+        depth = 0;
+        int[] frontier = {source};
+        while(frontier.length > 0) {
+            if(sumOutDegrees(frontier) > uncheckedInEdges / ALPHA) {
+                frontier = expandBottomUpWhileLarge(frontier);
+            } else {
+                frontier = expandTopDown(frontier);
+            }
+        }
+        SEARCH_TIMES.recordSince(start);
+        VISITED.add(numVisited);
+        return levels;
+    }
+
+    /**
+     * @return the number of vertices reached by the last search.
+     */
+    int numVisited() {
+        return numVisited;
+    }
+
+    private int[] expandTopDown(int[] frontier) {
+        int nextLevel = ++depth;
+        if(!isWorthSplitting(frontier.length + sumOutDegrees(frontier))) {
+            return recordVisited(topDownRange(frontier, 0, frontier.length, nextLevel).toArray());
+        }
+        int numRanges = numRanges();
+        int rangeSize = (frontier.length + numRanges - 1) / numRanges;
+        List<IntArrayList> parts = IntStream.range(0, numRanges)
+                .parallel()
+                .mapToObj(range -> topDownRange(frontier, Math.min(range * rangeSize, frontier.length),
+                        Math.min((range + 1) * rangeSize, frontier.length), nextLevel))
+                .collect(Collectors.toList());
+        IntArrayList next = new IntArrayList();
+        for(IntArrayList part : parts) {
+            next.addAll(part);
+        }
+        return recordVisited(next.toArray());
+    }
+
+    private IntArrayList topDownRange(int[] frontier, int from, int to, int nextLevel) {
+        IntArrayList next = new IntArrayList();
+        for(int i = from; i < to; i++) {
+            int vertex = frontier[i];
+            for(int j = graph.outStart(vertex); j < graph.outEnd(vertex); j++) {
+                int neighbor = graph.outTarget(j);
+                if(!isVisited(neighbor) && claim(neighbor)) {
+                    levels[neighbor] = nextLevel;
+                    next.add(neighbor);
+                }
+            }
+        }
+        return next;
+    }
+
+    private int[] recordVisited(int[] newlyVisited) {
+        numVisited += newlyVisited.length;
+        for(int vertex : newlyVisited) {
+            uncheckedInEdges -= graph.inDegree(vertex);
+        }
+        return newlyVisited;
+    }
+
+    private void recordVisited(long[] newlyVisitedBits, int count) {
+        numVisited += count;
+        for(int word = 0; word < newlyVisitedBits.length; word++) {
+            long remaining = newlyVisitedBits[word];
+            while(remaining != 0) {
+                uncheckedInEdges -= graph.inDegree(word * Long.SIZE + Long.numberOfTrailingZeros(remaining));
+                remaining &= remaining - 1;
+            }
+        }
+    }
+
+    /**
+     * Expands bottom-up, one level at a time, until the frontier is small enough for top-down expansion again.
+     * @return the last frontier reached, as a list of vertices.
+     */
+    private int[] expandBottomUpWhileLarge(int[] frontier) {
+        long[] frontierBits = toBits(frontier);
+        int frontierSize = frontier.length;
+        do {
+            long[] nextBits = new long[frontierBits.length];
+            frontierSize = expandBottomUp(frontierBits, nextBits, ++depth);
+            frontierBits = nextBits;
+            recordVisited(frontierBits, frontierSize);
+        } while(frontierSize >= numVertices / BETA && frontierSize > 0);
+        return toVertices(frontierBits, frontierSize);
+    }
+
+    private int expandBottomUp(long[] frontierBits, long[] nextBits, int nextLevel) {
+        if(!isWorthSplitting((long) numVertices + uncheckedInEdges)) {
+            return bottomUpRange(frontierBits, nextBits, 0, frontierBits.length, nextLevel);
+        }
+        int numRanges = numRanges();
+        int wordsPerRange = (frontierBits.length + numRanges - 1) / numRanges;
+        return IntStream.range(0, numRanges)
+                .parallel()
+                .map(range -> bottomUpRange(frontierBits, nextBits, Math.min(range * wordsPerRange, frontierBits.length),
+                        Math.min((range + 1) * wordsPerRange, frontierBits.length), nextLevel))
+                .sum();
+    }
+
+    /**
+     * Visits the unvisited vertices of a range of whole bitset words that have an in-neighbor in the frontier. Ranges
+     * never share a word of nextBits, so it needs no synchronization.
+     */
+    private int bottomUpRange(long[] frontierBits, long[] nextBits, int fromWord, int toWord, int nextLevel) {
+        int count = 0;
+        int end = Math.min(toWord * Long.SIZE, numVertices);
+        for(int vertex = fromWord * Long.SIZE; vertex < end; vertex++) {
+            if(isVisited(vertex)) {
+                continue;
+            }
+            for(int j = graph.inStart(vertex); j < graph.inEnd(vertex); j++) {
+                if(isSet(frontierBits, graph.inTarget(j))) {
+                    claim(vertex);
+                    levels[vertex] = nextLevel;
+                    nextBits[vertex >>> 6] |= 1L << vertex;
+                    count++;
+                    break;
+                }
+            }
+        }
+        return count;
+    }
+
+    private boolean isVisited(int vertex) {
+        return (visited.get(vertex >>> 6) & (1L << vertex)) != 0;
+    }
+
+    /**
+     * @return true if this call marked the vertex visited, false if it already was.
+     */
+    private boolean claim(int vertex) {
+        int word = vertex >>> 6;
+        long bit = 1L << vertex;
+        while(true) {
+            long current = visited.get(word);
+            if((current & bit) != 0) {
+                return false;
+            }
+            if(visited.compareAndSet(word, current, current | bit)) {
+                return true;
+            }
+        }
+    }
+
+    private long totalInEdges() {
+        long total = 0;
+        for(int vertex = 0; vertex < numVertices; vertex++) {
+            total += graph.inDegree(vertex);
+        }
+        return total;
+    }
+
+    private long sumOutDegrees(int[] vertices) {
+        long sum = 0;
+        for(int vertex : vertices) {
+            sum += graph.outDegree(vertex);
+        }
+        return sum;
+    }
+
+    private long[] toBits(int[] vertices) {
+        long[] bits = new long[wordsFor(numVertices)];
+        for(int vertex : vertices) {
+            bits[vertex >>> 6] |= 1L << vertex;
+        }
+        return bits;
+    }
+
+    private static int[] toVertices(long[] bits, int count) {
+        int[] vertices = new int[count];
+        int i = 0;
+        for(int word = 0; word < bits.length; word++) {
+            long remaining = bits[word];
+            while(remaining != 0) {
+                vertices[i++] = word * Long.SIZE + Long.numberOfTrailingZeros(remaining);
+                remaining &= remaining - 1;
+            }
+        }
+        return vertices;
+    }
+
+    private static boolean isSet(long[] bits, int vertex) {
+        return (bits[vertex >>> 6] & (1L << vertex)) != 0;
+    }
+
+    private static boolean isWorthSplitting(long work) {
+        return work >= PARALLEL_THRESHOLD && ForkJoinPool.getCommonPoolParallelism() > 1;
+    }
+
+    private static int numRanges() {
+        return ForkJoinPool.getCommonPoolParallelism() * RANGES_PER_THREAD;
+    }
+
+    private static int wordsFor(int numVertices) {
+        return (numVertices + Long.SIZE - 1) / Long.SIZE;
+    }
+}
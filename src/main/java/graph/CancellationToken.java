@@ -0,0 +1,48 @@
+package graph;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cooperative stop signal for long-running calculations. A token is cancelled by calling cancel() from any thread, or
+ * by its deadline passing if it was created withTimeout. Calculations poll isCancelled from their main loops, so they
+ * stop shortly after, not at, the moment of cancellation.
+ */
+
+public final class CancellationToken {
+    private final boolean hasDeadline;
+    private final long deadline;
+    private volatile boolean cancelled;
+
+    /**
+     * Creates a token that is only cancelled by calling cancel().
+     */
+    public CancellationToken() {
+        this(false, 0);
+    }
+
+    private CancellationToken(boolean hasDeadline, long deadline) {
+        this.hasDeadline = hasDeadline;
+        this.deadline = deadline;
+    }
+
+    /**
+     * @return a token that cancels itself once the timeout has elapsed from now, or earlier if cancel() is called.
+     */
+    public static CancellationToken withTimeout(long timeout, TimeUnit unit) {
+        return new CancellationToken(true, System.nanoTime() + unit.toNanos(timeout));
+    }
+
+    public void cancel() {
+        cancelled = true;
+    }
+
+    public boolean isCancelled() {
+        if(cancelled) {
+            return true;
+        }
+        if(hasDeadline && System.nanoTime() - deadline >= 0) {
+            cancelled = true;
+        }
+        return cancelled;
+    }
+}
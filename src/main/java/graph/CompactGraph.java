@@ -0,0 +1,636 @@
+package graph;
+
+import java.nio.IntBuffer;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.function.IntConsumer;
+
+/**
+ * Read-only compressed sparse row (CSR) snapshot of a Graph. Every vertex is given a dense index in 0..n-1, assigned
+ * in ascending order of vertex value, and the neighbors of vertex i are stored in targets[offsets[i]..offsets[i+1]).
+ * An UndirectedGraph stores each edge in both directions of a single offsets/targets pair. A DirectedGraph keeps a
+ * second pair holding the in-edges, so both directions can be walked without a search. A snapshot frozen from an
+ * OffHeapGraph keeps its targets in OffHeapIntArrays instead, and one made by ofBuffers reads its ids, offsets and
+ * targets from IntBuffers, such as the sections of a memory-mapped file, all through the same accessors.
+ *
+ * relabel moves the vertices to new dense indices, usually a VertexOrdering chosen to place neighbors close together.
+ * Values are then looked up through an IdMapper rather than by binary search, and results described as being in
+ * ascending order of vertex value, such as the numbering of components or the undominated vertices a verification
+ * reports first, follow the new index order instead. Dominating sets do not depend on the order.
+ */
+
+public final class CompactGraph {
+    private final boolean directed;
+    private final int[] ids;
+    private final int[] outOffsets;
+    private final int[] outTargets;
+    private final int[] inOffsets;
+    private final int[] inTargets;
+    private final OffHeapIntArray offHeapOutTargets;
+    private final OffHeapIntArray offHeapInTargets;
+    private final IntBuffer bufferIds;
+    private final IntBuffer bufferOutOffsets;
+    private final IntBuffer bufferOutTargets;
+    private final IntBuffer bufferInOffsets;
+    private final IntBuffer bufferInTargets;
+    private final IdMapper relabelledIds;
+    private final int numEdges;
+
+    CompactGraph(boolean directed, int[] ids, int[] outOffsets, int[] outTargets, int[] inOffsets,
+                         int[] inTargets, int numEdges) {
+        this.directed = directed;
+        this.ids = ids;
+        this.outOffsets = outOffsets;
+        this.outTargets = outTargets;
+        this.inOffsets = inOffsets;
+        this.inTargets = inTargets;
+        offHeapOutTargets = null;
+        offHeapInTargets = null;
+        bufferIds = null;
+        bufferOutOffsets = null;
+        bufferOutTargets = null;
+        bufferInOffsets = null;
+        bufferInTargets = null;
+        relabelledIds = mapperIfUnordered(ids);
+        this.numEdges = numEdges;
+    }
+
+    /**
+     * Creates a snapshot whose targets are stored off the heap, so that only the per-vertex arrays take heap space.
+     */
+    CompactGraph(boolean directed, int[] ids, int[] outOffsets, OffHeapIntArray outTargets, int[] inOffsets,
+                 OffHeapIntArray inTargets, int numEdges) {
+        this.directed = directed;
+        this.ids = ids;
+        this.outOffsets = outOffsets;
+        this.outTargets = null;
+        this.inOffsets = inOffsets;
+        this.inTargets = null;
+        offHeapOutTargets = outTargets;
+        offHeapInTargets = inTargets;
+        bufferIds = null;
+        bufferOutOffsets = null;
+        bufferOutTargets = null;
+        bufferInOffsets = null;
+        bufferInTargets = null;
+        relabelledIds = mapperIfUnordered(ids);
+        this.numEdges = numEdges;
+    }
+
+    private CompactGraph(boolean directed, IntBuffer ids, IntBuffer outOffsets, IntBuffer outTargets,
+                         IntBuffer inOffsets, IntBuffer inTargets, int numEdges) {
+        this.directed = directed;
+        this.ids = null;
+        this.outOffsets = null;
+        this.outTargets = null;
+        this.inOffsets = null;
+        this.inTargets = null;
+        offHeapOutTargets = null;
+        offHeapInTargets = null;
+        bufferIds = ids;
+        bufferOutOffsets = outOffsets;
+        bufferOutTargets = outTargets;
+        bufferInOffsets = inOffsets;
+        bufferInTargets = inTargets;
+        relabelledIds = null;
+        this.numEdges = numEdges;
+    }
+
+    /**
+     * Wraps compressed sparse row sections held in buffers, such as those of a memory-mapped GraphSnapshot, without
+     * copying them onto the heap. The buffers are read with absolute gets from index 0 up to their limits, and must not
+     * change while the snapshot is in use.
+     * @param ids The vertex values, one per dense index, in ascending order.
+     * @param outOffsets ids.limit() + 1 entries, where the out-neighbors of vertex i start in outTargets.
+     * @param outTargets The dense indices of each vertex's out-neighbors, in ascending order.
+     * @param inOffsets As outOffsets, for the in-neighbors. An undirected snapshot passes outOffsets again.
+     * @param inTargets As outTargets, for the in-neighbors. An undirected snapshot passes outTargets again.
+     * @throws IllegalArgumentException if the sections' lengths do not match or the ids are not ascending.
+     */
+    public static CompactGraph ofBuffers(boolean directed, IntBuffer ids, IntBuffer outOffsets, IntBuffer outTargets,
+                                         IntBuffer inOffsets, IntBuffer inTargets, int numEdges) {
+        int numVertices = ids.limit();
+        confirmSectionsMatch(numVertices, outOffsets, outTargets);
+        confirmSectionsMatch(numVertices, inOffsets, inTargets);
+        for(int i = 1; i < numVertices; i++) {
+            if(ids.get(i) <= ids.get(i - 1)) {
+                throw new IllegalArgumentException("Vertex values must be in ascending order.");
+            }
+        }
+        return new CompactGraph(directed, ids, outOffsets, outTargets, inOffsets, inTargets, numEdges);
+    }
+
+    private static void confirmSectionsMatch(int numVertices, IntBuffer offsets, IntBuffer targets) {
+        if(offsets.limit() != numVertices + 1 || offsets.get(0) != 0 || offsets.get(numVertices) != targets.limit()) {
+            throw new IllegalArgumentException("Offsets must have one entry per vertex plus one, ending at the number"
+                    + " of targets.");
+        }
+    }
+
+    /**
+     * @param graph The graph to be frozen. The graph is only read, and later changes to it are not reflected in the
+     *              snapshot.
+     * @return A CompactGraph holding the same vertices and edges as the input graph.
+     */
+    public static CompactGraph of(Graph<?> graph) {
+        Vertex[] vertices = sortedVertices(graph.getVertexMap());
+        int[] ids = new int[vertices.length];
+        for(int i = 0; i < vertices.length; i++) {
+            ids[i] = vertices[i].getValue();
+        }
+        int[] outOffsets = new int[vertices.length + 1];
+        for(int i = 0; i < vertices.length; i++) {
+            outOffsets[i + 1] = outOffsets[i] + vertices[i].getNeighbors().size();
+        }
+        int[] outTargets = new int[outOffsets[vertices.length]];
+        for(int i = 0; i < vertices.length; i++) {
+            int position = outOffsets[i];
+            for(Vertex neighbor : vertices[i].getNeighbors()) {
+                outTargets[position++] = Arrays.binarySearch(ids, neighbor.getValue());
+            }
+            Arrays.sort(outTargets, outOffsets[i], position);
+        }
+        if(!(graph instanceof DirectedGraph)) {
+            return new CompactGraph(false, ids, outOffsets, outTargets, outOffsets, outTargets, graph.getNumEdges());
+        }
+        int[] inOffsets = new int[vertices.length + 1];
+        int[] inTargets = transpose(outOffsets, outTargets, inOffsets);
+        return new CompactGraph(true, ids, outOffsets, outTargets, inOffsets, inTargets, graph.getNumEdges());
+    }
+
+    /**
+     * Freezes a graph that other threads may be changing. Only the vertices seen when the snapshot starts are kept, and
+     * neighbors are read as each vertex is reached, so edges that appear or disappear meanwhile may or may not be
+     * included. An undirected edge is only kept if both endpoints list each other, so the snapshot stays symmetric.
+     */
+    static CompactGraph ofConcurrent(Graph<?> graph) {
+        Vertex[] vertices = sortedVertices(graph.getVertexMap());
+        int[] ids = new int[vertices.length];
+        for(int i = 0; i < vertices.length; i++) {
+            ids[i] = vertices[i].getValue();
+        }
+        int[] outOffsets = new int[vertices.length + 1];
+        IntArrayList targets = new IntArrayList();
+        for(int i = 0; i < vertices.length; i++) {
+            vertices[i].forEachNeighbor(neighbor -> {
+                int index = Arrays.binarySearch(ids, neighbor);
+                if(index >= 0) {
+                    targets.add(index);
+                }
+            });
+            outOffsets[i + 1] = targets.size();
+        }
+        int[] outTargets = targets.toArray();
+        for(int i = 0; i < vertices.length; i++) {
+            Arrays.sort(outTargets, outOffsets[i], outOffsets[i + 1]);
+        }
+        if(graph instanceof DirectedGraph) {
+            int[] inOffsets = new int[vertices.length + 1];
+            int[] inTargets = transpose(outOffsets, outTargets, inOffsets);
+            return new CompactGraph(true, ids, outOffsets, outTargets, inOffsets, inTargets, outTargets.length);
+        }
+        return symmetricPart(ids, outOffsets, outTargets);
+    }
+
+    private static CompactGraph symmetricPart(int[] ids, int[] offsets, int[] targets) {
+        int[] keptOffsets = new int[ids.length + 1];
+        IntArrayList kept = new IntArrayList(targets.length);
+        int numEdges = 0;
+        for(int source = 0; source < ids.length; source++) {
+            for(int i = offsets[source]; i < offsets[source + 1]; i++) {
+                int target = targets[i];
+                if(Arrays.binarySearch(targets, offsets[target], offsets[target + 1], source) >= 0) {
+                    kept.add(target);
+                    if(target >= source) {
+                        numEdges++;
+                    }
+                }
+            }
+            keptOffsets[source + 1] = kept.size();
+        }
+        int[] keptTargets = kept.toArray();
+        return new CompactGraph(false, ids, keptOffsets, keptTargets, keptOffsets, keptTargets, numEdges);
+    }
+
+    /**
+     * @return an IdMapper from value to dense index, or null if the values ascend with the indices and can be found by
+     * binary search.
+     */
+    static IdMapper mapperIfUnordered(int[] ids) {
+        for(int i = 1; i < ids.length; i++) {
+            if(ids[i] <= ids[i - 1]) {
+                IdMapper mapper = new IdMapper(ids.length);
+                for(int id : ids) {
+                    mapper.map(id);
+                }
+                return mapper;
+            }
+        }
+        return null;
+    }
+
+    private static Vertex[] sortedVertices(Map<Integer, Vertex> vertexMap) {
+        Vertex[] vertices = vertexMap.values().toArray(new Vertex[0]);
+        Arrays.sort(vertices, Comparator.comparingInt(Vertex::getValue));
+        return vertices;
+    }
+
+    private static int[] transpose(int[] offsets, int[] targets, int[] transposedOffsets) {
+        int numVertices = offsets.length - 1;
+        for(int target : targets) {
+            transposedOffsets[target + 1]++;
+        }
+        for(int i = 0; i < numVertices; i++) {
+            transposedOffsets[i + 1] += transposedOffsets[i];
+        }
+        int[] next = Arrays.copyOf(transposedOffsets, numVertices);
+        int[] transposedTargets = new int[targets.length];
+        for(int source = 0; source < numVertices; source++) {
+            for(int i = offsets[source]; i < offsets[source + 1]; i++) {
+                transposedTargets[next[targets[i]]++] = source;
+            }
+        }
+        return transposedTargets;
+    }
+
+    public boolean isDirected() {
+        return directed;
+    }
+
+    public int numVertices() {
+        return ids != null ? ids.length : bufferIds.limit();
+    }
+
+    public int numEdges() {
+        return numEdges;
+    }
+
+    /**
+     * @param index The dense index of a vertex.
+     * @return The value of the vertex stored at the given index.
+     */
+    public int idOf(int index) {
+        return ids != null ? ids[index] : bufferIds.get(index);
+    }
+
+    /**
+     * @param value The value of a vertex.
+     * @return The dense index of the vertex, or -1 if the snapshot has no vertex of that value.
+     */
+    public int indexOf(int value) {
+        if(relabelledIds != null) {
+            return relabelledIds.toInternal(value);
+        }
+        if(ids != null) {
+            int index = Arrays.binarySearch(ids, value);
+            return index < 0 ? -1 : index;
+        }
+        int low = 0;
+        int high = bufferIds.limit() - 1;
+        while(low <= high) {
+            int middle = (low + high) >>> 1;
+            int id = bufferIds.get(middle);
+            if(id < value) {
+                low = middle + 1;
+            } else if(id > value) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @return the value of every vertex, indexed by dense index. The array is shared, not copied, unless the ids are
+     * held in a buffer, in which case they are copied onto the heap.
+     */
+    int[] ids() {
+        if(ids != null) {
+            return ids;
+        }
+        int[] copy = new int[bufferIds.limit()];
+        for(int i = 0; i < copy.length; i++) {
+            copy[i] = bufferIds.get(i);
+        }
+        return copy;
+    }
+
+    public boolean containsVertex(int value) {
+        return indexOf(value) >= 0;
+    }
+
+    public int outDegree(int index) {
+        return outEnd(index) - outStart(index);
+    }
+
+    public int inDegree(int index) {
+        return inEnd(index) - inStart(index);
+    }
+
+    /**
+     * Passes the dense index of every out-neighbor of the given vertex to the action, in ascending order. For an
+     * undirected snapshot these are all of the vertex's neighbors.
+     */
+    public void forEachOutNeighbor(int index, IntConsumer action) {
+        for(int i = outStart(index); i < outEnd(index); i++) {
+            action.accept(outTarget(i));
+        }
+    }
+
+    /**
+     * Passes the dense index of every in-neighbor of the given vertex to the action, in ascending order. For an
+     * undirected snapshot these are all of the vertex's neighbors.
+     */
+    public void forEachInNeighbor(int index, IntConsumer action) {
+        for(int i = inStart(index); i < inEnd(index); i++) {
+            action.accept(inTarget(i));
+        }
+    }
+
+    /**
+     * Performs a breadth first search along out-edges from the vertex with the lowest value.
+     * @return returns true if every vertex in the snapshot was reached and false if not.
+     */
+    public boolean isConnected() {
+        if(numVertices() == 0) {
+            throw new RuntimeException("There are no vertices in the graph.");
+        }
+        return reachesAllVertices(indexOfLowestValue());
+    }
+
+    /**
+     * Runs a direction-optimizing breadth first search from the vertex at the given index, following out-edges.
+     * @return the number of hops from the source to every vertex, indexed by dense index, with -1 for vertices the
+     * source cannot reach.
+     */
+    public int[] bfsLevels(int source) {
+        if(source < 0 || source >= numVertices()) {
+            throw new IndexOutOfBoundsException("Index " + source + " is out of bounds for " + numVertices()
+                    + " vertices");
+        }
+        return new BreadthFirstSearch(this).levels(source);
+    }
+
+    /**
+     * @return the connected components of an undirected snapshot, or the strongly connected components of a directed
+     * one, in which two vertices share a component when each can reach the other along out-edges.
+     */
+    public ConnectedComponents connectedComponents() {
+        return directed ? StronglyConnectedComponents.componentsOf(this) : ConcurrentUnionFind.componentsOf(this);
+    }
+
+    /**
+     * Finds the components of the snapshot with edge direction ignored, by a lock-free union-find over the edges.
+     * @return the weakly connected components of the snapshot, which for an undirected snapshot are its connected
+     * components.
+     */
+    public ConnectedComponents weaklyConnectedComponents() {
+        return ConcurrentUnionFind.componentsOf(this);
+    }
+
+    /**
+     * @param newIndexOf The new dense index of every vertex, indexed by its current index. It must be a permutation of
+     *                   0..n-1.
+     * @return a snapshot of the same vertices and edges in which the vertex at index i has moved to index
+     * newIndexOf[i], with every neighbor list translated and sorted again. The snapshot's targets are on the heap.
+     */
+    public CompactGraph relabel(int[] newIndexOf) {
+        int numVertices = numVertices();
+        int[] oldIndexOf = inversePermutation(newIndexOf, numVertices);
+        int[] newIds = new int[numVertices];
+        int[] newOutOffsets = new int[numVertices + 1];
+        for(int vertex = 0; vertex < numVertices; vertex++) {
+            newIds[vertex] = idOf(oldIndexOf[vertex]);
+            newOutOffsets[vertex + 1] = newOutOffsets[vertex] + outDegree(oldIndexOf[vertex]);
+        }
+        int[] newOutTargets = new int[newOutOffsets[numVertices]];
+        for(int vertex = 0; vertex < numVertices; vertex++) {
+            int position = newOutOffsets[vertex];
+            int oldVertex = oldIndexOf[vertex];
+            for(int i = outStart(oldVertex); i < outEnd(oldVertex); i++) {
+                newOutTargets[position++] = newIndexOf[outTarget(i)];
+            }
+            Arrays.sort(newOutTargets, newOutOffsets[vertex], position);
+        }
+        if(!directed) {
+            return new CompactGraph(false, newIds, newOutOffsets, newOutTargets, newOutOffsets, newOutTargets,
+                    numEdges);
+        }
+        int[] newInOffsets = new int[numVertices + 1];
+        int[] newInTargets = transpose(newOutOffsets, newOutTargets, newInOffsets);
+        return new CompactGraph(true, newIds, newOutOffsets, newOutTargets, newInOffsets, newInTargets, numEdges);
+    }
+
+    /**
+     * Takes time proportional to the vertices' degrees rather than to the size of the whole snapshot, so many small
+     * subgraphs, such as the communities of a large graph, can be taken from one snapshot cheaply.
+     * @param values The values of the vertices to keep, in any order. Repeated values are kept once.
+     * @return the subgraph induced by the vertices, keeping their relative order and every edge between two of them.
+     * The subgraph's targets are on the heap.
+     * @throws IllegalArgumentException if a value is not a vertex of the snapshot.
+     */
+    public CompactGraph inducedSubgraph(int[] values) {
+        int[] oldIndexOf = new int[values.length];
+        for(int i = 0; i < values.length; i++) {
+            oldIndexOf[i] = indexOf(values[i]);
+            if(oldIndexOf[i] < 0) {
+                throw new IllegalArgumentException("Vertex " + values[i] + " does not exist.");
+            }
+        }
+        Arrays.sort(oldIndexOf);
+        int numVertices = 0;
+        for(int i = 0; i < oldIndexOf.length; i++) {
+            if(i == 0 || oldIndexOf[i] != oldIndexOf[i - 1]) {
+                oldIndexOf[numVertices++] = oldIndexOf[i];
+            }
+        }
+        IntIntHashMap newIndexOf = new IntIntHashMap(numVertices);
+        for(int vertex = 0; vertex < numVertices; vertex++) {
+            newIndexOf.put(oldIndexOf[vertex], vertex);
+        }
+        int[] newIds = new int[numVertices];
+        int[] newOutOffsets = new int[numVertices + 1];
+        for(int vertex = 0; vertex < numVertices; vertex++) {
+            int oldVertex = oldIndexOf[vertex];
+            newIds[vertex] = idOf(oldVertex);
+            int degree = 0;
+            for(int i = outStart(oldVertex); i < outEnd(oldVertex); i++) {
+                if(newIndexOf.containsKey(outTarget(i))) {
+                    degree++;
+                }
+            }
+            newOutOffsets[vertex + 1] = newOutOffsets[vertex] + degree;
+        }
+        int[] newOutTargets = new int[newOutOffsets[numVertices]];
+        int newNumEdges = 0;
+        for(int vertex = 0; vertex < numVertices; vertex++) {
+            int position = newOutOffsets[vertex];
+            int oldVertex = oldIndexOf[vertex];
+            for(int i = outStart(oldVertex); i < outEnd(oldVertex); i++) {
+                int target = newIndexOf.getOrDefault(outTarget(i), -1);
+                if(target < 0) {
+                    continue;
+                }
+                newOutTargets[position++] = target;
+                if(directed || target >= vertex) {
+                    newNumEdges++;
+                }
+            }
+        }
+        if(!directed) {
+            return new CompactGraph(false, newIds, newOutOffsets, newOutTargets, newOutOffsets, newOutTargets,
+                    newNumEdges);
+        }
+        int[] newInOffsets = new int[numVertices + 1];
+        int[] newInTargets = transpose(newOutOffsets, newOutTargets, newInOffsets);
+        return new CompactGraph(true, newIds, newOutOffsets, newOutTargets, newInOffsets, newInTargets, newNumEdges);
+    }
+
+    private static int[] inversePermutation(int[] permutation, int size) {
+        if(permutation.length != size) {
+            throw new IllegalArgumentException("Relabelling must be a permutation of 0.." + (size - 1) + ".");
+        }
+        int[] inverse = new int[size];
+        Arrays.fill(inverse, -1);
+        for(int i = 0; i < size; i++) {
+            int target = permutation[i];
+            if(target < 0 || target >= size || inverse[target] >= 0) {
+                throw new IllegalArgumentException("Relabelling must be a permutation of 0.." + (size - 1) + ".");
+            }
+            inverse[target] = i;
+        }
+        return inverse;
+    }
+
+    /**
+     * Splits the snapshot into the subgraphs induced by each part of a partition of its vertices. Vertices keep their
+     * values and relative order. Edges between two parts are dropped, so parts should be unions of components.
+     * @param partOf The part of every vertex, indexed by dense index, each in 0..numParts-1.
+     * @return the subgraph of every part, indexed by part.
+     */
+    CompactGraph[] partition(int[] partOf, int numParts) {
+        int numVertices = numVertices();
+        int[] partSizes = new int[numParts];
+        int[] positions = new int[numVertices];
+        for(int vertex = 0; vertex < numVertices; vertex++) {
+            positions[vertex] = partSizes[partOf[vertex]]++;
+        }
+        int[][] partIds = new int[numParts][];
+        int[][] partOffsets = new int[numParts][];
+        for(int part = 0; part < numParts; part++) {
+            partIds[part] = new int[partSizes[part]];
+            partOffsets[part] = new int[partSizes[part] + 1];
+        }
+        for(int vertex = 0; vertex < numVertices; vertex++) {
+            int part = partOf[vertex];
+            partIds[part][positions[vertex]] = idOf(vertex);
+            partOffsets[part][positions[vertex] + 1] = countOutEdgesWithin(vertex, partOf);
+        }
+        int[][] partTargets = new int[numParts][];
+        for(int part = 0; part < numParts; part++) {
+            int[] offsets = partOffsets[part];
+            for(int i = 0; i < partSizes[part]; i++) {
+                offsets[i + 1] += offsets[i];
+            }
+            partTargets[part] = new int[offsets[partSizes[part]]];
+        }
+        int[] partNumEdges = new int[numParts];
+        for(int vertex = 0; vertex < numVertices; vertex++) {
+            int part = partOf[vertex];
+            int position = partOffsets[part][positions[vertex]];
+            for(int i = outStart(vertex); i < outEnd(vertex); i++) {
+                int target = outTarget(i);
+                if(partOf[target] != part) {
+                    continue;
+                }
+                partTargets[part][position++] = positions[target];
+                if(directed || target >= vertex) {
+                    partNumEdges[part]++;
+                }
+            }
+        }
+        CompactGraph[] parts = new CompactGraph[numParts];
+        for(int part = 0; part < numParts; part++) {
+            if(!directed) {
+                parts[part] = new CompactGraph(false, partIds[part], partOffsets[part], partTargets[part],
+                        partOffsets[part], partTargets[part], partNumEdges[part]);
+                continue;
+            }
+            int[] inOffsets = new int[partSizes[part] + 1];
+            int[] inTargets = transpose(partOffsets[part], partTargets[part], inOffsets);
+            parts[part] = new CompactGraph(true, partIds[part], partOffsets[part], partTargets[part], inOffsets,
+                    inTargets, partNumEdges[part]);
+        }
+        return parts;
+    }
+
+    private int countOutEdgesWithin(int vertex, int[] partOf) {
+        int count = 0;
+        for(int i = outStart(vertex); i < outEnd(vertex); i++) {
+            if(partOf[outTarget(i)] == partOf[vertex]) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private int indexOfLowestValue() {
+        if(relabelledIds == null) {
+            return 0;
+        }
+        int lowest = 0;
+        for(int i = 1; i < numVertices(); i++) {
+            if(idOf(i) < idOf(lowest)) {
+                lowest = i;
+            }
+        }
+        return lowest;
+    }
+
+    boolean reachesAllVertices(int source) {
+        BreadthFirstSearch search = new BreadthFirstSearch(this);
+        search.levels(source);
+        return search.numVisited() == numVertices();
+    }
+
+    int outStart(int index) {
+        return outOffsets != null ? outOffsets[index] : bufferOutOffsets.get(index);
+    }
+
+    int outEnd(int index) {
+        return outOffsets != null ? outOffsets[index + 1] : bufferOutOffsets.get(index + 1);
+    }
+
+    int outTarget(int position) {
+        if(outTargets != null) {
+            return outTargets[position];
+        }
+        return offHeapOutTargets != null ? offHeapOutTargets.get(position) : bufferOutTargets.get(position);
+    }
+
+    int inStart(int index) {
+        return inOffsets != null ? inOffsets[index] : bufferInOffsets.get(index);
+    }
+
+    int inEnd(int index) {
+        return inOffsets != null ? inOffsets[index + 1] : bufferInOffsets.get(index + 1);
+    }
+
+    int inTarget(int position) {
+        if(inTargets != null) {
+            return inTargets[position];
+        }
+        return offHeapInTargets != null ? offHeapInTargets.get(position) : bufferInTargets.get(position);
+    }
+
+    @Override
+    public String toString() {
+        return "CompactGraph{" +
+                (directed ? "directed" : "undirected") +
+                ", " + numVertices() + " vertices" +
+                ", " + numEdges + " edges" +
+                '}';
+    }
+}
@@ -0,0 +1,698 @@
+package graph;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Read-only snapshot of a CompactGraph with its neighbor lists compressed in the style of WebGraph, for graphs too
+ * large to hold as one int per edge.
+ *
+ * Vertices keep the dense indices of the CompactGraph, which may have been relabelled by a VertexOrdering to bring
+ * neighbors closer together and so shorten their gaps. The sorted neighbor list of every vertex is written to a bit
+ * stream as variable-length ints: the degree, then the distance back to a reference vertex, then the reference's
+ * entries to copy and finally the remaining entries as gaps. The reference is whichever of the WINDOW preceding
+ * vertices gives the shortest encoding, or none, and copied entries are written as the lengths of alternating blocks
+ * of the reference list to copy and to skip, starting with a block to copy. The first remaining entry is written as
+ * its signed distance from the vertex and each later one as its gap from the previous entry. Counts are written in
+ * Elias gamma code, which suits small numbers, and distances and gaps in Elias delta code, which grows more slowly
+ * for large ones. Following a reference means decoding the referenced list first, so references are only made to
+ * vertices at most MAX_REFERENCE_CHAIN references deep. A directed snapshot compresses its in-lists the same way.
+ *
+ * Lists are read through a NeighborIterator, which decodes one list at a time into reusable buffers and yields it in
+ * ascending order, so breadth first search and the greedy dominating set visit neighbors in the same order as on the
+ * CompactGraph they were compressed from.
+ */
+
+public final class CompressedGraph {
+    private static final int WINDOW = 7;
+    private static final int MAX_REFERENCE_CHAIN = 3;
+
+    private final boolean directed;
+    private final int[] ids;
+    private final IdMapper relabelledIds;
+    private final int numEdges;
+    private final EncodedLists outLists;
+    private final EncodedLists inLists;
+
+    private CompressedGraph(boolean directed, int[] ids, int numEdges, EncodedLists outLists, EncodedLists inLists) {
+        this.directed = directed;
+        this.ids = ids;
+        relabelledIds = CompactGraph.mapperIfUnordered(ids);
+        this.numEdges = numEdges;
+        this.outLists = outLists;
+        this.inLists = inLists;
+    }
+
+    /**
+     * @param graph The snapshot to be compressed. It is only read.
+     * @return A CompressedGraph holding the same vertices and edges as the snapshot, with the same dense indices.
+     */
+    public static CompressedGraph of(CompactGraph graph) {
+        int[] ids = new int[graph.numVertices()];
+        for(int i = 0; i < ids.length; i++) {
+            ids[i] = graph.idOf(i);
+        }
+        EncodedLists outLists = new ListEncoder(graph.numVertices()).encode(graph::outDegree, graph::forEachOutNeighbor);
+        if(!graph.isDirected()) {
+            return new CompressedGraph(false, ids, graph.numEdges(), outLists, outLists);
+        }
+        EncodedLists inLists = new ListEncoder(graph.numVertices()).encode(graph::inDegree, graph::forEachInNeighbor);
+        return new CompressedGraph(true, ids, graph.numEdges(), outLists, inLists);
+    }
+
+    /**
+     * @return A CompactGraph holding the same vertices and edges, with the same dense indices.
+     */
+    public CompactGraph decompress() {
+        int[] outOffsets = new int[numVertices() + 1];
+        int[] outTargets = outLists.decodeAll(outOffsets);
+        if(!directed) {
+            return new CompactGraph(false, ids, outOffsets, outTargets, outOffsets, outTargets, numEdges);
+        }
+        int[] inOffsets = new int[numVertices() + 1];
+        int[] inTargets = inLists.decodeAll(inOffsets);
+        return new CompactGraph(true, ids, outOffsets, outTargets, inOffsets, inTargets, numEdges);
+    }
+
+    public boolean isDirected() {
+        return directed;
+    }
+
+    public int numVertices() {
+        return ids.length;
+    }
+
+    public int numEdges() {
+        return numEdges;
+    }
+
+    /**
+     * @param index The dense index of a vertex.
+     * @return The value of the vertex stored at the given index.
+     */
+    public int idOf(int index) {
+        return ids[index];
+    }
+
+    /**
+     * @param value The value of a vertex.
+     * @return The dense index of the vertex, or -1 if the snapshot has no vertex of that value.
+     */
+    public int indexOf(int value) {
+        if(relabelledIds != null) {
+            return relabelledIds.toInternal(value);
+        }
+        int index = Arrays.binarySearch(ids, value);
+        return index < 0 ? -1 : index;
+    }
+
+    /**
+     * @return the value of every vertex, indexed by dense index. The array is shared, not copied.
+     */
+    int[] ids() {
+        return ids;
+    }
+
+    public int outDegree(int index) {
+        return outLists.degree(index);
+    }
+
+    public int inDegree(int index) {
+        return inLists.degree(index);
+    }
+
+    /**
+     * @return a reusable iterator over out-neighbors. For an undirected snapshot these are all of a vertex's neighbors.
+     */
+    public NeighborIterator outNeighbors() {
+        return new NeighborIterator(outLists);
+    }
+
+    /**
+     * @return a reusable iterator over in-neighbors. For an undirected snapshot these are all of a vertex's neighbors.
+     */
+    public NeighborIterator inNeighbors() {
+        return new NeighborIterator(inLists);
+    }
+
+    /**
+     * Passes the dense index of every out-neighbor of the given vertex to the action, in ascending order. For an
+     * undirected snapshot these are all of the vertex's neighbors.
+     */
+    public void forEachOutNeighbor(int index, IntConsumer action) {
+        outNeighbors().of(index).forEachRemaining(action);
+    }
+
+    /**
+     * Passes the dense index of every in-neighbor of the given vertex to the action, in ascending order. For an
+     * undirected snapshot these are all of the vertex's neighbors.
+     */
+    public void forEachInNeighbor(int index, IntConsumer action) {
+        inNeighbors().of(index).forEachRemaining(action);
+    }
+
+    /**
+     * Performs a breadth first search along out-edges from the vertex with the lowest value.
+     * @return returns true if every vertex in the snapshot was reached and false if not.
+     */
+    public boolean isConnected() {
+        if(numVertices() == 0) {
+            throw new RuntimeException("There are no vertices in the graph.");
+        }
+        int lowest = 0;
+        for(int i = 1; i < ids.length; i++) {
+            if(ids[i] < ids[lowest]) {
+                lowest = i;
+            }
+        }
+        int[] levels = bfsLevels(lowest);
+        for(int level : levels) {
+            if(level < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Runs a breadth first search from the vertex at the given index, following out-edges and decoding each list once.
+     * @return the number of hops from the source to every vertex, indexed by dense index, with -1 for vertices the
+     * source cannot reach.
+     */
+    public int[] bfsLevels(int source) {
+        if(source < 0 || source >= numVertices()) {
+            throw new IndexOutOfBoundsException("Index " + source + " is out of bounds for " + numVertices()
+                    + " vertices");
+        }
+        int[] levels = new int[numVertices()];
+        Arrays.fill(levels, -1);
+        int[] queue = new int[numVertices()];
+        int head = 0;
+        int tail = 0;
+        levels[source] = 0;
+        queue[tail++] = source;
+        NeighborIterator neighbors = outNeighbors();
+        while(head < tail) {
+            int vertex = queue[head++];
+            neighbors.of(vertex);
+            while(neighbors.hasNext()) {
+                int neighbor = neighbors.nextInt();
+                if(levels[neighbor] < 0) {
+                    levels[neighbor] = levels[vertex] + 1;
+                    queue[tail++] = neighbor;
+                }
+            }
+        }
+        return levels;
+    }
+
+    /**
+     * @return the number of bytes held by the snapshot's arrays, not counting object headers.
+     */
+    public long sizeInBytes() {
+        long size = (long) ids.length * Integer.BYTES + outLists.sizeInBytes();
+        return directed ? size + inLists.sizeInBytes() : size;
+    }
+
+    /**
+     * @return the average number of bits taken by each entry of the encoded neighbor lists, not counting the offset of
+     * each list. A directed snapshot stores every edge twice, once in each direction, as does an undirected one unless
+     * the edge is a self-loop.
+     */
+    public double bitsPerLink() {
+        long bits = outLists.numBits;
+        long links = outLists.numLinks;
+        if(directed) {
+            bits += inLists.numBits;
+            links += inLists.numLinks;
+        }
+        return links == 0 ? 0 : (double) bits / links;
+    }
+
+    @Override
+    public String toString() {
+        return "CompressedGraph{" +
+                (directed ? "directed" : "undirected") +
+                ", " + numVertices() + " vertices" +
+                ", " + numEdges + " edges" +
+                ", " + String.format("%.2f", bitsPerLink()) + " bits/link" +
+                '}';
+    }
+
+    /**
+     * Reusable cursor over the neighbor lists of one direction. of(index) decodes the list of a vertex, and the
+     * iterator then yields its entries in ascending order until the next call to of.
+     */
+    public static final class NeighborIterator {
+        private final EncodedLists lists;
+        private final BitReader reader;
+        private final int[][] decoded = new int[MAX_REFERENCE_CHAIN + 1][];
+        private final int[][] residuals = new int[MAX_REFERENCE_CHAIN + 1][];
+        private int length;
+        private int next;
+
+        private NeighborIterator(EncodedLists lists) {
+            this.lists = lists;
+            reader = new BitReader(lists.words);
+            for(int depth = 0; depth <= MAX_REFERENCE_CHAIN; depth++) {
+                decoded[depth] = new int[16];
+                residuals[depth] = new int[16];
+            }
+        }
+
+        /**
+         * Decodes the neighbor list of the vertex at the given index.
+         * @return this iterator, positioned at the list's first entry.
+         */
+        public NeighborIterator of(int index) {
+            length = decode(index, 0);
+            next = 0;
+            return this;
+        }
+
+        public boolean hasNext() {
+            return next < length;
+        }
+
+        public int nextInt() {
+            return decoded[0][next++];
+        }
+
+        /**
+         * @return the number of entries in the current list.
+         */
+        public int size() {
+            return length;
+        }
+
+        public void forEachRemaining(IntConsumer action) {
+            while(next < length) {
+                action.accept(decoded[0][next++]);
+            }
+        }
+
+        /**
+         * Decodes the list of the vertex into decoded[depth], decoding its reference into decoded[depth + 1].
+         * @return the length of the list.
+         */
+        private int decode(int vertex, int depth) {
+            reader.position = lists.offsets[vertex];
+            int degree = reader.readGamma();
+            int[] list = ensureCapacity(decoded, depth, degree);
+            if(degree == 0) {
+                return 0;
+            }
+            int reference = reader.readGamma();
+            int copied = 0;
+            if(reference > 0) {
+                long listPosition = reader.position;
+                int referenceLength = decode(vertex - reference, depth + 1);
+                reader.position = listPosition;
+                int[] referenceList = decoded[depth + 1];
+                int numBlocks = reader.readGamma();
+                int from = 0;
+                for(int block = 0; block < numBlocks; block++) {
+                    int blockLength = reader.readGamma() + (block == 0 ? 0 : 1);
+                    if(block % 2 == 0) {
+                        System.arraycopy(referenceList, from, list, copied, blockLength);
+                        copied += blockLength;
+                    }
+                    from += blockLength;
+                }
+                if(from > referenceLength) {
+                    throw new IllegalStateException("Copy blocks of vertex " + vertex + " overrun its reference.");
+                }
+            }
+            int numResiduals = degree - copied;
+            if(numResiduals == 0) {
+                return degree;
+            }
+            int[] rest = ensureCapacity(residuals, depth, numResiduals);
+            boolean below = reader.readBit();
+            int distance = reader.readDelta();
+            int previous = below ? vertex - distance : vertex + distance;
+            rest[0] = previous;
+            for(int i = 1; i < numResiduals; i++) {
+                previous += reader.readDelta() + 1;
+                rest[i] = previous;
+            }
+            if(copied == 0) {
+                System.arraycopy(rest, 0, list, 0, numResiduals);
+            } else {
+                merge(list, copied, rest, numResiduals);
+            }
+            return degree;
+        }
+
+        /**
+         * Merges the residuals into the copied entries at the front of the list, filling it from the back.
+         */
+        private static void merge(int[] list, int copied, int[] rest, int numResiduals) {
+            int i = copied - 1;
+            int j = numResiduals - 1;
+            for(int k = copied + numResiduals - 1; j >= 0; k--) {
+                if(i >= 0 && list[i] > rest[j]) {
+                    list[k] = list[i--];
+                } else {
+                    list[k] = rest[j--];
+                }
+            }
+        }
+
+        private static int[] ensureCapacity(int[][] buffers, int depth, int capacity) {
+            if(buffers[depth].length < capacity) {
+                buffers[depth] = new int[Math.max(capacity, buffers[depth].length * 2)];
+            }
+            return buffers[depth];
+        }
+    }
+
+    /**
+     * The encoded neighbor lists of one direction, with the bit offset at which the list of every vertex starts.
+     */
+    private static final class EncodedLists {
+        private final long[] words;
+        private final long numBits;
+        private final long[] offsets;
+        private final long numLinks;
+
+        private EncodedLists(long[] words, long numBits, long[] offsets, long numLinks) {
+            this.words = words;
+            this.numBits = numBits;
+            this.offsets = offsets;
+            this.numLinks = numLinks;
+        }
+
+        /**
+         * Reads the degree, which is the first int of the list.
+         */
+        int degree(int vertex) {
+            BitReader reader = new BitReader(words);
+            reader.position = offsets[vertex];
+            return reader.readGamma();
+        }
+
+        long sizeInBytes() {
+            return (long) words.length * Long.BYTES + (long) offsets.length * Long.BYTES;
+        }
+
+        /**
+         * Decodes every list into one CSR targets array, filling in the offsets of each list.
+         */
+        int[] decodeAll(int[] targetOffsets) {
+            int numVertices = offsets.length;
+            for(int vertex = 0; vertex < numVertices; vertex++) {
+                targetOffsets[vertex + 1] = targetOffsets[vertex] + degree(vertex);
+            }
+            int[] targets = new int[targetOffsets[numVertices]];
+            NeighborIterator iterator = new NeighborIterator(this);
+            for(int vertex = 0; vertex < numVertices; vertex++) {
+                iterator.of(vertex);
+                System.arraycopy(iterator.decoded[0], 0, targets, targetOffsets[vertex], iterator.size());
+            }
+            return targets;
+        }
+    }
+
+    /**
+     * One direction of a CompactGraph's adjacency, as forEachOutNeighbor or forEachInNeighbor.
+     */
+    private interface NeighborFunction {
+        void forEach(int index, IntConsumer action);
+    }
+
+    /**
+     * Writes the neighbor lists of one direction, choosing each vertex's reference by encoding its list against every
+     * candidate and keeping the shortest.
+     */
+    private static final class ListEncoder {
+        private final int numVertices;
+        private final int[][] window = new int[WINDOW + 1][];
+        private final int[] windowLengths = new int[WINDOW + 1];
+        private final int[] chainDepths;
+        private final BitSink output = new BitSink();
+        private final BitSink candidate = new BitSink();
+        private final BitSink best = new BitSink();
+        private final IntArrayList runs = new IntArrayList();
+        private final IntArrayList rest = new IntArrayList();
+
+        ListEncoder(int numVertices) {
+            this.numVertices = numVertices;
+            chainDepths = new int[numVertices];
+            for(int i = 0; i <= WINDOW; i++) {
+                window[i] = new int[16];
+            }
+        }
+
+        EncodedLists encode(IntUnaryOperator degrees, NeighborFunction neighbors) {
+            long[] offsets = new long[numVertices];
+            long numLinks = 0;
+            for(int vertex = 0; vertex < numVertices; vertex++) {
+                int slot = vertex % (WINDOW + 1);
+                int degree = degrees.applyAsInt(vertex);
+                if(window[slot].length < degree) {
+                    window[slot] = new int[Math.max(degree, window[slot].length * 2)];
+                }
+                int[] list = window[slot];
+                int[] count = {0};
+                neighbors.forEach(vertex, neighbor -> list[count[0]++] = neighbor);
+                windowLengths[slot] = degree;
+                numLinks += degree;
+                offsets[vertex] = output.size();
+                writeBest(vertex, list, degree);
+            }
+            return new EncodedLists(output.toWords(), output.size(), offsets, numLinks);
+        }
+
+        private void writeBest(int vertex, int[] list, int degree) {
+            best.clear();
+            writeList(best, vertex, list, degree, 0);
+            int bestReference = 0;
+            for(int reference = 1; degree > 0 && reference <= WINDOW && reference <= vertex; reference++) {
+                if(chainDepths[vertex - reference] >= MAX_REFERENCE_CHAIN) {
+                    continue;
+                }
+                candidate.clear();
+                writeList(candidate, vertex, list, degree, reference);
+                if(candidate.size() < best.size()) {
+                    best.clear();
+                    best.append(candidate);
+                    bestReference = reference;
+                }
+            }
+            chainDepths[vertex] = bestReference == 0 ? 0 : chainDepths[vertex - bestReference] + 1;
+            output.append(best);
+        }
+
+        private void writeList(BitSink sink, int vertex, int[] list, int degree, int reference) {
+            sink.writeGamma(degree);
+            if(degree == 0) {
+                return;
+            }
+            sink.writeGamma(reference);
+            rest.clear();
+            if(reference == 0) {
+                for(int i = 0; i < degree; i++) {
+                    rest.add(list[i]);
+                }
+            } else {
+                int referenceSlot = (vertex - reference) % (WINDOW + 1);
+                collectCopyBlocks(window[referenceSlot], windowLengths[referenceSlot], list, degree);
+                sink.writeGamma(runs.size());
+                for(int block = 0; block < runs.size(); block++) {
+                    sink.writeGamma(runs.get(block) - (block == 0 ? 0 : 1));
+                }
+            }
+            if(rest.isEmpty()) {
+                return;
+            }
+            sink.writeBit(rest.get(0) < vertex);
+            sink.writeDelta(Math.abs(rest.get(0) - vertex));
+            for(int i = 1; i < rest.size(); i++) {
+                sink.writeDelta(rest.get(i) - rest.get(i - 1) - 1);
+            }
+        }
+
+        /**
+         * Splits the reference list into alternating blocks to copy and to skip, dropping a final block to skip, and
+         * collects the list's entries missing from the reference as residuals.
+         */
+        private void collectCopyBlocks(int[] reference, int referenceLength, int[] list, int degree) {
+            runs.clear();
+            boolean copying = true;
+            int runLength = 0;
+            int j = 0;
+            for(int i = 0; i < referenceLength; i++) {
+                while(j < degree && list[j] < reference[i]) {
+                    rest.add(list[j++]);
+                }
+                boolean shared = j < degree && list[j] == reference[i];
+                if(shared) {
+                    j++;
+                }
+                if(shared != copying) {
+                    runs.add(runLength);
+                    copying = shared;
+                    runLength = 0;
+                }
+                runLength++;
+            }
+            if(copying) {
+                runs.add(runLength);
+            }
+            while(j < degree) {
+                rest.add(list[j++]);
+            }
+        }
+    }
+
+    /**
+     * Growable bit stream, written from the most significant bit of each word down. Every number written is a natural
+     * number n, coded as the positive number n + 1.
+     */
+    private static final class BitSink {
+        private long[] words = new long[8];
+        private long size;
+
+        void writeBit(boolean bit) {
+            writeBits(bit ? 1 : 0, 1);
+        }
+
+        /**
+         * Writes n + 1 as its binary length less one in zeros, followed by its binary digits.
+         */
+        void writeGamma(int natural) {
+            int value = natural + 1;
+            int length = 32 - Integer.numberOfLeadingZeros(value);
+            writeBits(0, length - 1);
+            writeBits(value, length);
+        }
+
+        /**
+         * Writes the binary length of n + 1 in gamma code, followed by its binary digits after the leading one.
+         */
+        void writeDelta(int natural) {
+            int value = natural + 1;
+            int length = 32 - Integer.numberOfLeadingZeros(value);
+            writeGamma(length - 1);
+            writeBits(value, length - 1);
+        }
+
+        void append(BitSink other) {
+            long remaining = other.size;
+            for(int word = 0; remaining > 0; word++) {
+                int count = (int) Math.min(64, remaining);
+                long bits = other.words[word] >>> (64 - count);
+                if(count > 32) {
+                    writeBits((int) (bits >>> 32), count - 32);
+                    count = 32;
+                }
+                writeBits((int) bits, count);
+                remaining -= Math.min(64, remaining);
+            }
+        }
+
+        void clear() {
+            Arrays.fill(words, 0, (int) ((size + 63) >>> 6), 0);
+            size = 0;
+        }
+
+        long size() {
+            return size;
+        }
+
+        /**
+         * @return the words written, with a word of padding so a reader can always look one word ahead.
+         */
+        long[] toWords() {
+            return Arrays.copyOf(words, (int) ((size + 63) >>> 6) + 1);
+        }
+
+        /**
+         * Writes the lowest count bits of the value, for a count of at most 32.
+         */
+        private void writeBits(int value, int count) {
+            if(count == 0) {
+                return;
+            }
+            ensureCapacity(size + count);
+            long bits = value & (-1L >>> (64 - count));
+            int word = (int) (size >>> 6);
+            int free = 64 - (int) (size & 63);
+            if(count <= free) {
+                words[word] |= bits << (free - count);
+            } else {
+                words[word] |= bits >>> (count - free);
+                words[word + 1] |= bits << (64 - (count - free));
+            }
+            size += count;
+        }
+
+        private void ensureCapacity(long bits) {
+            int needed = (int) ((bits + 63) >>> 6);
+            if(needed > words.length) {
+                words = Arrays.copyOf(words, Math.max(needed, words.length * 2));
+            }
+        }
+    }
+
+    /**
+     * Reads a bit stream written by a BitSink from the given position.
+     */
+    private static final class BitReader {
+        private final long[] words;
+        private long position;
+
+        BitReader(long[] words) {
+            this.words = words;
+        }
+
+        boolean readBit() {
+            return readBits(1) != 0;
+        }
+
+        int readGamma() {
+            int length = readUnary() + 1;
+            return ((1 << (length - 1)) | readBits(length - 1)) - 1;
+        }
+
+        int readDelta() {
+            int length = readGamma() + 1;
+            return ((1 << (length - 1)) | readBits(length - 1)) - 1;
+        }
+
+        /**
+         * Skips the zeros up to and including the next one.
+         * @return the number of zeros skipped.
+         */
+        private int readUnary() {
+            int zeros = 0;
+            while(true) {
+                int offset = (int) (position & 63);
+                long window = words[(int) (position >>> 6)] << offset;
+                if(window != 0) {
+                    int leading = Long.numberOfLeadingZeros(window);
+                    position += leading + 1;
+                    return zeros + leading;
+                }
+                zeros += 64 - offset;
+                position += 64 - offset;
+            }
+        }
+
+        private int readBits(int count) {
+            if(count == 0) {
+                return 0;
+            }
+            int word = (int) (position >>> 6);
+            int offset = (int) (position & 63);
+            long value = (words[word] << offset) >>> (64 - count);
+            if(count > 64 - offset) {
+                value |= words[word + 1] >>> (128 - offset - count);
+            }
+            position += count;
+            return (int) value;
+        }
+    }
+}
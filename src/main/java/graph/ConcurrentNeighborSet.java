@@ -0,0 +1,198 @@
+package graph;
+
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.IntConsumer;
+
+/**
+ * Neighbor set of a ConcurrentVertex. Like NeighborSet, neighbors are found by their primitive int value in an
+ * open-addressing table, so membership checks never box or allocate, but here reads take no lock and may run while
+ * another thread changes the set. Changes are serialized on the set itself.
+ *
+ * A neighbor's key is written before its Vertex, which is written to its slot with a volatile write, so a reader that
+ * sees the Vertex sees the key. A removed neighbor leaves a marker rather than shifting later neighbors back, so no
+ * slot of a table ever changes key, and a full table is replaced by a new one rather than rehashed in place, so a
+ * reader always sees a consistent table. Reads and iteration are weakly consistent: they never fail, and reflect some
+ * of the changes made while they run.
+ */
+
+final class ConcurrentNeighborSet extends AbstractSet<Vertex> {
+    private static final int MIN_CAPACITY = 4;
+    private static final float LOAD_FACTOR = 0.75f;
+    private static final Vertex REMOVED = new Vertex(-1);
+
+    private volatile Table table;
+    private volatile int size;
+    private int numOccupied;
+
+    ConcurrentNeighborSet(int expectedSize) {
+        table = new Table(IntHashSet.capacityFor(expectedSize));
+    }
+
+    @Override
+    public synchronized boolean add(Vertex vertex) {
+        int value = vertex.getValue();
+        Table current = table;
+        int slot = IntHashSet.mix(value) & current.mask;
+        Vertex occupant;
+        while((occupant = current.vertices.get(slot)) != null) {
+            if(current.keys[slot] == value && occupant != REMOVED) {
+                return false;
+            }
+            slot = (slot + 1) & current.mask;
+        }
+        current.keys[slot] = value;
+        current.vertices.set(slot, vertex);
+        size++;
+        if(++numOccupied > current.resizeThreshold) {
+            rehash();
+        }
+        return true;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return o instanceof Vertex && containsValue(((Vertex) o).getValue());
+    }
+
+    boolean containsValue(int value) {
+        return table.findSlot(value) >= 0;
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        return o instanceof Vertex && removeValue(((Vertex) o).getValue());
+    }
+
+    synchronized boolean removeValue(int value) {
+        Table current = table;
+        int slot = current.findSlot(value);
+        if(slot < 0) {
+            return false;
+        }
+        current.vertices.set(slot, REMOVED);
+        size--;
+        return true;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public synchronized void clear() {
+        table = new Table(MIN_CAPACITY);
+        size = 0;
+        numOccupied = 0;
+    }
+
+    void forEachValue(IntConsumer action) {
+        Table current = table;
+        for(int slot = 0; slot < current.keys.length; slot++) {
+            Vertex vertex = current.vertices.get(slot);
+            if(vertex != null && vertex != REMOVED) {
+                action.accept(current.keys[slot]);
+            }
+        }
+    }
+
+    @Override
+    public Iterator<Vertex> iterator() {
+        return new NeighborIterator();
+    }
+
+    /**
+     * Copies the neighbors into a new table sized for them, dropping the removal markers, and publishes it.
+     */
+    private void rehash() {
+        Table old = table;
+        Table replacement = new Table(IntHashSet.capacityFor(size * 2));
+        for(int i = 0; i < old.keys.length; i++) {
+            Vertex vertex = old.vertices.get(i);
+            if(vertex != null && vertex != REMOVED) {
+                int slot = IntHashSet.mix(old.keys[i]) & replacement.mask;
+                while(replacement.vertices.get(slot) != null) {
+                    slot = (slot + 1) & replacement.mask;
+                }
+                replacement.keys[slot] = old.keys[i];
+                replacement.vertices.set(slot, vertex);
+            }
+        }
+        numOccupied = size;
+        table = replacement;
+    }
+
+    private static final class Table {
+        private final int[] keys;
+        private final AtomicReferenceArray<Vertex> vertices;
+        private final int mask;
+        private final int resizeThreshold;
+
+        private Table(int capacity) {
+            keys = new int[capacity];
+            vertices = new AtomicReferenceArray<>(capacity);
+            mask = capacity - 1;
+            resizeThreshold = (int) (capacity * LOAD_FACTOR);
+        }
+
+        private int findSlot(int value) {
+            int slot = IntHashSet.mix(value) & mask;
+            Vertex occupant;
+            while((occupant = vertices.get(slot)) != null) {
+                if(keys[slot] == value && occupant != REMOVED) {
+                    return slot;
+                }
+                slot = (slot + 1) & mask;
+            }
+            return -1;
+        }
+    }
+
+    /**
+     * Walks the table that was current when the iterator was created. Removing through the iterator removes the
+     * neighbor from the set as it is now.
+     */
+    private class NeighborIterator implements Iterator<Vertex> {
+        private final AtomicReferenceArray<Vertex> vertices = table.vertices;
+        private int position = -1;
+        private Vertex next = advance();
+        private Vertex lastReturned;
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public Vertex next() {
+            if(next == null) {
+                throw new NoSuchElementException();
+            }
+            lastReturned = next;
+            next = advance();
+            return lastReturned;
+        }
+
+        @Override
+        public void remove() {
+            if(lastReturned == null) {
+                throw new IllegalStateException();
+            }
+            removeValue(lastReturned.getValue());
+            lastReturned = null;
+        }
+
+        private Vertex advance() {
+            while(++position < vertices.length()) {
+                Vertex vertex = vertices.get(position);
+                if(vertex != null && vertex != REMOVED) {
+                    return vertex;
+                }
+            }
+            return null;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package graph;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * UndirectedGraph that can be changed from several threads at once. Vertices and edges are kept in concurrent maps and
+ * sets, and every change runs the same validation as UndirectedGraph while holding the GraphLocks of the vertices it
+ * touches, so each single vertex or edge change is atomic and changes to unrelated vertices proceed in parallel.
+ * Reads, including freeze(), isConnected() and degree queries, take no locks and never wait for writers. They are
+ * weakly consistent, reflecting some or all of the changes made while they run. Listeners should be added before the
+ * graph is shared between threads.
+ */
+
+public class ConcurrentUndirectedGraph extends UndirectedGraph {
+    private final GraphLocks locks = new GraphLocks();
+    private final LongAdder edgeCount = new LongAdder();
+
+    public ConcurrentUndirectedGraph() {
+        super(new ConcurrentHashMap<>(), new ConcurrentHashMap<>());
+    }
+
+    @Override
+    public void addVertex(int value) {
+        locks.withVertexLocked(value, () -> super.addVertex(value));
+    }
+
+    @Override
+    public void removeVertex(int vertexValue) {
+        locks.withAllLocked(() -> super.removeVertex(vertexValue));
+    }
+
+    @Override
+    public void addEdge(int start, int end) {
+        locks.withEdgeLocked(start, end, () -> super.addEdge(start, end));
+    }
+
+    @Override
+    public void removeEdge(int a, int b) {
+        locks.withEdgeLocked(a, b, () -> super.removeEdge(a, b));
+    }
+
+    @Override
+    public int getNumEdges() {
+        return edgeCount.intValue();
+    }
+
+    @Override
+    public CompactGraph freeze() {
+        return CompactGraph.ofConcurrent(this);
+    }
+
+    @Override
+    public ConcurrentUndirectedGraph clone() {
+        return (ConcurrentUndirectedGraph) copyInto(new ConcurrentUndirectedGraph());
+    }
+
+    @Override
+    protected Vertex createVertex(int value, int expectedDegree) {
+        return new ConcurrentVertex(value, expectedDegree);
+    }
+
+    @Override
+    protected Set<Edge> createEdgeSet(int expectedSize) {
+        return ConcurrentHashMap.newKeySet(Math.max(expectedSize, 1));
+    }
+
+    @Override
+    protected void addToNumEdges(int delta) {
+        edgeCount.add(delta);
+    }
+}
@@ -0,0 +1,106 @@
+package graph;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.stream.IntStream;
+
+/**
+ * Lock-free disjoint-set forest over the dense indices of a CompactGraph.
+ *
+ * A root is always linked beneath the lower of the two roots being joined, so the root of every set is its lowest
+ * index. Linking is a single compare-and-set on a parent entry that still points at itself, and fails if another
+ * thread has linked that root first, in which case the union is retried from the new roots. Finds shorten the paths
+ * they walk by pointing each entry at its grandparent, which only ever moves an entry closer to its root, so a lost
+ * race is harmless. Edges can therefore be unioned from any number of threads at once.
+ */
+
+final class ConcurrentUnionFind {
+    private static final long PARALLEL_THRESHOLD = 1 << 16;
+    private static final int RANGES_PER_THREAD = 4;
+
+    private final AtomicIntegerArray parents;
+
+    ConcurrentUnionFind(int size) {
+        parents = new AtomicIntegerArray(size);
+        for(int i = 0; i < size; i++) {
+            parents.set(i, i);
+        }
+    }
+
+    /**
+     * Unions the endpoints of every edge of the snapshot, ignoring direction, splitting the vertices across the
+     * common fork-join pool for large snapshots.
+     * @return the weakly connected components of the snapshot, which for an undirected snapshot are its connected
+     * components.
+     */
+    static ConnectedComponents componentsOf(CompactGraph graph) {
+        int numVertices = graph.numVertices();
+        ConcurrentUnionFind unionFind = new ConcurrentUnionFind(numVertices);
+        if(!isWorthSplitting((long) numVertices + graph.numEdges())) {
+            unionFind.unionOutEdges(graph, 0, numVertices);
+        } else {
+            int numRanges = ForkJoinPool.getCommonPoolParallelism() * RANGES_PER_THREAD;
+            int rangeSize = (numVertices + numRanges - 1) / numRanges;
+            IntStream.range(0, numRanges)
+                    .parallel()
+                    .forEach(range -> unionFind.unionOutEdges(graph, Math.min(range * rangeSize, numVertices),
+                            Math.min((range + 1) * rangeSize, numVertices)));
+        }
+        int[] roots = new int[numVertices];
+        for(int vertex = 0; vertex < numVertices; vertex++) {
+            roots[vertex] = unionFind.find(vertex);
+        }
+        return ConnectedComponents.fromRepresentatives(roots);
+    }
+
+    /**
+     * Every undirected edge is stored from both endpoints, so only the copy leading to the higher index is unioned.
+     */
+    private void unionOutEdges(CompactGraph graph, int from, int to) {
+        boolean directed = graph.isDirected();
+        for(int vertex = from; vertex < to; vertex++) {
+            for(int i = graph.outStart(vertex); i < graph.outEnd(vertex); i++) {
+                int neighbor = graph.outTarget(i);
+                if(directed || neighbor > vertex) {
+                    union(vertex, neighbor);
+                }
+            }
+        }
+    }
+
+    /**
+     * @return the lowest index in the set containing the given index.
+     */
+    int find(int index) {
+        int parent = parents.get(index);
+        while(parent != index) {
+            int grandparent = parents.get(parent);
+            parents.compareAndSet(index, parent, grandparent);
+            index = parent;
+            parent = grandparent;
+        }
+        return index;
+    }
+
+    /**
+     * Merges the sets containing the two indices.
+     * @return true if they were in different sets.
+     */
+    boolean union(int a, int b) {
+        while(true) {
+            int rootA = find(a);
+            int rootB = find(b);
+            if(rootA == rootB) {
+                return false;
+            }
+            int higher = Math.max(rootA, rootB);
+            if(parents.compareAndSet(higher, higher, Math.min(rootA, rootB))) {
+                return true;
+            }
+        }
+    }
+
+    private static boolean isWorthSplitting(long work) {
+        return work >= PARALLEL_THRESHOLD && ForkJoinPool.getCommonPoolParallelism() > 1;
+    }
+}
@@ -0,0 +1,44 @@
+package graph;
+
+import java.util.Set;
+import java.util.function.IntConsumer;
+
+/**
+ * Vertex of a concurrent graph. Its neighbors are held in a ConcurrentNeighborSet, so they can be read and iterated
+ * while another thread adds or removes neighbors, and looked up by value without allocating. Iteration is weakly
+ * consistent: it never fails, and reflects some of the changes made while it runs.
+ */
+
+final class ConcurrentVertex extends Vertex {
+    private final ConcurrentNeighborSet neighbors;
+
+    ConcurrentVertex(int value, int expectedDegree) {
+        super(value, null);
+        neighbors = new ConcurrentNeighborSet(expectedDegree);
+    }
+
+    @Override
+    public void addNeighbor(Vertex neighbor) {
+        neighbors.add(neighbor);
+    }
+
+    @Override
+    public Set<Vertex> getNeighbors() {
+        return neighbors;
+    }
+
+    @Override
+    public void forEachNeighbor(IntConsumer action) {
+        neighbors.forEachValue(action);
+    }
+
+    @Override
+    public int degree() {
+        return neighbors.size();
+    }
+
+    @Override
+    public boolean hasNeighbor(int neighborValue) {
+        return neighbors.containsValue(neighborValue);
+    }
+}
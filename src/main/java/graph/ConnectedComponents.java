@@ -0,0 +1,113 @@
+package graph;
+
+import java.util.Arrays;
+
+/**
+ * Partition of a graph's vertices into components. Vertices are identified by the dense indices of the CompactGraph
+ * snapshot the components were found in, which are in ascending order of vertex value. Components are numbered from 0
+ * in order of the lowest dense index they contain, so the numbering does not depend on how the components were found.
+ */
+
+public final class ConnectedComponents {
+    private final int[] labels;
+    private final int[] sizes;
+
+    private ConnectedComponents(int[] labels, int[] sizes) {
+        this.labels = labels;
+        this.sizes = sizes;
+    }
+
+    /**
+     * @param representatives An index in 0..n-1 per vertex, equal for two vertices exactly when they share a
+     *                        component.
+     * @return the components described by the representatives, renumbered in order of their lowest vertex.
+     */
+    static ConnectedComponents fromRepresentatives(int[] representatives) {
+        int[] numbering = new int[representatives.length];
+        Arrays.fill(numbering, -1);
+        int[] labels = new int[representatives.length];
+        int numComponents = 0;
+        for(int vertex = 0; vertex < representatives.length; vertex++) {
+            int representative = representatives[vertex];
+            if(numbering[representative] < 0) {
+                numbering[representative] = numComponents++;
+            }
+            labels[vertex] = numbering[representative];
+        }
+        int[] sizes = new int[numComponents];
+        for(int label : labels) {
+            sizes[label]++;
+        }
+        return new ConnectedComponents(labels, sizes);
+    }
+
+    public int getNumComponents() {
+        return sizes.length;
+    }
+
+    /**
+     * @return true if every vertex is in the same component. A graph without vertices is not connected.
+     */
+    public boolean isConnected() {
+        return sizes.length == 1;
+    }
+
+    /**
+     * @return the component of every vertex, indexed by dense index.
+     */
+    public int[] getLabels() {
+        return labels.clone();
+    }
+
+    /**
+     * @return the number of vertices in every component, indexed by component.
+     */
+    public int[] getSizes() {
+        return sizes.clone();
+    }
+
+    public int componentOf(int index) {
+        return labels[index];
+    }
+
+    public int sizeOf(int component) {
+        return sizes[component];
+    }
+
+    /**
+     * @return the component with the most vertices, the lowest numbered one if several are tied, or -1 if there are
+     * no components.
+     */
+    public int largestComponent() {
+        int largest = -1;
+        for(int component = 0; component < sizes.length; component++) {
+            if(largest < 0 || sizes[component] > sizes[largest]) {
+                largest = component;
+            }
+        }
+        return largest;
+    }
+
+    /**
+     * @return the dense indices of the vertices in the given component, in ascending order.
+     */
+    public int[] verticesOf(int component) {
+        int[] vertices = new int[sizes[component]];
+        int i = 0;
+        for(int vertex = 0; vertex < labels.length && i < vertices.length; vertex++) {
+            if(labels[vertex] == component) {
+                vertices[i++] = vertex;
+            }
+        }
+        return vertices;
+    }
+
+    @Override
+    public String toString() {
+        return "ConnectedComponents{" +
+                sizes.length + " components" +
+                ", sizes " + Arrays.toString(Arrays.copyOf(sizes, Math.min(sizes.length, 10))) +
+                (sizes.length > 10 ? "..." : "") +
+                '}';
+    }
+}
@@ -0,0 +1,28 @@
+package graph;
+
+/**
+ * Algorithms DominatingSetCalculations.connectedGreedy can build a connected dominating set with. Both need the graph
+ * to be weakly connected, and both follow edges in either direction to keep the set connected while, in a directed
+ * graph, only counting a vertex as dominated through one of its in-neighbors.
+ *
+ * GREEDY repeatedly adds whichever dominated vertex has the most undominated neighbors, the tree-growing heuristic
+ * of Guha and Khuller, Approximation algorithms for connected dominating sets. It runs in about O((V + E) log V) time
+ * and usually gives the smaller sets. Guha and Khuller bound their variant, which may also add a pair of vertices in one
+ * step, to within 2(1 + H(D)) of the minimum, where D is the maximum degree and H the harmonic number; adding one
+ * vertex at a time carries no such guarantee in the worst case.
+ *
+ * SPANNING_TREE_MIS is the construction of Wan, Alzoubi and Frieder, Distributed construction of connected dominating
+ * set in wireless ad hoc networks. It builds a breadth first spanning tree from the vertex of highest degree, takes a
+ * maximal independent set in breadth first order, visiting the vertices of each level in descending order of degree,
+ * and adds the tree parent of every member but the root as a connector. Each member's parent is adjacent to a member
+ * that comes earlier, so the set is connected, and it has fewer than twice as many vertices as the independent set. It
+ * runs in O(V log V + E) time. In unit disk graphs, the usual model of wireless networks, the set is at most 8 times
+ * the minimum plus 1. In general graphs an independent set can be far larger than the minimum connected dominating
+ * set, so no constant bound holds and sets are usually larger than GREEDY's. In a directed graph, every vertex the set
+ * then leaves undominated is added to it as well.
+ */
+
+public enum ConnectedDominatingSetAlgorithm {
+    GREEDY,
+    SPANNING_TREE_MIS
+}
@@ -0,0 +1,35 @@
+package graph;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Monotonic count registered with Metrics. Increments are striped across a LongAdder, so threads updating the same
+ * counter do not contend, and are dropped while metrics are disabled.
+ */
+
+public final class Counter {
+    private final LongAdder count = new LongAdder();
+
+    Counter() {
+    }
+
+    public void increment() {
+        if(Metrics.isEnabled()) {
+            count.increment();
+        }
+    }
+
+    public void add(long amount) {
+        if(Metrics.isEnabled()) {
+            count.add(amount);
+        }
+    }
+
+    public long sum() {
+        return count.sum();
+    }
+
+    void reset() {
+        count.reset();
+    }
+}
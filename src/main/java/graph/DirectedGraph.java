@@ -1,20 +1,37 @@
 package graph;
 
+import java.util.Map;
 import java.util.Set;
 
 public class DirectedGraph extends Graph<DirectedGraph> {
 
+    public DirectedGraph() {
+    }
+
+    DirectedGraph(int expectedNumVertices) {
+        super(expectedNumVertices);
+    }
+
+    protected DirectedGraph(Map<Integer, Vertex> vertices, Map<Integer, Set<Edge>> edges) {
+        super(vertices, edges);
+    }
+
     @Override
     public Edge createEdge(int start, int end) {
         return new Edge(start, end);
     }
 
+    /**
+     * @return the components of the graph with edge direction ignored. Vertices are identified by the dense indices of
+     * freeze(), in ascending order of vertex value.
+     */
+    public ConnectedComponents weaklyConnectedComponents() {
+        return freeze().weaklyConnectedComponents();
+    }
+
     @Override
     public DirectedGraph clone() {
-        DirectedGraph clone = new DirectedGraph();
-        addVerticesToClone(clone);
-        addEdgesToClone(clone);
-        return clone;
+        return copyInto(new DirectedGraph(vertices.size()));
     }
 
     @Override
@@ -27,7 +44,9 @@ public class DirectedGraph extends Graph<DirectedGraph> {
         Edge edge = new Edge(start, end);
         confirmEdgeRemovalIsValid(edge);
         removeEdgeFromGraph(edge);
-        numEdges--;
+        addToNumEdges(-1);
+        notifyEdgeRemoved(edge);
+        recordModification();
     }
 
     private void confirmEdgeRemovalIsValid(Edge edge) {
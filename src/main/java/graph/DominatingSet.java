@@ -0,0 +1,144 @@
+package graph;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+/**
+ * Dominating set held as the sorted values of its vertices, along with how long the calculation that produced it took
+ * and how much work it did. It keeps no reference to the graph it was calculated from, so results can be cached
+ * without keeping the graph's vertices and their neighbor sets alive. toVertexSet looks the vertices up in a graph
+ * when a Set of Vertex objects is needed.
+ */
+
+public final class DominatingSet implements Iterable<Integer> {
+    private final int[] values;
+    private final int numRounds;
+    private final long numScanned;
+    private final long elapsedNanos;
+
+    /**
+     * @param values The values of the dominating vertices in ascending order. The array is kept, not copied.
+     */
+    DominatingSet(int[] values, int numRounds, long numScanned, long elapsedNanos) {
+        this.values = values;
+        this.numRounds = numRounds;
+        this.numScanned = numScanned;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public int size() {
+        return values.length;
+    }
+
+    public boolean isEmpty() {
+        return values.length == 0;
+    }
+
+    public boolean contains(int value) {
+        return Arrays.binarySearch(values, value) >= 0;
+    }
+
+    /**
+     * @return the values of the dominating vertices in ascending order. The array is a copy.
+     */
+    public int[] toArray() {
+        return values.clone();
+    }
+
+    public IntStream stream() {
+        return Arrays.stream(values);
+    }
+
+    /**
+     * @return an iterator over the values in ascending order, which nextInt returns without boxing.
+     */
+    @Override
+    public PrimitiveIterator.OfInt iterator() {
+        return new PrimitiveIterator.OfInt() {
+            private int next = 0;
+
+            @Override
+            public boolean hasNext() {
+                return next < values.length;
+            }
+
+            @Override
+            public int nextInt() {
+                if(next >= values.length) {
+                    throw new NoSuchElementException();
+                }
+                return values[next++];
+            }
+        };
+    }
+
+    /**
+     * @param graph The graph to take the Vertex objects from, normally the one the set was calculated from.
+     * @return a new set of the graph's vertices with these values. Values the graph no longer has are left out.
+     */
+    public Set<Vertex> toVertexSet(Graph<?> graph) {
+        Map<Integer, Vertex> vertexMap = graph.getVertexMap();
+        Set<Vertex> vertices = new HashSet<>();
+        for(int value : values) {
+            Vertex vertex = vertexMap.get(value);
+            if(vertex != null) {
+                vertices.add(vertex);
+            }
+        }
+        return vertices;
+    }
+
+    /**
+     * @return the number of rounds the calculation took, each adding one vertex to the set.
+     */
+    public int getNumRounds() {
+        return numRounds;
+    }
+
+    /**
+     * @return the number of candidate vertices the calculation examined across all of its rounds.
+     */
+    public long getNumScanned() {
+        return numScanned;
+    }
+
+    /**
+     * @return the wall clock time the calculation took, in nanoseconds, including taking a snapshot of a Graph.
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * Two sets are equal if they hold the same values, however they were calculated.
+     */
+    @Override
+    public boolean equals(Object o) {
+        if(this == o) {
+            return true;
+        }
+        if(!(o instanceof DominatingSet)) {
+            return false;
+        }
+        return Arrays.equals(values, ((DominatingSet) o).values);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(values);
+    }
+
+    @Override
+    public String toString() {
+        return "DominatingSet{" +
+                values.length + " vertices" +
+                ", " + numRounds + " rounds" +
+                ", " + elapsedNanos / 1_000_000 + " ms" +
+                '}';
+    }
+}
@@ -1,26 +1,184 @@
 package graph;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 /**
- * Calculation class containing three static methods. Two create dominating sets from graphs, and the third verifies
- * a proposed dominating set of vertices against a graph.
+ * Calculation class whose static methods create dominating sets from graphs and verify them. greedy and
+ * connectedGreedy build a dominating set and a connected dominating set, returning Vertex sets for a Graph and sorted
+ * int values for a CompactGraph snapshot, whose flat arrays the calculation then runs against directly. greedy also
+ * accepts a CompressedGraph. greedyResult and connectedGreedyResult return the same sets as DominatingSet values,
+ * which carry the calculation's round count and timing and hold no reference to the graph. connectedGreedy may be
+ * given a ConnectedDominatingSetAlgorithm to choose how the set is built, GREEDY being the default.
+ *
+ * The anytime overloads of greedy and connectedGreedy take a CancellationToken and, when it is cancelled, complete the
+ * vertices chosen so far into a valid set and return that. greedyByComponent produces the same set as greedy by
+ * solving the graph's components concurrently, and greedyBatch runs many calculations, over separate graphs or over
+ * subsets of one, as CompletableFutures on a caller's Executor. verify checks a proposed dominating set against a
+ * graph, and verifyDetailed also reports the undominated vertices.
+ *
+ * Every calculation keeps its working state to itself, so the methods may be called from any number of threads at
+ * once, provided no thread modifies a graph while it is being read, other than through a concurrent graph's own
+ * methods.
  */
 
 public class DominatingSetCalculations {
-    static DominatingSetGenerator generator;
-    static DominatingSetVerifier verifier;
+    private static final Histogram GREEDY_INITIALIZE_TIMES = Metrics.histogram(Metrics.GREEDY_INITIALIZE);
+    private static final Histogram GREEDY_SELECT_TIMES = Metrics.histogram(Metrics.GREEDY_SELECT);
+    private static final Histogram CONNECTED_GREEDY_CHECK_TIMES = Metrics.histogram(Metrics.CONNECTED_GREEDY_CHECK);
+    private static final Histogram CONNECTED_GREEDY_SELECT_TIMES = Metrics.histogram(Metrics.CONNECTED_GREEDY_SELECT);
+    private static final Counter ROUNDS = Metrics.counter(Metrics.ROUNDS);
+    private static final Histogram SCANNED_PER_ROUND = Metrics.histogram(Metrics.SCANNED_PER_ROUND);
+    private static final Counter DIVERSIONS = Metrics.counter(Metrics.DIVERSIONS);
+    private static final Histogram SPANNING_TREE_MIS_TIMES = Metrics.histogram(Metrics.SPANNING_TREE_MIS);
 
     /**
      * @param graph The graph for which an approximate minimum dominating set will be generated.
      * @return The set of vertices comprising an approximate minimum dominating set for the input graph.
      */
     public static Set<Vertex> greedy(Graph graph) {
-        generator = new DominatingSetGenerator(graph);
-        return  generator.generateGreedy();
+        return greedyResult(graph).toVertexSet(graph);
+    }
+
+    /**
+     * Generates the same dominating set as greedy, without holding on to the graph's Vertex objects.
+     * @param graph The graph for which an approximate minimum dominating set will be generated.
+     * @return The values of the vertices comprising an approximate minimum dominating set for the input graph, with
+     * the time and number of rounds the calculation took.
+     */
+    public static DominatingSet greedyResult(Graph graph) {
+        long start = System.nanoTime();
+        return greedyResult(graph.freeze(), start);
+    }
+
+    /**
+     * @param graph The snapshot for which an approximate minimum dominating set will be generated.
+     * @return The values of the vertices comprising an approximate minimum dominating set for the input snapshot, with
+     * the time and number of rounds the calculation took.
+     */
+    public static DominatingSet greedyResult(CompactGraph graph) {
+        return greedyResult(graph, System.nanoTime());
+    }
+
+    private static DominatingSet greedyResult(CompactGraph graph, long start) {
+        DominatingSetGenerator generator = new DominatingSetGenerator(graph);
+        int[] dominatingSet = generator.generateGreedy();
+        return generator.resultOf(dominatingSet, start);
+    }
+
+    /**
+     * @param graph The snapshot for which an approximate minimum dominating set will be generated.
+     * @return The values of the vertices comprising an approximate minimum dominating set for the input snapshot, in
+     * ascending order.
+     */
+    public static int[] greedy(CompactGraph graph) {
+        return new DominatingSetGenerator(graph).generateGreedy();
+    }
+
+    /**
+     * Runs greedy until it finishes or the token is cancelled. If it is cancelled, every vertex not yet dominated by
+     * the vertices chosen so far is added to the set.
+     * @param graph The graph for which an approximate minimum dominating set will be generated.
+     * @param token Polled every few hundred greedy steps.
+     * @return The dominating set greedy generates if it finished, or the completed partial set if it was cancelled.
+     */
+    public static AnytimeResult<Set<Vertex>> greedy(Graph graph, CancellationToken token) {
+        return greedy(graph.freeze(), token).map(dominatingSet -> verticesOf(dominatingSet, graph));
+    }
+
+    /**
+     * Runs greedy until it finishes or the token is cancelled. If it is cancelled, every vertex not yet dominated by
+     * the vertices chosen so far is added to the set.
+     * @param graph The snapshot for which an approximate minimum dominating set will be generated.
+     * @param token Polled every few hundred greedy steps.
+     * @return The values of the dominating vertices, in ascending order, as greedy generates them if it finished, or
+     * of the completed partial set if it was cancelled.
+     */
+    public static AnytimeResult<int[]> greedy(CompactGraph graph, CancellationToken token) {
+        return new DominatingSetGenerator(graph, token).generateAnytimeGreedy();
+    }
+
+    /**
+     * Generates the same dominating set as greedy on the CompactGraph the snapshot was compressed from, decoding
+     * neighbor lists as they are needed instead of decompressing the snapshot.
+     * @param graph The compressed snapshot for which an approximate minimum dominating set will be generated.
+     * @return The values of the vertices comprising an approximate minimum dominating set for the input snapshot, in
+     * ascending order.
+     */
+    public static int[] greedy(CompressedGraph graph) {
+        return new CompressedGreedySolver(graph).solve();
+    }
+
+    /**
+     * Generates the same dominating set as greedy, by running the greedy algorithm on every weakly connected component
+     * of the graph as a separate task on the common fork-join pool.
+     * @param graph The graph for which an approximate minimum dominating set will be generated.
+     * @return The set of vertices comprising an approximate minimum dominating set for the input graph.
+     */
+    public static Set<Vertex> greedyByComponent(Graph graph) {
+        return verticesOf(greedyByComponent(graph.freeze(), ForkJoinPool.commonPool()), graph);
+    }
+
+    /**
+     * Generates the same dominating set as greedy, by running the greedy algorithm on every weakly connected component
+     * of the snapshot as a separate task on the given pool.
+     * @param graph The snapshot for which an approximate minimum dominating set will be generated.
+     * @param pool The pool the components are solved on. The result does not depend on its parallelism.
+     * @return The values of the vertices comprising an approximate minimum dominating set for the input snapshot, in
+     * ascending order.
+     */
+    public static int[] greedyByComponent(CompactGraph graph, ForkJoinPool pool) {
+        return new ComponentGreedySolver(graph).solve(pool);
+    }
+
+    /**
+     * Generates the greedy dominating set of every snapshot as a separate task on the executor.
+     * @param graphs The snapshots for which approximate minimum dominating sets will be generated.
+     * @param executor The executor the tasks are run on, such as a fixed thread pool, or on Java 21 and later a
+     *                 virtual-thread-per-task executor.
+     * @return a future for every snapshot, in the same order, completing with the values of its dominating vertices in
+     * ascending order.
+     */
+    public static List<CompletableFuture<int[]>> greedyBatch(List<CompactGraph> graphs, Executor executor) {
+        List<CompletableFuture<int[]>> futures = new ArrayList<>(graphs.size());
+        for(CompactGraph graph : graphs) {
+            futures.add(CompletableFuture.supplyAsync(() -> greedy(graph), executor));
+        }
+        return futures;
+    }
+
+    /**
+     * Generates a greedy dominating set of the subgraph induced by every subset of the snapshot's vertices, such as
+     * its communities, as a separate task on the executor. Each task takes its subgraph from the snapshot itself, in
+     * time proportional to the subset's degrees, so subsets may overlap and need not cover the snapshot.
+     * @param graph The snapshot whose vertices the subsets are taken from.
+     * @param subsets The values of the vertices of every subset.
+     * @param executor The executor the tasks are run on, such as a fixed thread pool, or on Java 21 and later a
+     *                 virtual-thread-per-task executor.
+     * @return a future for every subset, in the same order, completing with the values of the vertices dominating its
+     * induced subgraph in ascending order, or exceptionally with an IllegalArgumentException if the subset holds a
+     * value that is not a vertex of the snapshot.
+     */
+    public static List<CompletableFuture<int[]>> greedyBatch(CompactGraph graph, List<int[]> subsets,
+                                                             Executor executor) {
+        List<CompletableFuture<int[]>> futures = new ArrayList<>(subsets.size());
+        for(int[] subset : subsets) {
+            futures.add(CompletableFuture.supplyAsync(() -> greedy(graph.inducedSubgraph(subset)), executor));
+        }
+        return futures;
     }
 
     /**
@@ -29,8 +187,100 @@ public class DominatingSetCalculations {
      * Returns an empty optional if a connected dominating set cannot be generated due to the graph being disconnected.
      */
     public static Optional<Set<Vertex>> connectedGreedy(Graph graph) {
-        generator = new DominatingSetGenerator(graph);
-        return  generator.generateConnectedGreedy();
+        return connectedGreedyResult(graph).map(dominatingSet -> dominatingSet.toVertexSet(graph));
+    }
+
+    /**
+     * Generates the same connected dominating set as connectedGreedy, without holding on to the graph's Vertex
+     * objects.
+     * @param graph The graph for which an approximate minimum connected dominating set will be generated.
+     * @return The values of the vertices comprising an approximate minimum connected dominating set for the input
+     * graph, with the time and number of rounds the calculation took. Returns an empty optional if a connected
+     * dominating set cannot be generated due to the graph being disconnected.
+     */
+    public static Optional<DominatingSet> connectedGreedyResult(Graph graph) {
+        long start = System.nanoTime();
+        return connectedGreedyResult(graph.freeze(), start);
+    }
+
+    /**
+     * @param graph The snapshot for which an approximate minimum connected dominating set will be generated.
+     * @return The values of the vertices comprising an approximate minimum connected dominating set for the input
+     * snapshot, with the time and number of rounds the calculation took. Returns an empty optional if a connected
+     * dominating set cannot be generated due to the snapshot being disconnected.
+     */
+    public static Optional<DominatingSet> connectedGreedyResult(CompactGraph graph) {
+        return connectedGreedyResult(graph, System.nanoTime());
+    }
+
+    private static Optional<DominatingSet> connectedGreedyResult(CompactGraph graph, long start) {
+        DominatingSetGenerator generator = new DominatingSetGenerator(graph);
+        return generator.generateConnectedGreedy().map(dominatingSet -> generator.resultOf(dominatingSet, start));
+    }
+
+    /**
+     * @param graph The snapshot for which an approximate minimum connected dominating set will be generated.
+     * @return The values of the vertices comprising an approximate minimum connected dominating set for the input
+     * snapshot, in ascending order. Returns an empty optional if a connected dominating set cannot be generated due to
+     * the snapshot being disconnected.
+     */
+    public static Optional<int[]> connectedGreedy(CompactGraph graph) {
+        return new DominatingSetGenerator(graph).generateConnectedGreedy();
+    }
+
+    /**
+     * @param graph The graph for which an approximate minimum connected dominating set will be generated.
+     * @param algorithm The algorithm to generate it with. GREEDY gives the same set as connectedGreedy(graph).
+     * @return The set of vertices comprising an approximate minimum connected dominating set for the input graph.
+     * Returns an empty optional if a connected dominating set cannot be generated due to the graph being disconnected.
+     */
+    public static Optional<Set<Vertex>> connectedGreedy(Graph graph, ConnectedDominatingSetAlgorithm algorithm) {
+        return connectedGreedy(graph.freeze(), algorithm).map(dominatingSet -> verticesOf(dominatingSet, graph));
+    }
+
+    /**
+     * @param graph The snapshot for which an approximate minimum connected dominating set will be generated.
+     * @param algorithm The algorithm to generate it with. GREEDY gives the same set as connectedGreedy(graph).
+     * @return The values of the vertices comprising an approximate minimum connected dominating set for the input
+     * snapshot, in ascending order. Returns an empty optional if a connected dominating set cannot be generated due to
+     * the snapshot being disconnected.
+     */
+    public static Optional<int[]> connectedGreedy(CompactGraph graph, ConnectedDominatingSetAlgorithm algorithm) {
+        switch(algorithm) {
+            case GREEDY:
+                return connectedGreedy(graph);
+            case SPANNING_TREE_MIS:
+                return new SpanningTreeSolver(graph).solve();
+            default:
+                throw new IllegalArgumentException("Unknown algorithm " + algorithm + ".");
+        }
+    }
+
+    /**
+     * Runs connectedGreedy until it finishes or the token is cancelled. If it is cancelled, every vertex not yet
+     * dominated is joined to the vertices chosen so far by a shortest path, following edges in either direction, and
+     * the vertices of the paths are added to the set, so that it stays connected.
+     * @param graph The graph for which an approximate minimum connected dominating set will be generated.
+     * @param token Polled once for every vertex chosen.
+     * @return The connected dominating set connectedGreedy generates if it finished, or the completed partial set if
+     * it was cancelled. Returns an empty optional if a connected dominating set cannot be generated due to the graph
+     * being disconnected.
+     */
+    public static Optional<AnytimeResult<Set<Vertex>>> connectedGreedy(Graph graph, CancellationToken token) {
+        return connectedGreedy(graph.freeze(), token)
+                .map(result -> result.map(dominatingSet -> verticesOf(dominatingSet, graph)));
+    }
+
+    /**
+     * Runs connectedGreedy until it finishes or the token is cancelled, completing the set as the Graph overload does
+     * if it is cancelled.
+     * @param graph The snapshot for which an approximate minimum connected dominating set will be generated.
+     * @param token Polled once for every vertex chosen.
+     * @return The values of the connected dominating vertices, in ascending order. Returns an empty optional if a
+     * connected dominating set cannot be generated due to the snapshot being disconnected.
+     */
+    public static Optional<AnytimeResult<int[]>> connectedGreedy(CompactGraph graph, CancellationToken token) {
+        return new DominatingSetGenerator(graph, token).generateAnytimeConnectedGreedy();
     }
 
     /**
@@ -40,255 +290,796 @@ public class DominatingSetCalculations {
      * graph.
      */
     public static boolean verify(Set<Vertex> dominatingSet, Graph graph) {
-        verifier = new DominatingSetVerifier(dominatingSet, graph);
-        return verifier.verifySet();
+        return new DominatingSetVerifier(valuesOf(dominatingSet), graph.freeze()).verifySet();
+    }
+
+    /**
+     * @param dominatingSet The values of the vertices proposed as a possible dominating set of the given snapshot.
+     * @param graph The snapshot against which the dominatingSet will be compared.
+     * @return A boolean representing whether the proposed vertices constitute a dominating set for the input snapshot.
+     */
+    public static boolean verify(int[] dominatingSet, CompactGraph graph) {
+        return new DominatingSetVerifier(dominatingSet, graph).verifySet();
+    }
+
+    /**
+     * @param dominatingSet The set of vertices proposed as a possible dominating set of the given graph.
+     * @param graph The graph against which the dominatingSet will be compared.
+     * @param maxReported The largest number of undominated vertices to include in the result.
+     * @param parallel Whether the check may be split across the common fork-join pool. Only graphs above a size
+     *                 threshold are split.
+     * @return A VerificationResult holding whether the proposed set of vertices constitutes a dominating set for the
+     * input graph, along with the lowest undominated vertices if it does not.
+     */
+    public static VerificationResult verifyDetailed(Set<Vertex> dominatingSet, Graph graph, int maxReported,
+                                                    boolean parallel) {
+        return verifyDetailed(valuesOf(dominatingSet), graph.freeze(), maxReported, parallel);
+    }
+
+    /**
+     * @param dominatingSet The values of the vertices proposed as a possible dominating set of the given snapshot.
+     * @param graph The snapshot against which the dominatingSet will be compared.
+     * @param maxReported The largest number of undominated vertices to include in the result.
+     * @param parallel Whether the check may be split across the common fork-join pool. Only snapshots above a size
+     *                 threshold are split.
+     * @return A VerificationResult holding whether the proposed vertices constitute a dominating set for the input
+     * snapshot, along with the lowest undominated vertices if they do not.
+     */
+    public static VerificationResult verifyDetailed(int[] dominatingSet, CompactGraph graph, int maxReported,
+                                                    boolean parallel) {
+        return new DominatingSetVerifier(dominatingSet, graph).verify(maxReported, parallel);
+    }
+
+    /**
+     * @return whether the snapshot has a connected dominating set, being non-empty and weakly connected. A set can only
+     * ever grow along edges, so it can never reach a second weakly connected component.
+     */
+    private static boolean canBeConnectedlyDominated(CompactGraph graph) {
+        if(graph.numVertices() == 0) {
+            return false;
+        }
+        if(graph.isDirected()) {
+            for(int vertex = 0; vertex < graph.numVertices(); vertex++) {
+                if(graph.outDegree(vertex) + graph.inDegree(vertex) == 0) {
+                    return false;
+                }
+            }
+        }
+        return graph.weaklyConnectedComponents().isConnected();
+    }
+
+    private static int[] valuesOf(Set<Vertex> vertices) {
+        int[] values = new int[vertices.size()];
+        int i = 0;
+        for(Vertex vertex : vertices) {
+            values[i++] = vertex.getValue();
+        }
+        return values;
+    }
+
+    private static Set<Vertex> verticesOf(int[] values, Graph<?> graph) {
+        Map<Integer, Vertex> vertexMap = graph.getVertexMap();
+        Set<Vertex> vertices = new HashSet<>();
+        for(int value : values) {
+            vertices.add(vertexMap.get(value));
+        }
+        return vertices;
     }
 
+    /**
+     * Runs the greedy algorithms against a CompactGraph snapshot. Removing a vertex from the working graph is modelled
+     * by covering it in a GraphMask, so neither the snapshot nor the graph it was taken from is copied or modified.
+     *
+     * The unconnected greedy gives every uncovered vertex a gain of one more than its live degree, the number of
+     * vertices it would newly cover. When a vertex becomes covered only the live degrees of its in-neighbors change,
+     * and the vertex with the highest gain is taken from a GainQueue instead of rescanning every vertex on each round.
+     *
+     * The connected greedy picks among the covered vertices the same way, lazily: each vertex is queued by live degree
+     * as it is covered, and since a vertex never leaves the covered set and live degrees only go down, a popped entry
+     * is only re-queued if its gain is stale, and dropped once its live degree reaches zero. When no covered vertex
+     * has an uncovered out-neighbor, which only happens in directed snapshots, the uncovered vertices with an edge into
+     * the covered set are chosen from instead. They are scanned into a second queue the first time this happens, and
+     * from then on each vertex is queued as it gains a covered out-neighbor, so undirected snapshots never pay for it.
+     */
     private static class DominatingSetGenerator {
-        private final Graph graph;
-        private int largestOutDegree;
-        private Vertex mostConnectedVertex;
-        private final Set<Vertex> dominatingSet;
-        private final Set<Vertex> coveredVertices;
-        private boolean vertexHasCoveredNeighbor;
-
-        public DominatingSetGenerator(Graph seed) {
-            this.graph = seed.clone();
-            largestOutDegree = 0;
-            mostConnectedVertex = new Vertex(0);
-            dominatingSet = new HashSet<>();
-            coveredVertices = new HashSet<>();
-            vertexHasCoveredNeighbor = false;
+        private static final int CANCELLATION_CHECK_INTERVAL = 256;
+
+        private final CompactGraph graph;
+        private final CancellationToken token;
+        private final GraphMask mask;
+        private final int[] dominatingSet;
+        private int size;
+        private GainQueue coveredCandidates;
+        private GainQueue borderingCandidates;
+        private int numPopped;
+        private int numRounds;
+        private long numScanned;
+
+        public DominatingSetGenerator(CompactGraph graph) {
+            this(graph, null);
         }
 
         /**
-         * @return returns an optional containing the dominating set if a set is successfully found, or an empty
-         * optional if a connected set could not be generated due to the graph being unconnected.
+         * @param token The token to poll for cancellation, or null if the generator always runs to completion.
          */
-
-        public Optional<Set<Vertex>> generateConnectedGreedy() {
-            if(graphIsDirectedWithIsolatedVertices()) {
-                return Optional.empty();
-            }
-            generateConnectedGreedyDominatingSet();
-            return Optional.of(dominatingSet);
+        public DominatingSetGenerator(CompactGraph graph, CancellationToken token) {
+            this.graph = graph;
+            this.token = token;
+            mask = new GraphMask(graph);
+            dominatingSet = new int[graph.numVertices()];
+            size = 0;
         }
 
         /**
-         * @return returns a set of vertices approximating a minimum connected dominating set for the input graph.
+         * @return returns the values of the vertices approximating a minimum dominating set for the snapshot.
          */
 
-        public Set<Vertex> generateGreedy() {
-            generateUnconnectedGreedyDominatingSet();
-            return dominatingSet;
+        public int[] generateGreedy() {
+            return generateAnytimeGreedy().getDominatingSet();
         }
 
-        private boolean graphIsDirectedWithIsolatedVertices() {
-            if(graph instanceof UndirectedGraph) {
-                return false;
+        /**
+         * @return the greedy dominating set, or if the token is cancelled first, the vertices chosen so far along with
+         * every vertex they leave undominated.
+         */
+        public AnytimeResult<int[]> generateAnytimeGreedy() {
+            long start = Metrics.startTimer();
+            GainQueue queue = initializeGains();
+            GREEDY_INITIALIZE_TIMES.recordSince(start);
+            start = Metrics.startTimer();
+            int scanned = 0;
+            int untilCancellationCheck = CANCELLATION_CHECK_INTERVAL;
+            while(!mask.allCovered()) {
+                if(--untilCancellationCheck == 0) {
+                    untilCancellationCheck = CANCELLATION_CHECK_INTERVAL;
+                    if(isCancelled()) {
+                        GREEDY_SELECT_TIMES.recordSince(start);
+                        return completedWithUncoveredVertices();
+                    }
+                }
+                int vertex = queue.topVertex();
+                int gain = queue.topGain();
+                queue.pop();
+                scanned++;
+                if(mask.isCovered(vertex)) {
+                    continue;
+                }
+                if(gain != gainOf(vertex)) {
+                    queue.push(vertex, gainOf(vertex));
+                    continue;
+                }
+                addToDominatingSet(vertex);
+                recordRound(scanned);
+                scanned = 0;
             }
-            Set<Integer> accessibleVertices = new HashSet<>();
-            populateAccessibleVertices(accessibleVertices);
-            return accessibleVertices.size() != graph.getVertexMap().size();
+            GREEDY_SELECT_TIMES.recordSince(start);
+            return new AnytimeResult<>(dominatingSetValues(), true, size);
         }
 
-        private void populateAccessibleVertices(Set<Integer> accessibleVertices) {
-            Map<Integer, Set<Edge>> edgeMap = graph.getEdgeMap();
-            for(Set<Edge> edges : edgeMap.values()) {
-                for(Edge edge : edges) {
-                    accessibleVertices.add(edge.getA());
-                    accessibleVertices.add(edge.getB());
+        /**
+         * Adds, in index order, every vertex still undominated when it is reached, so each one added also dominates
+         * its out-neighbors further on.
+         */
+        private AnytimeResult<int[]> completedWithUncoveredVertices() {
+            int numChosen = size;
+            for(int vertex = 0; vertex < graph.numVertices(); vertex++) {
+                if(!mask.isCovered(vertex)) {
+                    addToDominatingSet(vertex);
                 }
             }
+            return new AnytimeResult<>(dominatingSetValues(), false, numChosen);
+        }
+
+        private GainQueue initializeGains() {
+            GainQueue queue = new GainQueue(graph.ids(), graph.numVertices());
+            for(int vertex = 0; vertex < graph.numVertices(); vertex++) {
+                queue.push(vertex, gainOf(vertex));
+            }
+            return queue;
+        }
+
+        private int gainOf(int vertex) {
+            return mask.liveDegree(vertex) + 1;
+        }
+
+        /**
+         * @return returns an optional containing the values of the connected dominating set if a set is successfully
+         * found, or an empty optional if a connected set could not be generated due to the snapshot being unconnected.
+         * The set only ever grows along edges, so it can never reach a second weakly connected component, and a
+         * snapshot with more than one is rejected before any vertex is added.
+         */
+
+        public Optional<int[]> generateConnectedGreedy() {
+            return generateAnytimeConnectedGreedy().map(AnytimeResult::getDominatingSet);
         }
 
-        private void generateUnconnectedGreedyDominatingSet() {
-            addEdgesFromVerticesToThemselves();
-            while(!graph.getVertexMap().isEmpty()) {
-                findMostConnectedVertex();
-                addMostConnectedVertexToDominatingSet();
-                removeMostConnectedVertexEgonetFromSeed();
+        /**
+         * @return the connected greedy dominating set, or if the token is cancelled first, the vertices chosen so far
+         * joined to every vertex they leave undominated by shortest paths.
+         */
+        public Optional<AnytimeResult<int[]>> generateAnytimeConnectedGreedy() {
+            long start = Metrics.startTimer();
+            boolean connected = canBeConnectedlyDominated(graph);
+            CONNECTED_GREEDY_CHECK_TIMES.recordSince(start);
+            if(!connected) {
+                return Optional.empty();
+            }
+            start = Metrics.startTimer();
+            coveredCandidates = new GainQueue(graph.ids(), 16);
+            addToDominatingSet(findMostConnectedVertex());
+            recordRound(graph.numVertices());
+            while(!mask.allCovered()) {
+                if(isCancelled()) {
+                    CONNECTED_GREEDY_SELECT_TIMES.recordSince(start);
+                    return Optional.of(completedWithPathsToUncoveredVertices());
+                }
+                numPopped = 0;
+                int vertex = pollMostConnectedCoveredVertex();
+                if(vertex < 0) {
+                    DIVERSIONS.increment();
+                    vertex = pollMostConnectedVertexBorderingCoveredVertices();
+                }
+                if(vertex < 0) {
+                    return Optional.empty();
+                }
+                addToDominatingSet(vertex);
+                recordRound(numPopped);
             }
+            CONNECTED_GREEDY_SELECT_TIMES.recordSince(start);
+            return Optional.of(new AnytimeResult<>(dominatingSetValues(), true, size));
         }
 
-        private void addEdgesFromVerticesToThemselves() {
-            Map<Integer, Set<Vertex>> vertexMap = graph.getVertexMap();
-            for(int i : vertexMap.keySet()) {
-                graph.addEdge(i, i);
+        /**
+         * Runs a breadth first search outwards from all of the chosen vertices at once, following edges in both
+         * directions, to build a tree of shortest paths back to them. Then, from the farthest vertex inwards, every
+         * vertex still undominated is dominated by adding the path back to the chosen vertices from its parent, if the
+         * parent has an edge to it, or else from the vertex itself. Every path ends at a vertex already in the set,
+         * which so stays connected, and the snapshot is weakly connected, so the search reaches every vertex.
+         */
+        private AnytimeResult<int[]> completedWithPathsToUncoveredVertices() {
+            int numChosen = size;
+            int numVertices = graph.numVertices();
+            boolean[] chosen = new boolean[numVertices];
+            int[] parents = new int[numVertices];
+            boolean[] reachedByOutEdge = new boolean[numVertices];
+            int[] queue = new int[numVertices];
+            int tail = 0;
+            for(int i = 0; i < size; i++) {
+                int vertex = graph.indexOf(dominatingSet[i]);
+                chosen[vertex] = true;
+                parents[vertex] = vertex;
+                queue[tail++] = vertex;
+            }
+            boolean[] reached = chosen.clone();
+            for(int head = 0; head < tail; head++) {
+                int vertex = queue[head];
+                for(int i = graph.outStart(vertex); i < graph.outEnd(vertex); i++) {
+                    int neighbor = graph.outTarget(i);
+                    if(!reached[neighbor]) {
+                        reachedByOutEdge[neighbor] = true;
+                    }
+                    tail = reach(neighbor, vertex, reached, parents, queue, tail);
+                }
+                for(int i = graph.inStart(vertex); i < graph.inEnd(vertex); i++) {
+                    tail = reach(graph.inTarget(i), vertex, reached, parents, queue, tail);
+                }
             }
+            for(int position = tail - 1; position >= 0; position--) {
+                int vertex = queue[position];
+                if(mask.isCovered(vertex)) {
+                    continue;
+                }
+                int onPath = reachedByOutEdge[vertex] ? parents[vertex] : vertex;
+                for(; !chosen[onPath]; onPath = parents[onPath]) {
+                    chosen[onPath] = true;
+                    addToDominatingSet(onPath);
+                }
+            }
+            return new AnytimeResult<>(dominatingSetValues(), false, numChosen);
         }
 
-        private void findMostConnectedVertex() {
-            resetMostConnectedVertex();
-            Map<Integer, Vertex> vertexMap = graph.getVertexMap();
-            for(Vertex currentVertex : vertexMap.values()) {
-                compareToMostConnectedVertex(currentVertex);
+        private static int reach(int vertex, int parent, boolean[] reached, int[] parents, int[] queue, int tail) {
+            if(reached[vertex]) {
+                return tail;
             }
+            reached[vertex] = true;
+            parents[vertex] = parent;
+            queue[tail] = vertex;
+            return tail + 1;
         }
 
-        private void resetMostConnectedVertex() {
-            largestOutDegree = 0;
-            mostConnectedVertex = new Vertex(0);
+        private boolean isCancelled() {
+            return token != null && token.isCancelled();
         }
 
-        private void compareToMostConnectedVertex(Vertex currentVertex) {
-            int currentVertexOutDegree = currentVertex.getNeighbors().size();
-            updateMostConnectedVertex(currentVertexOutDegree, currentVertex);
+        private int findMostConnectedVertex() {
+            int mostConnected = -1;
+            int largestCount = 0;
+            for(int vertex = 0; vertex < graph.numVertices(); vertex++) {
+                int count = graph.outDegree(vertex);
+                if(isMoreConnected(count, vertex, largestCount, mostConnected)) {
+                    largestCount = count;
+                    mostConnected = vertex;
+                }
+            }
+            return mostConnected;
         }
 
-        private void updateMostConnectedVertex(int currentVertexOutDegree, Vertex currentVertex) {
-            if (currentVertexOutDegree > largestOutDegree) {
-                largestOutDegree = currentVertexOutDegree;
-                mostConnectedVertex = currentVertex;
-            } else if (currentVertexOutDegree == largestOutDegree) {
-                mostConnectedVertex = compareValues(currentVertex);
+        /**
+         * @return the covered vertex with the most uncovered out-neighbors, the highest value if several are tied, or
+         * -1 if no covered vertex has any. Candidates whose live degree has dropped to zero are dropped for good.
+         */
+        private int pollMostConnectedCoveredVertex() {
+            while(!coveredCandidates.isEmpty()) {
+                int vertex = coveredCandidates.topVertex();
+                int gain = coveredCandidates.topGain();
+                coveredCandidates.pop();
+                numPopped++;
+                int liveDegree = mask.liveDegree(vertex);
+                if(liveDegree == 0) {
+                    continue;
+                }
+                if(gain != liveDegree) {
+                    coveredCandidates.push(vertex, liveDegree);
+                    continue;
+                }
+                return vertex;
             }
+            return -1;
         }
 
-        private Vertex compareValues(Vertex currentVertex) {
-            if(currentVertex.getValue() > mostConnectedVertex.getValue()) {
-                return currentVertex;
-            } else {
-                return mostConnectedVertex;
+        /**
+         * @return the uncovered vertex with an out-neighbor in the covered set that has the most uncovered
+         * out-neighbors, the highest value if several are tied, or -1 if there is none. Unlike covered candidates, ones
+         * whose live degree has reached zero are still returned, since they may be all that is left.
+         */
+        private int pollMostConnectedVertexBorderingCoveredVertices() {
+            if(borderingCandidates == null) {
+                initializeBorderingCandidates();
             }
+            while(!borderingCandidates.isEmpty()) {
+                int vertex = borderingCandidates.topVertex();
+                int gain = borderingCandidates.topGain();
+                borderingCandidates.pop();
+                numPopped++;
+                if(mask.isCovered(vertex)) {
+                    continue;
+                }
+                if(gain != mask.liveDegree(vertex)) {
+                    borderingCandidates.push(vertex, mask.liveDegree(vertex));
+                    continue;
+                }
+                return vertex;
+            }
+            return -1;
+        }
+
+        private void initializeBorderingCandidates() {
+            borderingCandidates = new GainQueue(graph.ids(), 16);
+            for(int vertex = 0; vertex < graph.numVertices(); vertex++) {
+                if(!mask.isCovered(vertex) && hasCoveredNeighbor(vertex)) {
+                    borderingCandidates.push(vertex, mask.liveDegree(vertex));
+                }
+            }
+            numPopped += graph.numVertices();
         }
 
-        private void addMostConnectedVertexToDominatingSet() {
-            dominatingSet.add(mostConnectedVertex);
+        private boolean isMoreConnected(int count, int vertex, int largestCount, int mostConnected) {
+            if(mostConnected < 0 || count > largestCount) {
+                return true;
+            }
+            return count == largestCount && graph.idOf(vertex) > graph.idOf(mostConnected);
         }
 
-        private void removeMostConnectedVertexEgonetFromSeed() {
-            Set<Integer> verticesToRemove = findAllNeighborsOfMostConnected();
-            removeVertices(verticesToRemove);
+        private boolean hasCoveredNeighbor(int vertex) {
+            for(int i = graph.outStart(vertex); i < graph.outEnd(vertex); i++) {
+                if(mask.isCovered(graph.outTarget(i))) {
+                    return true;
+                }
+            }
+            return false;
         }
 
-        private Set<Integer> findAllNeighborsOfMostConnected() {
-            Set<Integer> verticesToRemove = new HashSet<>();
-            for(Vertex neighbor : mostConnectedVertex.getNeighbors()) {
-                verticesToRemove.add(neighbor.getValue());
+        private void addToDominatingSet(int vertex) {
+            dominatingSet[size++] = graph.idOf(vertex);
+            cover(vertex);
+            for(int i = graph.outStart(vertex); i < graph.outEnd(vertex); i++) {
+                cover(graph.outTarget(i));
             }
-            return verticesToRemove;
         }
 
-        private void removeVertices(Set<Integer> verticesToRemove) {
-            for(int i : verticesToRemove) {
-                graph.removeVertex(i);
+        /**
+         * Covers the vertex and, while a connected dominating set is being built, queues it as a candidate if it has
+         * uncovered out-neighbors, and once bordering vertices are being queued, queues its uncovered in-neighbors.
+         */
+        private void cover(int vertex) {
+            if(!mask.cover(vertex) || coveredCandidates == null) {
+                return;
+            }
+            if(mask.liveDegree(vertex) > 0) {
+                coveredCandidates.push(vertex, mask.liveDegree(vertex));
+            }
+            if(borderingCandidates != null) {
+                for(int i = graph.inStart(vertex); i < graph.inEnd(vertex); i++) {
+                    int neighbor = graph.inTarget(i);
+                    if(!mask.isCovered(neighbor)) {
+                        borderingCandidates.push(neighbor, mask.liveDegree(neighbor));
+                    }
+                }
             }
         }
 
+        /**
+         * @return the dominating set with the rounds and scans this generator took, timed from start.
+         */
+        public DominatingSet resultOf(int[] dominatingSet, long start) {
+            return new DominatingSet(dominatingSet, numRounds, numScanned, System.nanoTime() - start);
+        }
 
-        private void generateConnectedGreedyDominatingSet() {
-            findMostConnectedVertex();
-            addMostConnectedVertex();
-            loopOverCoveredVertices();
+        private void recordRound(int scanned) {
+            numRounds++;
+            numScanned += scanned;
+            ROUNDS.increment();
+            SCANNED_PER_ROUND.record(scanned);
         }
 
-        private void addMostConnectedVertex() {
-            addMostConnectedVertexToDominatingSet();
-            addMostConnectedVertexEgonetToCoveredVerticesSet();
+        private int[] dominatingSetValues() {
+            int[] values = Arrays.copyOf(dominatingSet, size);
+            Arrays.sort(values);
+            return values;
         }
+    }
+
+    /**
+     * Builds a connected dominating set in near-linear time as ConnectedDominatingSetAlgorithm.SPANNING_TREE_MIS
+     * describes. Edges are followed in both directions throughout, so in a directed snapshot the tree spans the weakly
+     * connected snapshot and the independent set dominates it as if it were undirected.
+     */
+    private static class SpanningTreeSolver {
+        private static final int FREE = 0;
+        private static final int INDEPENDENT = 1;
+        private static final int EXCLUDED = 2;
 
-        private void addMostConnectedVertexEgonetToCoveredVerticesSet() {
-            Set<Vertex> neighbors = mostConnectedVertex.getNeighbors();
-            coveredVertices.addAll(neighbors);
-            coveredVertices.add(mostConnectedVertex);
+        private final CompactGraph graph;
+        private final int numVertices;
+
+        SpanningTreeSolver(CompactGraph graph) {
+            this.graph = graph;
+            numVertices = graph.numVertices();
         }
 
-        private void loopOverCoveredVertices() {
-            while(!allVerticesCovered()) {
-                addMostConnectedVertexFromCoveredVertices();
+        Optional<int[]> solve() {
+            long start = Metrics.startTimer();
+            if(!canBeConnectedlyDominated(graph)) {
+                return Optional.empty();
             }
+            int[] parents = new int[numVertices];
+            int[] order = breadthFirstOrder(highestDegreeVertex(), parents);
+            boolean[] inSet = new boolean[numVertices];
+            int[] states = new int[numVertices];
+            for(int vertex : order) {
+                if(states[vertex] != FREE) {
+                    continue;
+                }
+                states[vertex] = INDEPENDENT;
+                inSet[vertex] = true;
+                inSet[parents[vertex]] = true;
+                for(int i = graph.outStart(vertex); i < graph.outEnd(vertex); i++) {
+                    exclude(graph.outTarget(i), states);
+                }
+                if(graph.isDirected()) {
+                    for(int i = graph.inStart(vertex); i < graph.inEnd(vertex); i++) {
+                        exclude(graph.inTarget(i), states);
+                    }
+                }
+            }
+            if(graph.isDirected()) {
+                addUndominatedVertices(inSet);
+            }
+            IntArrayList values = new IntArrayList();
+            for(int vertex = 0; vertex < numVertices; vertex++) {
+                if(inSet[vertex]) {
+                    values.add(graph.idOf(vertex));
+                }
+            }
+            int[] dominatingSet = values.toArray();
+            Arrays.sort(dominatingSet);
+            SPANNING_TREE_MIS_TIMES.recordSince(start);
+            return Optional.of(dominatingSet);
         }
 
-        private boolean allVerticesCovered() {
-            return coveredVertices.size() == graph.getVertexMap().size();
+        private static void exclude(int vertex, int[] states) {
+            if(states[vertex] == FREE) {
+                states[vertex] = EXCLUDED;
+            }
+        }
+
+        private int degreeOf(int vertex) {
+            return graph.isDirected() ? graph.outDegree(vertex) + graph.inDegree(vertex) : graph.outDegree(vertex);
         }
 
-        private void addMostConnectedVertexFromCoveredVertices() {
-            resetMostConnectedVertex();
-            for(Vertex currentVertex : coveredVertices) {
-                compareToMostConnected(currentVertex);
+        private int highestDegreeVertex() {
+            int highest = 0;
+            for(int vertex = 1; vertex < numVertices; vertex++) {
+                if(degreeOf(vertex) > degreeOf(highest)
+                        || degreeOf(vertex) == degreeOf(highest) && graph.idOf(vertex) > graph.idOf(highest)) {
+                    highest = vertex;
+                }
             }
-            if(largestOutDegree == 0) {
-                divertToUncoveredVertices();
+            return highest;
+        }
+
+        /**
+         * Runs a breadth first search from the root, recording every vertex's parent in the tree, the root being its
+         * own parent. The vertices of each level are then sorted by descending degree, then descending value.
+         * @return every vertex, in order of level.
+         */
+        private int[] breadthFirstOrder(int root, int[] parents) {
+            boolean[] reached = new boolean[numVertices];
+            int[] queue = new int[numVertices];
+            reached[root] = true;
+            parents[root] = root;
+            queue[0] = root;
+            int tail = 1;
+            int levelStart = 0;
+            int levelEnd = 1;
+            long[] keys = new long[16];
+            while(levelStart < levelEnd) {
+                for(int head = levelStart; head < levelEnd; head++) {
+                    int vertex = queue[head];
+                    for(int i = graph.outStart(vertex); i < graph.outEnd(vertex); i++) {
+                        tail = reach(graph.outTarget(i), vertex, reached, parents, queue, tail);
+                    }
+                    if(graph.isDirected()) {
+                        for(int i = graph.inStart(vertex); i < graph.inEnd(vertex); i++) {
+                            tail = reach(graph.inTarget(i), vertex, reached, parents, queue, tail);
+                        }
+                    }
+                }
+                int levelSize = tail - levelEnd;
+                if(keys.length < levelSize) {
+                    keys = new long[Math.max(levelSize, keys.length * 2)];
+                }
+                for(int i = 0; i < levelSize; i++) {
+                    int vertex = queue[levelEnd + i];
+                    keys[i] = ((long) degreeOf(vertex) << 32) | (graph.idOf(vertex) & 0xFFFFFFFFL);
+                }
+                Arrays.sort(keys, 0, levelSize);
+                for(int i = 0; i < levelSize; i++) {
+                    queue[tail - 1 - i] = graph.indexOf((int) keys[i]);
+                }
+                levelStart = levelEnd;
+                levelEnd = tail;
             }
-            addMostConnectedVertex();
+            return queue;
         }
 
-        private void compareToMostConnected(Vertex currentVertex) {
-            int currentVertexOutDegree = countUncoveredNeighbors(currentVertex);
-            updateMostConnectedVertex(currentVertexOutDegree, currentVertex);
+        private static int reach(int vertex, int parent, boolean[] reached, int[] parents, int[] queue, int tail) {
+            if(reached[vertex]) {
+                return tail;
+            }
+            reached[vertex] = true;
+            parents[vertex] = parent;
+            queue[tail] = vertex;
+            return tail + 1;
         }
-        private int countUncoveredNeighbors(Vertex vertex) {
-            int outDegreeCount = 0;
-            for (Vertex neighbor : vertex.getNeighbors()) {
-                if(neighborHasNotBeenSeen(neighbor)) {
-                    outDegreeCount++;
+
+        /**
+         * Adds every vertex that neither is in the set nor has an in-neighbor in it, in index order. Each one is
+         * adjacent to a member of the independent set, which is maximal, so the set stays weakly connected.
+         */
+        private void addUndominatedVertices(boolean[] inSet) {
+            boolean[] dominated = new boolean[numVertices];
+            for(int vertex = 0; vertex < numVertices; vertex++) {
+                if(inSet[vertex]) {
+                    dominate(vertex, dominated);
                 }
             }
-            return outDegreeCount;
+            for(int vertex = 0; vertex < numVertices; vertex++) {
+                if(!dominated[vertex]) {
+                    inSet[vertex] = true;
+                    dominate(vertex, dominated);
+                }
+            }
+        }
+
+        private void dominate(int vertex, boolean[] dominated) {
+            dominated[vertex] = true;
+            for(int i = graph.outStart(vertex); i < graph.outEnd(vertex); i++) {
+                dominated[graph.outTarget(i)] = true;
+            }
         }
+    }
+
+    /**
+     * Runs the unconnected greedy of DominatingSetGenerator against a CompressedGraph. The covered vertices and live
+     * degrees GraphMask would keep are held here directly, and neighbor lists are walked with one NeighborIterator per
+     * direction, so each covered vertex decodes its in-list once and each chosen vertex decodes its out-list once.
+     */
+    private static class CompressedGreedySolver {
+        private final CompressedGraph graph;
+        private final CompressedGraph.NeighborIterator outNeighbors;
+        private final CompressedGraph.NeighborIterator inNeighbors;
+        private final BitSet covered;
+        private final int[] liveDegrees;
+        private final int[] dominatingSet;
+        private int numCovered;
+        private int size;
 
-        private boolean neighborHasNotBeenSeen(Vertex neighbor) {
-            return !(dominatingSet.contains(neighbor) || coveredVertices.contains(neighbor));
+        CompressedGreedySolver(CompressedGraph graph) {
+            this.graph = graph;
+            outNeighbors = graph.outNeighbors();
+            inNeighbors = graph.inNeighbors();
+            covered = new BitSet(graph.numVertices());
+            liveDegrees = new int[graph.numVertices()];
+            dominatingSet = new int[graph.numVertices()];
         }
 
-        private void divertToUncoveredVertices() {
-            resetMostConnectedVertex();
-            findMostConnectedUncoveredVertex();
-            addMostConnectedVertex();
-            loopOverCoveredVertices();
+        int[] solve() {
+            long start = Metrics.startTimer();
+            GainQueue queue = initializeGains();
+            GREEDY_INITIALIZE_TIMES.recordSince(start);
+            start = Metrics.startTimer();
+            int scanned = 0;
+            while(numCovered < graph.numVertices()) {
+                int vertex = queue.topVertex();
+                int gain = queue.topGain();
+                queue.pop();
+                scanned++;
+                if(covered.get(vertex)) {
+                    continue;
+                }
+                if(gain != liveDegrees[vertex] + 1) {
+                    queue.push(vertex, liveDegrees[vertex] + 1);
+                    continue;
+                }
+                addToDominatingSet(vertex);
+                ROUNDS.increment();
+                SCANNED_PER_ROUND.record(scanned);
+                scanned = 0;
+            }
+            GREEDY_SELECT_TIMES.recordSince(start);
+            int[] values = Arrays.copyOf(dominatingSet, size);
+            Arrays.sort(values);
+            return values;
         }
 
-        private void findMostConnectedUncoveredVertex() {
-            Map<Integer, Vertex> vertexMap = graph.getVertexMap();
-            for(Vertex currentVertex : vertexMap.values()) {
-                processUncoveredVertex(currentVertex);
+        private GainQueue initializeGains() {
+            GainQueue queue = new GainQueue(graph.ids(), graph.numVertices());
+            for(int vertex = 0; vertex < graph.numVertices(); vertex++) {
+                outNeighbors.of(vertex);
+                while(outNeighbors.hasNext()) {
+                    if(outNeighbors.nextInt() != vertex) {
+                        liveDegrees[vertex]++;
+                    }
+                }
+                queue.push(vertex, liveDegrees[vertex] + 1);
             }
+            return queue;
         }
 
-        private void processUncoveredVertex(Vertex currentVertex) {
-            if(vertexIsAlreadyCovered(currentVertex)) {
-                return;
+        private void addToDominatingSet(int vertex) {
+            dominatingSet[size++] = graph.idOf(vertex);
+            cover(vertex);
+            outNeighbors.of(vertex);
+            while(outNeighbors.hasNext()) {
+                cover(outNeighbors.nextInt());
             }
-            int currentVertexOutDegree = evaluateNeighbors(currentVertex);
-            if(!vertexHasCoveredNeighbor) {
+        }
+
+        private void cover(int vertex) {
+            if(covered.get(vertex)) {
                 return;
             }
-            updateMostConnectedVertex(currentVertexOutDegree, currentVertex);
-            resetHasCoveredNeighborField();
+            covered.set(vertex);
+            numCovered++;
+            inNeighbors.of(vertex);
+            while(inNeighbors.hasNext()) {
+                int inNeighbor = inNeighbors.nextInt();
+                if(inNeighbor != vertex) {
+                    liveDegrees[inNeighbor]--;
+                }
+            }
+        }
+    }
+
+    /**
+     * Runs the greedy algorithm on the weakly connected components of a snapshot independently. Covering a vertex only
+     * changes the gains of vertices in its own component, so the vertices the global greedy picks from any one
+     * component, and the order it picks them in, are exactly those a greedy run on that component alone picks, and the
+     * union of the per-component sets equals the global set whatever order the components are solved in.
+     *
+     * Components with at least BATCH_WORK vertices and edges are solved as tasks of their own. Smaller ones are
+     * gathered, in order of their lowest vertex, into batches of about BATCH_WORK, so a graph of many tiny components
+     * is not split into many tiny tasks. The tasks are submitted largest first, so the longest ones start earliest and
+     * the small ones fill in around them.
+     */
+    private static class ComponentGreedySolver {
+        private static final int BATCH_WORK = 1 << 12;
+
+        private final CompactGraph graph;
+        private final ConnectedComponents components;
+
+        public ComponentGreedySolver(CompactGraph graph) {
+            this.graph = graph;
+            components = graph.weaklyConnectedComponents();
         }
 
-        private boolean vertexIsAlreadyCovered(Vertex currentVertex) {
-            return coveredVertices.contains(currentVertex);
+        public int[] solve(ForkJoinPool pool) {
+            if(components.getNumComponents() <= 1) {
+                return new DominatingSetGenerator(graph).generateGreedy();
+            }
+            int[] batchOfComponent = new int[components.getNumComponents()];
+            int numBatches = assignBatches(batchOfComponent);
+            int[] batchOfVertex = new int[graph.numVertices()];
+            for(int vertex = 0; vertex < graph.numVertices(); vertex++) {
+                batchOfVertex[vertex] = batchOfComponent[components.componentOf(vertex)];
+            }
+            CompactGraph[] batches = graph.partition(batchOfVertex, numBatches);
+            Arrays.sort(batches, Comparator.comparingLong(ComponentGreedySolver::workOf).reversed());
+            List<ForkJoinTask<int[]>> tasks = new ArrayList<>(numBatches);
+            for(CompactGraph batch : batches) {
+                tasks.add(pool.submit(() -> new DominatingSetGenerator(batch).generateGreedy()));
+            }
+            IntArrayList dominatingSet = new IntArrayList();
+            for(ForkJoinTask<int[]> task : tasks) {
+                dominatingSet.addAll(task.join());
+            }
+            int[] values = dominatingSet.toArray();
+            Arrays.sort(values);
+            return values;
         }
 
-        private int evaluateNeighbors(Vertex vertex) {
-            int outDegreeCount = 0;
-            for (Vertex neighbor : vertex.getNeighbors()) {
-                if(neighborHasNotBeenSeen(neighbor)) {
-                    outDegreeCount++;
-                } else if (vertexHasCoveredNeighbor == false){
-                    vertexHasCoveredNeighbor = true;
+        /**
+         * @return the number of batches the components were assigned to.
+         */
+        private int assignBatches(int[] batchOfComponent) {
+            long[] componentWork = new long[components.getNumComponents()];
+            for(int vertex = 0; vertex < graph.numVertices(); vertex++) {
+                componentWork[components.componentOf(vertex)] += 1 + graph.outDegree(vertex);
+            }
+            int numBatches = 0;
+            int openBatch = -1;
+            long openBatchWork = 0;
+            for(int component = 0; component < componentWork.length; component++) {
+                if(componentWork[component] >= BATCH_WORK) {
+                    batchOfComponent[component] = numBatches++;
+                    continue;
                 }
+                if(openBatch < 0 || openBatchWork >= BATCH_WORK) {
+                    openBatch = numBatches++;
+                    openBatchWork = 0;
+                }
+                batchOfComponent[component] = openBatch;
+                openBatchWork += componentWork[component];
             }
-            return outDegreeCount;
+            return numBatches;
         }
 
-        private void resetHasCoveredNeighborField() {
-            vertexHasCoveredNeighbor = false;
+        private static long workOf(CompactGraph batch) {
+            return (long) batch.numVertices() + batch.numEdges();
         }
     }
 
+    /**
+     * Checks a proposed dominating set in time linear in the size of the snapshot. Dominator membership is held in a
+     * BitSet over the snapshot's dense indices, and a vertex is dominated when it or one of its in-neighbors is a
+     * member. Each vertex only reads the shared bits, so large snapshots can be checked in independent index ranges
+     * on separate cores.
+     */
     private static class DominatingSetVerifier {
-        Set<Vertex> dominatingSet;
-        Graph originalGraph;
-        UndirectedGraph dominatingSetGraph;
+        private static final long PARALLEL_THRESHOLD = 1 << 16;
+        private static final int RANGES_PER_THREAD = 4;
+
+        private final CompactGraph graph;
+        private final BitSet dominators;
 
-        public DominatingSetVerifier(Set<Vertex> dominatingSet, Graph originalGraph) {
-            this.dominatingSet = dominatingSet;
-            this.originalGraph = originalGraph;
-            dominatingSetGraph = new UndirectedGraph();
+        public DominatingSetVerifier(int[] dominatingSet, CompactGraph graph) {
+            this.graph = graph;
+            dominators = new BitSet(graph.numVertices());
+            for(int value : dominatingSet) {
+                dominators.set(findIndex(value));
+            }
         }
 
         /**
@@ -297,44 +1088,77 @@ public class DominatingSetCalculations {
          */
 
         public boolean verifySet() {
-            buildDominatingSetGraph();
-            return compareGraphs();
+            return verify(0, false).isDominatingSet();
+        }
+
+        public VerificationResult verify(int maxReported, boolean parallel) {
+            if(!parallel || (long) graph.numVertices() + graph.numEdges() < PARALLEL_THRESHOLD) {
+                return checkRange(0, graph.numVertices(), maxReported);
+            }
+            return checkRangesInParallel(maxReported);
         }
 
-        private void buildDominatingSetGraph() {
-            for(Vertex vertex : dominatingSet) {
-                Map<Integer,Vertex> originalGraphVertexMap = originalGraph.getVertexMap();
-                Vertex originalGraphVertex = originalGraphVertexMap.get(vertex.getValue());
-                addNeighborsToDominatingSetGraph(originalGraphVertex.getNeighbors());
-                addSelfToDominatingSetGraph(vertex);
+        private int findIndex(int value) {
+            int index = graph.indexOf(value);
+            if(index < 0) {
+                throw new IllegalArgumentException("Vertex " + value + " does not exist.");
             }
+            return index;
         }
 
-        private void addNeighborsToDominatingSetGraph(Set<Vertex> neighbors) {
-            for(Vertex neighbor : neighbors) {
-                if(!dominatingSetGraph.getVertexMap().containsValue(neighbor)) {
-                    dominatingSetGraph.addVertex(neighbor.getValue());
+        private VerificationResult checkRangesInParallel(int maxReported) {
+            int numRanges = ForkJoinPool.getCommonPoolParallelism() * RANGES_PER_THREAD;
+            int rangeSize = (graph.numVertices() + numRanges - 1) / numRanges;
+            List<VerificationResult> results = IntStream.range(0, numRanges)
+                    .parallel()
+                    .mapToObj(range -> checkRange(Math.min(range * rangeSize, graph.numVertices()),
+                            Math.min((range + 1) * rangeSize, graph.numVertices()), maxReported))
+                    .collect(Collectors.toList());
+            return mergeResults(results, maxReported);
+        }
+
+        private VerificationResult checkRange(int from, int to, int maxReported) {
+            int numUndominated = 0;
+            int[] undominated = new int[Math.max(maxReported, 0)];
+            for(int vertex = from; vertex < to; vertex++) {
+                if(isDominated(vertex)) {
+                    continue;
                 }
+                if(numUndominated < undominated.length) {
+                    undominated[numUndominated] = graph.idOf(vertex);
+                }
+                numUndominated++;
             }
+            return new VerificationResult(numUndominated,
+                    Arrays.copyOf(undominated, Math.min(numUndominated, undominated.length)));
         }
 
-        private void addSelfToDominatingSetGraph(Vertex vertex) {
-            if(!dominatingSetGraph.getVertexMap().containsValue(vertex)) {
-                dominatingSetGraph.addVertex(vertex.getValue());
+        private boolean isDominated(int vertex) {
+            if(dominators.get(vertex)) {
+                return true;
+            }
+            for(int i = graph.inStart(vertex); i < graph.inEnd(vertex); i++) {
+                if(dominators.get(graph.inTarget(i))) {
+                    return true;
+                }
             }
+            return false;
         }
 
-        private boolean compareGraphs() {
-            Map<Integer, Vertex> originalVertexMap = originalGraph.getVertexMap();
-            for(Vertex vertex : originalVertexMap.values()) {
-                if(!dominatingSetGraph.getVertexMap().containsValue(vertex)) {
-                    return false;
+        private VerificationResult mergeResults(List<VerificationResult> results, int maxReported) {
+            int numUndominated = 0;
+            int[] undominated = new int[Math.max(maxReported, 0)];
+            int numReported = 0;
+            for(VerificationResult result : results) {
+                numUndominated += result.getNumUndominated();
+                for(int value : result.getUndominatedVertices()) {
+                    if(numReported < undominated.length) {
+                        undominated[numReported++] = value;
+                    }
                 }
             }
-            return true;
+            return new VerificationResult(numUndominated, Arrays.copyOf(undominated, numReported));
         }
     }
 
 }
-
-
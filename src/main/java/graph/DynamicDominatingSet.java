@@ -0,0 +1,266 @@
+package graph;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.IntConsumer;
+
+/**
+ * Dominating set of a Graph that is kept valid as the graph changes, instead of being regenerated from scratch.
+ *
+ * The set starts as the greedy dominating set of the graph and then listens to the graph's changes. For every vertex
+ * it counts the dominators covering it, itself if it is one and each dominating in-neighbor, and each change only
+ * updates the counts of the vertices it touches, marking them as pending. The set is repaired on the next call to
+ * repair() or on the next read, so a batch of changes is repaired once. Repairing first covers each pending vertex
+ * left with no dominator by adding whichever of it and its in-neighbors covers the most uncovered vertices, breaking
+ * ties by the highest value as the greedy algorithm does. It then drops every dominator near a pending or newly added
+ * vertex whose own vertex and out-neighbors are all covered by at least one other dominator, trying the dominators of
+ * lowest degree first. Both steps only look at the neighborhoods of the pending vertices, so the cost of a batch
+ * depends on the size of the changes rather than of the graph.
+ *
+ * A DynamicDominatingSet is not safe to use from several threads, and the graph must not be changed while a repair is
+ * running.
+ */
+
+public final class DynamicDominatingSet implements GraphListener {
+    private final Graph<?> graph;
+    private final boolean directed;
+    private final IntHashSet dominators;
+    private final IntIntHashMap coverage;
+    private final IntHashSet pending;
+
+    /**
+     * Generates the greedy dominating set of the graph and starts following its changes.
+     */
+    public DynamicDominatingSet(Graph<?> graph) {
+        this.graph = graph;
+        directed = graph instanceof DirectedGraph;
+        int[] initial = DominatingSetCalculations.greedy(graph.freeze());
+        dominators = new IntHashSet(initial.length);
+        coverage = new IntIntHashMap(graph.getVertexMap().size());
+        pending = new IntHashSet();
+        for(int value : graph.getVertexMap().keySet()) {
+            coverage.put(value, 0);
+        }
+        for(int value : initial) {
+            addDominator(value);
+        }
+        graph.addListener(this);
+    }
+
+    /**
+     * Stops following the graph's changes. The set keeps its last repaired state.
+     */
+    public void detach() {
+        repair();
+        graph.removeListener(this);
+    }
+
+    /**
+     * Brings the set up to date with every change made to the graph since the last repair.
+     */
+    public void repair() {
+        if(pending.isEmpty()) {
+            return;
+        }
+        int[] changed = pending.toArray();
+        pending.clear();
+        Arrays.sort(changed);
+        IntHashSet touched = new IntHashSet(changed.length);
+        for(int value : changed) {
+            if(coverage.containsKey(value)) {
+                touched.add(value);
+            }
+        }
+        for(int value : changed) {
+            if(coverage.getOrDefault(value, 1) == 0) {
+                int dominator = bestDominatorFor(value);
+                addDominator(dominator);
+                touched.add(dominator);
+                forEachOutNeighbor(dominator, touched::add);
+            }
+        }
+        pruneDominatorsCovering(touched);
+    }
+
+    public boolean contains(int value) {
+        repair();
+        return dominators.contains(value);
+    }
+
+    public int size() {
+        repair();
+        return dominators.size();
+    }
+
+    /**
+     * @return the values of the vertices in the repaired set, in ascending order.
+     */
+    public int[] getDominatingSet() {
+        repair();
+        int[] values = dominators.toArray();
+        Arrays.sort(values);
+        return values;
+    }
+
+    /**
+     * @return the vertices in the repaired set, as DominatingSetCalculations.greedy returns them.
+     */
+    public Set<Vertex> getVertices() {
+        Map<Integer, Vertex> vertexMap = graph.getVertexMap();
+        Set<Vertex> vertices = new HashSet<>();
+        for(int value : getDominatingSet()) {
+            vertices.add(vertexMap.get(value));
+        }
+        return vertices;
+    }
+
+    @Override
+    public void vertexAdded(int value) {
+        coverage.put(value, 0);
+        pending.add(value);
+    }
+
+    @Override
+    public void vertexRemoved(int value) {
+        dominators.remove(value);
+        coverage.remove(value);
+        pending.remove(value);
+    }
+
+    @Override
+    public void edgeAdded(int start, int end) {
+        updateCoverage(start, end, 1);
+    }
+
+    @Override
+    public void edgeRemoved(int start, int end) {
+        updateCoverage(start, end, -1);
+    }
+
+    private void updateCoverage(int start, int end, int delta) {
+        if(start == end) {
+            return;
+        }
+        if(dominators.contains(start)) {
+            coverage.addTo(end, delta);
+            pending.add(end);
+        }
+        if(!directed && dominators.contains(end)) {
+            coverage.addTo(start, delta);
+            pending.add(start);
+        }
+    }
+
+    /**
+     * @return whichever of the vertex and its in-neighbors would newly cover the most vertices, the highest valued one
+     * if several are tied.
+     */
+    private int bestDominatorFor(int value) {
+        int[] best = {value, uncoveredInClosedNeighborhood(value)};
+        forEachInNeighbor(value, candidate -> {
+            int gain = uncoveredInClosedNeighborhood(candidate);
+            if(gain > best[1] || (gain == best[1] && candidate > best[0])) {
+                best[0] = candidate;
+                best[1] = gain;
+            }
+        });
+        return best[0];
+    }
+
+    private int uncoveredInClosedNeighborhood(int value) {
+        int[] count = {coverage.getOrDefault(value, 0) == 0 ? 1 : 0};
+        forEachOutNeighbor(value, neighbor -> {
+            if(coverage.getOrDefault(neighbor, 0) == 0) {
+                count[0]++;
+            }
+        });
+        return count[0];
+    }
+
+    /**
+     * Drops the redundant dominators among the touched vertices and their in-neighbors, lowest degree first.
+     */
+    private void pruneDominatorsCovering(IntHashSet touched) {
+        IntHashSet candidates = new IntHashSet();
+        touched.forEach(value -> {
+            if(dominators.contains(value)) {
+                candidates.add(value);
+            }
+            forEachInNeighbor(value, neighbor -> {
+                if(dominators.contains(neighbor)) {
+                    candidates.add(neighbor);
+                }
+            });
+        });
+        long[] byDegree = new long[candidates.size()];
+        int[] values = candidates.toArray();
+        for(int i = 0; i < values.length; i++) {
+            byDegree[i] = ((long) graph.getVertexMap().get(values[i]).degree() << 32) | values[i];
+        }
+        Arrays.sort(byDegree);
+        for(long entry : byDegree) {
+            int value = (int) entry;
+            if(isRedundant(value)) {
+                removeDominator(value);
+            }
+        }
+    }
+
+    private boolean isRedundant(int dominator) {
+        if(coverage.getOrDefault(dominator, 0) < 2) {
+            return false;
+        }
+        boolean[] redundant = {true};
+        forEachOutNeighbor(dominator, neighbor -> {
+            if(coverage.getOrDefault(neighbor, 0) < 2) {
+                redundant[0] = false;
+            }
+        });
+        return redundant[0];
+    }
+
+    private void addDominator(int value) {
+        dominators.add(value);
+        coverage.addTo(value, 1);
+        forEachOutNeighbor(value, neighbor -> coverage.addTo(neighbor, 1));
+    }
+
+    private void removeDominator(int value) {
+        dominators.remove(value);
+        coverage.addTo(value, -1);
+        forEachOutNeighbor(value, neighbor -> coverage.addTo(neighbor, -1));
+    }
+
+    /**
+     * Passes the value of every out-neighbor of the given vertex other than itself.
+     */
+    private void forEachOutNeighbor(int value, IntConsumer action) {
+        graph.getVertexMap().get(value).forEachNeighbor(neighbor -> {
+            if(neighbor != value) {
+                action.accept(neighbor);
+            }
+        });
+    }
+
+    /**
+     * Passes the value of every vertex with an edge to the given vertex. In an UndirectedGraph these are its
+     * neighbors.
+     */
+    private void forEachInNeighbor(int value, IntConsumer action) {
+        if(!directed) {
+            forEachOutNeighbor(value, action);
+            return;
+        }
+        Set<Edge> incidentEdges = graph.getEdgeMap().get(value);
+        if(incidentEdges == null) {
+            return;
+        }
+        for(Edge edge : incidentEdges) {
+            if(edge.getB() == value && edge.getA() != value) {
+                action.accept(edge.getA());
+            }
+        }
+    }
+}
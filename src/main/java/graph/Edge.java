@@ -1,7 +1,5 @@
 package graph;
 
-import java.util.Objects;
-
 /**
  * POJO storing origin and destination vertex references of edges within a graph. Current implementation does not
  * utilize weight, but the field is included for future use.
@@ -51,7 +49,7 @@ public class Edge {
 
     @Override
     public int hashCode() {
-        return Objects.hash(a, b);
+        return 31 * a + b;
     }
 
     @Override
@@ -0,0 +1,89 @@
+package graph;
+
+import java.util.Arrays;
+
+/**
+ * Binary max-heap of vertex indices of a snapshot, ordered by the gain recorded when each vertex was pushed and then
+ * by the higher vertex value, matching the tie-breaking of the greedy dominating set generators.
+ *
+ * Entries are never updated in place. Since gains only ever go down while a dominating set is being built, a caller
+ * that pops an entry whose recorded gain is higher than the vertex's current gain simply pushes it again with the
+ * current gain; an entry whose recorded gain is still current is guaranteed to be the true maximum.
+ */
+
+final class GainQueue {
+    private final int[] ids;
+    private int[] vertices;
+    private int[] gains;
+    private int size;
+
+    /**
+     * @param ids The value of every vertex, indexed by dense index. The array is shared, not copied.
+     */
+    GainQueue(int[] ids, int initialCapacity) {
+        this.ids = ids;
+        vertices = new int[Math.max(initialCapacity, 1)];
+        gains = new int[vertices.length];
+        size = 0;
+    }
+
+    void push(int vertex, int gain) {
+        if(size == vertices.length) {
+            vertices = Arrays.copyOf(vertices, size * 2);
+            gains = Arrays.copyOf(gains, size * 2);
+        }
+        int position = size++;
+        while(position > 0) {
+            int parent = (position - 1) >>> 1;
+            if(!isAbove(vertex, gain, vertices[parent], gains[parent])) {
+                break;
+            }
+            vertices[position] = vertices[parent];
+            gains[position] = gains[parent];
+            position = parent;
+        }
+        vertices[position] = vertex;
+        gains[position] = gain;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int topVertex() {
+        return vertices[0];
+    }
+
+    int topGain() {
+        return gains[0];
+    }
+
+    void pop() {
+        int vertex = vertices[--size];
+        int gain = gains[size];
+        int position = 0;
+        int half = size >>> 1;
+        while(position < half) {
+            int child = 2 * position + 1;
+            int right = child + 1;
+            if(right < size && isAbove(vertices[right], gains[right], vertices[child], gains[child])) {
+                child = right;
+            }
+            if(!isAbove(vertices[child], gains[child], vertex, gain)) {
+                break;
+            }
+            vertices[position] = vertices[child];
+            gains[position] = gains[child];
+            position = child;
+        }
+        vertices[position] = vertex;
+        gains[position] = gain;
+    }
+
+    private boolean isAbove(int vertex, int gain, int otherVertex, int otherGain) {
+        if(gain != otherGain) {
+            return gain > otherGain;
+        }
+        return ids[vertex] > ids[otherVertex];
+    }
+}
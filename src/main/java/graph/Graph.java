@@ -1,11 +1,19 @@
 package graph;
 
 import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
 
 public abstract class Graph <G extends Graph> {
+    private static final Histogram ADD_VERTEX_TIMES = Metrics.histogram(Metrics.ADD_VERTEX);
+    private static final Histogram REMOVE_VERTEX_TIMES = Metrics.histogram(Metrics.REMOVE_VERTEX);
+    private static final Histogram ADD_EDGE_TIMES = Metrics.histogram(Metrics.ADD_EDGE);
+    private static final Histogram CLONE_TIMES = Metrics.histogram(Metrics.CLONE);
+
     protected final Map<Integer,Vertex> vertices;
     protected final Map<Integer,Set<Edge>> edges;
     protected int numEdges;
+    private final List<GraphListener> listeners = new ArrayList<>();
+    private final AtomicLong modificationStamp = new AtomicLong();
 
     public Graph() {
         vertices = new HashMap<>();
@@ -13,37 +21,110 @@ public abstract class Graph <G extends Graph> {
         numEdges = 0;
     }
 
+    /**
+     * Creates a graph whose vertex and edge maps are sized to hold the expected number of vertices without resizing.
+     */
+    protected Graph(int expectedNumVertices) {
+        this(new HashMap<>(GraphBuilder.hashCapacityFor(expectedNumVertices)),
+                new HashMap<>(GraphBuilder.hashCapacityFor(expectedNumVertices)));
+    }
+
+    /**
+     * Creates a graph that stores its vertices and edges in the given empty maps.
+     */
+    protected Graph(Map<Integer, Vertex> vertices, Map<Integer, Set<Edge>> edges) {
+        this.vertices = vertices;
+        this.edges = edges;
+        numEdges = 0;
+    }
+
     public void addVertex(int value) {
+        long start = Metrics.startTimer();
         checkVertexAdditionIsValid(value);
         createAndAddVertex(value);
+        notifyVertexAdded(value);
+        recordModification();
+        ADD_VERTEX_TIMES.recordSince(start);
     }
 
     public void removeVertex(int vertexValue) {
-        confirmVertexRemovalIsValid(vertexValue);
+        long start = Metrics.startTimer();
+        confirmVertexExists(vertexValue);
         removeAllConnectedEdges(vertexValue);
         removeVertexFromGraph(vertexValue);
+        notifyVertexRemoved(vertexValue);
+        recordModification();
+        REMOVE_VERTEX_TIMES.recordSince(start);
     }
 
     public void addEdge(int start, int end) {
+        long startTime = Metrics.startTimer();
         Edge edge = createEdge(start, end);
         confirmEdgeAdditionIsValid(edge);
         addEdgeToGraph(edge);
-        numEdges++;
+        addToNumEdges(1);
+        notifyEdgeAdded(edge);
+        recordModification();
+        ADD_EDGE_TIMES.recordSince(startTime);
     }
 
     public abstract void removeEdge(int a, int b);
 
     /**
      * Performs a breadth first search to determine whether the graph is connected, every vertex in the
-     * graph has a path to every other vertex in the graph.
+     * graph has a path to every other vertex in the graph. The search runs on a snapshot taken by freeze(), from its
+     * vertex with the lowest value.
      * @return returns true if the graph is connected and false if not.
      */
     public boolean isConnected() {
         return breadthFirstSearch();
     }
 
+    /**
+     * Performs a breadth first search from the vertex of the given value, following out-edges in a DirectedGraph.
+     * @return the number of hops from the source to every vertex, with -1 for vertices the source cannot reach. Entries
+     * are in ascending order of vertex value, matching the dense indices of freeze().
+     */
+    public int[] bfsLevels(int source) {
+        CompactGraph snapshot = freeze();
+        int index = snapshot.indexOf(source);
+        if(index < 0) {
+            throw new IllegalArgumentException("Vertex " + source + " does not exist.");
+        }
+        return snapshot.bfsLevels(index);
+    }
+
+    /**
+     * Finds the components of the graph. Unlike isConnected, an empty graph is allowed and has no components.
+     * @return the connected components of an UndirectedGraph, or the strongly connected components of a DirectedGraph.
+     * Vertices are identified by the dense indices of freeze(), in ascending order of vertex value.
+     */
+    public ConnectedComponents connectedComponents() {
+        return freeze().connectedComponents();
+    }
+
     public abstract G clone();
 
+    /**
+     * Registers a listener to be told about every vertex and edge later added to or removed from this graph. Clones
+     * of the graph do not inherit its listeners.
+     */
+    public void addListener(GraphListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(GraphListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * @return a read-only CompactGraph snapshot of the current vertices and edges. Later changes to this graph are not
+     * reflected in the snapshot.
+     */
+    public CompactGraph freeze() {
+        return CompactGraph.of(this);
+    }
+
     public Map<Integer, Vertex> getVertexMap() {
         return vertices;
     }
@@ -56,8 +137,43 @@ public abstract class Graph <G extends Graph> {
         return numEdges;
     }
 
+    /**
+     * @return a number that grows every time a vertex or edge is added to or removed from the graph, and never
+     * otherwise, so a result calculated while it had one value still holds for as long as it keeps it. The stamp is
+     * advanced once a change is complete, so a calculation that reads the stamp before taking a snapshot never pairs
+     * it with an older state of the graph.
+     */
+    public long getModificationStamp() {
+        return modificationStamp.get();
+    }
+
     protected abstract Edge createEdge(int start, int end);
 
+    /**
+     * @return a new vertex of the given value, with room for the expected number of neighbors.
+     */
+    protected Vertex createVertex(int value, int expectedDegree) {
+        return new Vertex(value, expectedDegree);
+    }
+
+    /**
+     * @return a new set to hold the edges touching one vertex, with room for the expected number of edges.
+     */
+    protected Set<Edge> createEdgeSet(int expectedSize) {
+        return new HashSet<>(GraphBuilder.hashCapacityFor(expectedSize));
+    }
+
+    protected void addToNumEdges(int delta) {
+        numEdges += delta;
+    }
+
+    /**
+     * Advances the modification stamp. Called after every completed change to the graph's vertices or edges.
+     */
+    protected void recordModification() {
+        modificationStamp.incrementAndGet();
+    }
+
     private void checkVertexAdditionIsValid(int value) {
         checkVertexDoesNotAlreadyExist(value);
         checkValueIsPositive(value);
@@ -80,11 +196,11 @@ public abstract class Graph <G extends Graph> {
     }
 
     private void createAndAddVertex(int value) {
-        Vertex vertex = new Vertex(value);
+        Vertex vertex = createVertex(value, 0);
         vertices.put(value, vertex);
     }
 
-    private void confirmVertexRemovalIsValid(int vertexValue) {
+    private void confirmVertexExists(int vertexValue) {
         if(!vertexIsInMap(vertexValue)) {
             throw new IllegalArgumentException("Vertex " + vertexValue + " does not exist.");
         }
@@ -154,7 +270,7 @@ public abstract class Graph <G extends Graph> {
     private void addReferenceToMap(int reference, Edge edge) {
         Set<Edge> edgeList;
         if(!edges.containsKey(reference)) {
-            edgeList = new HashSet<>();
+            edgeList = createEdgeSet(0);
         } else {
             edgeList = edges.get(reference);
         }
@@ -178,74 +294,61 @@ public abstract class Graph <G extends Graph> {
 
     protected abstract void removeNeighborReferenceFromVertices(Edge edge);
 
-    protected boolean breadthFirstSearch() {
-        checkForEmptyGraph();
-        Queue<Vertex> queue = new LinkedList<>();
-        Set<Vertex> seenVertices = new HashSet<>();
-        prepareQueueAndSeen(queue, seenVertices);
-
-        return performBFS(queue, seenVertices);
+    boolean hasListeners() {
+        return !listeners.isEmpty();
     }
 
-    private void checkForEmptyGraph() {
-        if(vertices.size() == 0) {
-            throw new RuntimeException("There are no vertices in the graph.");
+    void notifyVertexAdded(int value) {
+        for(GraphListener listener : listeners) {
+            listener.vertexAdded(value);
         }
     }
 
-    private void prepareQueueAndSeen(Queue<Vertex> queue, Set<Vertex> seenVertices) {
-        Vertex firstVertex = getFirstVertex();
-        queue.offer(firstVertex);
-        seenVertices.add(firstVertex);
-
-    }
-
-    private Vertex getFirstVertex() {
-        return vertices.values().stream().findFirst().orElse(null);
-    }
-
-    private boolean performBFS(Queue<Vertex> queue, Set<Vertex> seenVertices) {
-        while(!queue.isEmpty()) {
-            Vertex vertex = queue.poll();
-            if(allVerticesInGraphHaveBeenSeen(seenVertices)) {
-                return true;
-            }
-            addNeighborsToQueue(vertex, seenVertices, queue);
+    private void notifyVertexRemoved(int value) {
+        for(GraphListener listener : listeners) {
+            listener.vertexRemoved(value);
         }
-        return false;
-    }
-    private boolean allVerticesInGraphHaveBeenSeen(Set<Vertex> visited) {
-        return visited.size() == vertices.size();
     }
 
-    private void addNeighborsToQueue(Vertex vertex, Set<Vertex> seenVertices, Queue<Vertex> queue) {
-        for(Vertex neighbor : vertex.getNeighbors()) {
-            if(!seenVertices.contains(neighbor)) {
-                seenVertices.add(neighbor);
-                queue.offer(neighbor);
-            }
+    void notifyEdgeAdded(Edge edge) {
+        for(GraphListener listener : listeners) {
+            listener.edgeAdded(edge.getA(), edge.getB());
         }
     }
 
-    protected void addVerticesToClone(G clone) {
-        for(int i : getVertexMap().keySet()) {
-            clone.addVertex(i);
+    protected void notifyEdgeRemoved(Edge edge) {
+        for(GraphListener listener : listeners) {
+            listener.edgeRemoved(edge.getA(), edge.getB());
         }
     }
 
-    protected void addEdgesToClone(G clone) {
-        for(Set<Edge> edgeSet : getEdgeMap().values()) {
-            addEdgesFromSetToClone(edgeSet, clone);
-        }
+    /**
+     * Takes the emptiness check and the start vertex from the snapshot rather than the live maps, so a concurrent graph
+     * changed between the two reads is still searched consistently.
+     */
+    protected boolean breadthFirstSearch() {
+        return freeze().isConnected();
     }
 
-    protected void addEdgesFromSetToClone(Set<Edge> edgeSet, G clone) {
-        for(Edge edge : edgeSet) {
-            Map<Integer, Set<Edge>> edgeMap = clone.getEdgeMap();
-            Set<Edge> edges = edgeMap.get(edge.getA());
-            if(edges == null || !edges.contains(edge)) {
-                clone.addEdge(edge.getA(), edge.getB());
+    /**
+     * Adds every vertex and edge of this graph to an empty graph in a single GraphBuilder pass.
+     * @return the graph passed in.
+     */
+    protected G copyInto(G clone) {
+        long start = Metrics.startTimer();
+        GraphBuilder builder = new GraphBuilder(vertices.size(), getNumEdges());
+        for(int value : vertices.keySet()) {
+            builder.addVertex(value);
+        }
+        for(Map.Entry<Integer, Set<Edge>> entry : edges.entrySet()) {
+            for(Edge edge : entry.getValue()) {
+                if(edge.getA() == entry.getKey()) {
+                    builder.addEdge(edge.getA(), edge.getB());
+                }
             }
         }
+        builder.buildInto(clone);
+        CLONE_TIMES.recordSince(start);
+        return clone;
     }
 }
@@ -0,0 +1,339 @@
+package graph;
+
+import java.util.Arrays;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+/**
+ * Collects vertices and edges as raw ints and builds a DirectedGraph or UndirectedGraph from them in one pass, instead
+ * of validating and inserting one edge at a time through Graph.addEdge.
+ *
+ * Validation is deferred until the graph is built. The endpoints of every edge are added as vertices, and repeated
+ * vertices and edges are silently dropped, as is the reverse of an edge already added when building an
+ * UndirectedGraph. Vertex values are given dense indices by an IdMapper, in ascending order of value, and edges are
+ * deduplicated by sorting them as packed pairs of indices, after which every vertex's neighbor set and edge set is
+ * allocated at its final size and filled independently of every other vertex's, on the common fork-join pool for
+ * large graphs. Vertices are inserted in the order they were first added.
+ *
+ * buildCompact skips the Graph altogether and lays the same vertices and edges out as a CompactGraph, for data sets
+ * that only need to be read.
+ */
+
+public final class GraphBuilder {
+    private static final int PARALLEL_THRESHOLD = 1 << 16;
+
+    private final IntArrayList vertices;
+    private final IntArrayList edgePairs;
+
+    public GraphBuilder() {
+        this(16, 16);
+    }
+
+    public GraphBuilder(int expectedNumVertices, int expectedNumEdges) {
+        vertices = new IntArrayList(expectedNumVertices);
+        edgePairs = new IntArrayList(2 * expectedNumEdges);
+    }
+
+    public GraphBuilder addVertex(int value) {
+        vertices.add(value);
+        return this;
+    }
+
+    public GraphBuilder addEdge(int start, int end) {
+        edgePairs.add(start);
+        edgePairs.add(end);
+        return this;
+    }
+
+    /**
+     * Adds an edge from each entry of starts to the entry of ends at the same position.
+     */
+    public GraphBuilder addEdges(int[] starts, int[] ends) {
+        if(starts.length != ends.length) {
+            throw new IllegalArgumentException("Edge batches must have the same number of starts and ends.");
+        }
+        for(int i = 0; i < starts.length; i++) {
+            addEdge(starts[i], ends[i]);
+        }
+        return this;
+    }
+
+    /**
+     * Adds an edge for each consecutive pair of values, in the start, end order an edge list file is read in.
+     */
+    public GraphBuilder addEdgePairs(int[] pairs) {
+        if(pairs.length % 2 != 0) {
+            throw new IllegalArgumentException("Edge pairs must have an even number of values.");
+        }
+        edgePairs.addAll(pairs);
+        return this;
+    }
+
+    public DirectedGraph buildDirected() {
+        return buildInto(new DirectedGraph(expectedNumVertices()));
+    }
+
+    public UndirectedGraph buildUndirected() {
+        return buildInto(new UndirectedGraph(expectedNumVertices()));
+    }
+
+    /**
+     * Adds the collected vertices and edges to an empty graph, storing them exactly as Graph.addVertex and
+     * Graph.addEdge would. Listeners registered with the graph are told about every vertex and then every edge.
+     * @return the graph passed in.
+     */
+    public <G extends Graph<?>> G buildInto(G graph) {
+        if(!graph.getVertexMap().isEmpty()) {
+            throw new IllegalArgumentException("GraphBuilder can only build into an empty graph.");
+        }
+        boolean directed = graph instanceof DirectedGraph;
+        IdMapper ids = new IdMapper(expectedNumVertices());
+        int[] pairs = mapEdgePairs(ids);
+        int[] values = ids.toExternalArray();
+        int[] denseIndices = ids.sortByExternalId();
+        int[] sortedValues = ids.toExternalArray();
+        long[] edges = sortedUniqueEdges(pairs, denseIndices, directed);
+        Layout layout = new Layout(edges, sortedValues.length);
+
+        Vertex[] vertexObjects = new Vertex[values.length];
+        for(int i = 0; i < values.length; i++) {
+            int index = denseIndices[i];
+            vertexObjects[index] = graph.createVertex(values[i], layout.numNeighbors(index, directed));
+            graph.vertices.put(values[i], vertexObjects[index]);
+        }
+        Edge[] edgeObjects = new Edge[edges.length];
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        Set<Edge>[] edgeSets = new Set[values.length];
+        parallelIfLarge(edges.length, IntStream.range(0, edges.length)).forEach(i -> edgeObjects[i] =
+                graph.createEdge(sortedValues[startOf(edges[i])], sortedValues[endOf(edges[i])]));
+        parallelIfLarge(edges.length, IntStream.range(0, values.length))
+                .forEach(index -> edgeSets[index] = layout.connect(index, vertexObjects, edgeObjects, directed, graph));
+        for(int index = 0; index < sortedValues.length; index++) {
+            if(edgeSets[index] != null) {
+                graph.edges.put(sortedValues[index], edgeSets[index]);
+            }
+        }
+        graph.addToNumEdges(edges.length);
+        if(graph.hasListeners()) {
+            for(int value : values) {
+                graph.notifyVertexAdded(value);
+            }
+            for(Edge edge : edgeObjects) {
+                graph.notifyEdgeAdded(edge);
+            }
+        }
+        if(values.length > 0) {
+            graph.recordModification();
+        }
+        return graph;
+    }
+
+    /**
+     * Lays the collected vertices and edges out as a read-only snapshot, holding exactly what freezing the graph built
+     * by buildDirected or buildUndirected would, without creating any Vertex or Edge objects.
+     */
+    public CompactGraph buildCompact(boolean directed) {
+        IdMapper ids = new IdMapper(expectedNumVertices());
+        int[] pairs = mapEdgePairs(ids);
+        int[] denseIndices = ids.sortByExternalId();
+        long[] edges = sortedUniqueEdges(pairs, denseIndices, directed);
+        return new Layout(edges, ids.size()).toCompactGraph(ids.toExternalArray(), directed);
+    }
+
+    private int expectedNumVertices() {
+        return Math.max(vertices.size(), edgePairs.size() / 2);
+    }
+
+    /**
+     * Maps every vertex, then both endpoints of every edge, to an internal id in the order they were added.
+     * @return the internal ids of the edge endpoints, in the order they were added.
+     */
+    private int[] mapEdgePairs(IdMapper ids) {
+        for(int i = 0; i < vertices.size(); i++) {
+            ids.map(checkValue(vertices.get(i)));
+        }
+        int[] pairs = new int[edgePairs.size()];
+        for(int i = 0; i < pairs.length; i++) {
+            pairs[i] = ids.map(checkValue(edgePairs.get(i)));
+        }
+        return pairs;
+    }
+
+    private static int checkValue(int value) {
+        if(value < 0) {
+            throw new IllegalArgumentException("Vertex value must be positive.");
+        }
+        return value;
+    }
+
+    /**
+     * @param denseIndices The dense index of every internal id the pairs refer to.
+     * @return every distinct edge as its start and end dense index packed into a long, in ascending order.
+     */
+    private static long[] sortedUniqueEdges(int[] pairs, int[] denseIndices, boolean directed) {
+        long[] keys = new long[pairs.length / 2];
+        parallelIfLarge(keys.length, IntStream.range(0, keys.length)).forEach(i -> {
+            int start = denseIndices[pairs[2 * i]];
+            int end = denseIndices[pairs[2 * i + 1]];
+            if(!directed && start > end) {
+                keys[i] = pack(end, start);
+            } else {
+                keys[i] = pack(start, end);
+            }
+        });
+        Arrays.parallelSort(keys);
+        int numUnique = 0;
+        for(int i = 0; i < keys.length; i++) {
+            if(numUnique == 0 || keys[i] != keys[numUnique - 1]) {
+                keys[numUnique++] = keys[i];
+            }
+        }
+        return Arrays.copyOf(keys, numUnique);
+    }
+
+    private static IntStream parallelIfLarge(int numEdges, IntStream stream) {
+        return numEdges < PARALLEL_THRESHOLD ? stream : stream.parallel();
+    }
+
+    /**
+     * @return the table capacity a default HashMap or HashSet grows to while the expected number of entries is added
+     * one at a time, so a presized table iterates in the same order as one that grew.
+     */
+    static int hashCapacityFor(int expectedSize) {
+        int capacity = 16;
+        while(expectedSize > capacity / 4 * 3 && capacity < 1 << 30) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    private static long pack(int start, int end) {
+        return ((long) start << 32) | (end & 0xFFFFFFFFL);
+    }
+
+    private static int startOf(long key) {
+        return (int) (key >>> 32);
+    }
+
+    private static int endOf(long key) {
+        return (int) key;
+    }
+
+    /**
+     * Dense-index view of the deduplicated edges: the endpoints of edge i are at starts[i] and ends[i], the edges
+     * leaving vertex v are the contiguous range outOffsets[v] to outOffsets[v + 1], and the edges arriving at v are
+     * listed in inEdges between inOffsets[v] and inOffsets[v + 1], both in ascending order of the other endpoint.
+     */
+    private static final class Layout {
+        private final int[] starts;
+        private final int[] ends;
+        private final int[] outOffsets;
+        private final int[] inOffsets;
+        private final int[] inEdges;
+
+        private Layout(long[] edges, int numVertices) {
+            starts = new int[edges.length];
+            ends = new int[edges.length];
+            parallelIfLarge(edges.length, IntStream.range(0, edges.length)).forEach(i -> {
+                starts[i] = startOf(edges[i]);
+                ends[i] = endOf(edges[i]);
+            });
+            outOffsets = new int[numVertices + 1];
+            inOffsets = new int[numVertices + 1];
+            for(int i = 0; i < edges.length; i++) {
+                outOffsets[starts[i] + 1]++;
+                inOffsets[ends[i] + 1]++;
+            }
+            for(int v = 0; v < numVertices; v++) {
+                outOffsets[v + 1] += outOffsets[v];
+                inOffsets[v + 1] += inOffsets[v];
+            }
+            inEdges = new int[edges.length];
+            int[] next = Arrays.copyOf(inOffsets, numVertices);
+            for(int i = 0; i < edges.length; i++) {
+                inEdges[next[ends[i]]++] = i;
+            }
+        }
+
+        /**
+         * Writes the out-edges, and for a directed snapshot the in-edges, into CSR arrays. An undirected vertex lists
+         * the starts of the edges arriving from lower indices and then the ends of the edges it starts, which keeps
+         * its neighbors in ascending order and a self-loop listed once.
+         */
+        private CompactGraph toCompactGraph(int[] ids, boolean directed) {
+            int numVertices = ids.length;
+            if(directed) {
+                int[] inTargets = new int[inEdges.length];
+                for(int i = 0; i < inEdges.length; i++) {
+                    inTargets[i] = starts[inEdges[i]];
+                }
+                return new CompactGraph(true, ids, outOffsets, ends, inOffsets, inTargets, ends.length);
+            }
+            int[] offsets = new int[numVertices + 1];
+            for(int vertex = 0; vertex < numVertices; vertex++) {
+                offsets[vertex + 1] = offsets[vertex] + numNeighbors(vertex, false);
+            }
+            int[] targets = new int[offsets[numVertices]];
+            parallelIfLarge(ends.length, IntStream.range(0, numVertices)).forEach(vertex -> {
+                int position = offsets[vertex];
+                for(int i = inOffsets[vertex]; i < inOffsets[vertex + 1]; i++) {
+                    if(starts[inEdges[i]] != vertex) {
+                        targets[position++] = starts[inEdges[i]];
+                    }
+                }
+                System.arraycopy(ends, outOffsets[vertex], targets, position, outOffsets[vertex + 1] - outOffsets[vertex]);
+            });
+            return new CompactGraph(false, ids, offsets, targets, offsets, targets, ends.length);
+        }
+
+        private int numNeighbors(int vertex, boolean directed) {
+            int outDegree = outOffsets[vertex + 1] - outOffsets[vertex];
+            return directed ? outDegree : outDegree + numIncomingFromOthers(vertex);
+        }
+
+        private int numIncomingFromOthers(int vertex) {
+            int count = 0;
+            for(int i = inOffsets[vertex]; i < inOffsets[vertex + 1]; i++) {
+                if(starts[inEdges[i]] != vertex) {
+                    count++;
+                }
+            }
+            return count;
+        }
+
+        /**
+         * Fills in the neighbors of one vertex and creates the set of edges touching it, adding the edges in sorted
+         * order as a sequence of Graph.addEdge calls would. Only that vertex's own sets are written, so vertices can be
+         * connected concurrently.
+         * @return the vertex's edge set, or null if no edge touches it.
+         */
+        private Set<Edge> connect(int vertex, Vertex[] vertexObjects, Edge[] edgeObjects, boolean directed,
+                                  Graph<?> graph) {
+            int numIncidentEdges = outOffsets[vertex + 1] - outOffsets[vertex] + numIncomingFromOthers(vertex);
+            if(numIncidentEdges == 0) {
+                return null;
+            }
+            Set<Edge> edgeSet = graph.createEdgeSet(numIncidentEdges);
+            int out = outOffsets[vertex];
+            int in = inOffsets[vertex];
+            while(out < outOffsets[vertex + 1] || in < inOffsets[vertex + 1]) {
+                if(in == inOffsets[vertex + 1]
+                        || (out < outOffsets[vertex + 1] && out < inEdges[in])) {
+                    edgeSet.add(edgeObjects[out]);
+                    vertexObjects[vertex].addNeighbor(vertexObjects[ends[out]]);
+                    out++;
+                    continue;
+                }
+                int edge = inEdges[in++];
+                if(starts[edge] == vertex) {
+                    continue;
+                }
+                edgeSet.add(edgeObjects[edge]);
+                if(!directed) {
+                    vertexObjects[vertex].addNeighbor(vertexObjects[starts[edge]]);
+                }
+            }
+            return edgeSet;
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package graph;
+
+/**
+ * Receives the changes made to a Graph it has been registered with through Graph.addListener. Each method is called
+ * after the change has been applied. Removing a vertex first removes every edge touching it, one edgeRemoved call at a
+ * time, before vertexRemoved is called. Edges of an UndirectedGraph are reported with the lower vertex value first.
+ */
+
+public interface GraphListener {
+    default void vertexAdded(int value) {
+    }
+
+    default void vertexRemoved(int value) {
+    }
+
+    default void edgeAdded(int start, int end) {
+    }
+
+    default void edgeRemoved(int start, int end) {
+    }
+}
@@ -0,0 +1,102 @@
+package graph;
+
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Write locks of a concurrent graph. Each vertex value maps to one of a fixed set of striped locks, and a change
+ * touching a vertex or an edge holds the stripes of its endpoints, always taken in stripe order so two changes can
+ * never wait on each other. Those changes also share the read side of a structure lock, whose write side is taken
+ * alone by vertex removal, since removing a vertex touches every edge of the vertex at once. Readers take no locks.
+ */
+
+final class GraphLocks {
+    private static final int NUM_STRIPES = 256;
+
+    private final ReentrantReadWriteLock structureLock = new ReentrantReadWriteLock();
+    private final ReentrantLock[] stripes = new ReentrantLock[NUM_STRIPES];
+
+    GraphLocks() {
+        for(int i = 0; i < NUM_STRIPES; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * Runs the change while holding the lock of the vertex.
+     */
+    void withVertexLocked(int value, Runnable change) {
+        lockVertex(value);
+        try {
+            change.run();
+        } finally {
+            unlockVertex(value);
+        }
+    }
+
+    /**
+     * Runs the change while holding the locks of both endpoints of the edge.
+     */
+    void withEdgeLocked(int a, int b, Runnable change) {
+        lockEdge(a, b);
+        try {
+            change.run();
+        } finally {
+            unlockEdge(a, b);
+        }
+    }
+
+    /**
+     * Runs the change while holding the structure lock, excluding every other change.
+     */
+    void withAllLocked(Runnable change) {
+        lockAll();
+        try {
+            change.run();
+        } finally {
+            unlockAll();
+        }
+    }
+
+    private void lockVertex(int value) {
+        structureLock.readLock().lock();
+        stripes[stripeOf(value)].lock();
+    }
+
+    private void unlockVertex(int value) {
+        stripes[stripeOf(value)].unlock();
+        structureLock.readLock().unlock();
+    }
+
+    private void lockEdge(int a, int b) {
+        structureLock.readLock().lock();
+        int first = Math.min(stripeOf(a), stripeOf(b));
+        int second = Math.max(stripeOf(a), stripeOf(b));
+        stripes[first].lock();
+        if(second != first) {
+            stripes[second].lock();
+        }
+    }
+
+    private void unlockEdge(int a, int b) {
+        int first = Math.min(stripeOf(a), stripeOf(b));
+        int second = Math.max(stripeOf(a), stripeOf(b));
+        if(second != first) {
+            stripes[second].unlock();
+        }
+        stripes[first].unlock();
+        structureLock.readLock().unlock();
+    }
+
+    private void lockAll() {
+        structureLock.writeLock().lock();
+    }
+
+    private void unlockAll() {
+        structureLock.writeLock().unlock();
+    }
+
+    private static int stripeOf(int value) {
+        return IntHashSet.mix(value) & (NUM_STRIPES - 1);
+    }
+}
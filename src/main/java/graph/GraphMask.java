@@ -0,0 +1,85 @@
+package graph;
+
+import java.util.BitSet;
+
+/**
+ * Removable-vertex view over a read-only CompactGraph, letting an algorithm delete vertices without copying or
+ * modifying the snapshot. A deleted vertex is marked covered in a BitSet, and every vertex keeps a live degree, the
+ * number of its out-neighbors other than itself that are still uncovered.
+ *
+ * Checking whether a vertex is covered and reading its live degree are constant time. Covering a vertex is constant
+ * time apart from decrementing the live degree of each of its in-neighbors.
+ */
+
+public final class GraphMask {
+    private final CompactGraph graph;
+    private final BitSet covered;
+    private final int[] liveDegrees;
+    private int numCovered;
+
+    public GraphMask(CompactGraph graph) {
+        this.graph = graph;
+        covered = new BitSet(graph.numVertices());
+        liveDegrees = new int[graph.numVertices()];
+        numCovered = 0;
+        for(int vertex = 0; vertex < graph.numVertices(); vertex++) {
+            liveDegrees[vertex] = countOutNeighborsOtherThanSelf(vertex);
+        }
+    }
+
+    public CompactGraph graph() {
+        return graph;
+    }
+
+    public boolean isCovered(int index) {
+        return covered.get(index);
+    }
+
+    /**
+     * Marks the vertex at the given index as covered, removing it from the live degree of each of its in-neighbors.
+     * @return true if the vertex was not already covered.
+     */
+    public boolean cover(int index) {
+        if(covered.get(index)) {
+            return false;
+        }
+        covered.set(index);
+        numCovered++;
+        for(int i = graph.inStart(index); i < graph.inEnd(index); i++) {
+            int inNeighbor = graph.inTarget(i);
+            if(inNeighbor != index) {
+                liveDegrees[inNeighbor]--;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return the number of out-neighbors of the vertex at the given index, other than itself, that are not covered.
+     */
+    public int liveDegree(int index) {
+        return liveDegrees[index];
+    }
+
+    public int numCovered() {
+        return numCovered;
+    }
+
+    public int numUncovered() {
+        return graph.numVertices() - numCovered;
+    }
+
+    public boolean allCovered() {
+        return numCovered == graph.numVertices();
+    }
+
+    private int countOutNeighborsOtherThanSelf(int vertex) {
+        int count = 0;
+        for(int i = graph.outStart(vertex); i < graph.outEnd(vertex); i++) {
+            if(graph.outTarget(i) != vertex) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
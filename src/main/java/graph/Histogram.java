@@ -0,0 +1,61 @@
+package graph;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Distribution of non-negative values registered with Metrics, usually latencies in nanoseconds. Values are counted in
+ * power-of-two buckets, bucket b holding the values of b significant bits, so recording is a few atomic adds whatever
+ * the range of values, and percentiles are accurate to within a factor of two. Recording is dropped while metrics are
+ * disabled, and negative values are recorded as 0.
+ */
+
+public final class Histogram {
+    static final int NUM_BUCKETS = Long.SIZE + 1;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(NUM_BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    Histogram() {
+    }
+
+    public void record(long value) {
+        if(Metrics.isEnabled()) {
+            long clamped = Math.max(value, 0);
+            buckets.incrementAndGet(Long.SIZE - Long.numberOfLeadingZeros(clamped));
+            count.increment();
+            sum.add(clamped);
+            max.accumulate(clamped);
+        }
+    }
+
+    /**
+     * Records the time elapsed since a timer was started, or nothing if it was started while metrics were disabled.
+     * @param start The value Metrics.startTimer returned.
+     */
+    public void recordSince(long start) {
+        if(start != Metrics.NOT_TIMING) {
+            record(System.nanoTime() - start);
+        }
+    }
+
+    public HistogramSnapshot snapshot() {
+        long[] counts = new long[NUM_BUCKETS];
+        for(int bucket = 0; bucket < NUM_BUCKETS; bucket++) {
+            counts[bucket] = buckets.get(bucket);
+        }
+        return new HistogramSnapshot(counts, count.sum(), sum.sum(), max.get());
+    }
+
+    void reset() {
+        for(int bucket = 0; bucket < NUM_BUCKETS; bucket++) {
+            buckets.set(bucket, 0);
+        }
+        count.reset();
+        sum.reset();
+        max.reset();
+    }
+}
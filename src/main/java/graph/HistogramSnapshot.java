@@ -0,0 +1,77 @@
+package graph;
+
+/**
+ * Copy of a Histogram at one moment.
+ */
+
+public final class HistogramSnapshot {
+    private final long[] buckets;
+    private final long count;
+    private final long sum;
+    private final long max;
+
+    HistogramSnapshot(long[] buckets, long count, long sum, long max) {
+        this.buckets = buckets;
+        this.count = count;
+        this.sum = sum;
+        this.max = max;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getSum() {
+        return sum;
+    }
+
+    public long getMax() {
+        return max;
+    }
+
+    public double getMean() {
+        return count == 0 ? 0 : (double) sum / count;
+    }
+
+    /**
+     * @param percentile Between 0 and 100.
+     * @return an upper bound on the given percentile of the recorded values, at most twice the true value and never
+     * more than the maximum, or 0 if nothing was recorded.
+     */
+    public long getPercentile(double percentile) {
+        if(percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("Percentile must be between 0 and 100.");
+        }
+        long total = 0;
+        for(long bucketCount : buckets) {
+            total += bucketCount;
+        }
+        long rank = (long) Math.ceil(percentile / 100 * total);
+        long seen = 0;
+        for(int bucket = 0; bucket < buckets.length; bucket++) {
+            seen += buckets[bucket];
+            if(seen >= rank && seen > 0) {
+                return Math.min(upperBoundOf(bucket), max);
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * @return the number of values recorded in each power-of-two bucket, bucket b holding the values of b significant
+     * bits.
+     */
+    public long[] getBuckets() {
+        return buckets.clone();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("count=%d mean=%.1f p50=%d p99=%d max=%d", count, getMean(), getPercentile(50),
+                getPercentile(99), max);
+    }
+
+    private static long upperBoundOf(int bucket) {
+        return bucket == Long.SIZE ? Long.MAX_VALUE : (1L << bucket) - 1;
+    }
+}
@@ -0,0 +1,88 @@
+package graph;
+
+import java.util.Arrays;
+
+/**
+ * Two-way mapping between sparse external vertex ids, such as the user ids of a data set, and dense internal ids in
+ * 0..n-1, so that per-vertex state can be held in arrays and bitsets instead of maps.
+ *
+ * Internal ids are assigned in the order external ids are first mapped. The forward mapping is an IntIntHashMap and
+ * the reverse mapping a primitive array indexed by internal id, so neither direction boxes. sortByExternalId renumbers
+ * the internal ids into ascending order of external id, the order CompactGraph uses for its dense indices.
+ */
+
+public final class IdMapper {
+    private final IntIntHashMap internalIds;
+    private int[] externalIds;
+    private int size;
+
+    public IdMapper() {
+        this(16);
+    }
+
+    public IdMapper(int expectedSize) {
+        internalIds = new IntIntHashMap(expectedSize);
+        externalIds = new int[Math.max(expectedSize, 1)];
+    }
+
+    /**
+     * @return the internal id of the external id, assigning it the next unused internal id if it has none yet.
+     */
+    public int map(int externalId) {
+        int internalId = internalIds.getOrDefault(externalId, -1);
+        if(internalId >= 0) {
+            return internalId;
+        }
+        if(size == externalIds.length) {
+            externalIds = Arrays.copyOf(externalIds, size * 2);
+        }
+        externalIds[size] = externalId;
+        internalIds.put(externalId, size);
+        return size++;
+    }
+
+    /**
+     * @return the internal id of the external id, or -1 if it has not been mapped.
+     */
+    public int toInternal(int externalId) {
+        return internalIds.getOrDefault(externalId, -1);
+    }
+
+    public int toExternal(int internalId) {
+        if(internalId < 0 || internalId >= size) {
+            throw new IndexOutOfBoundsException("Internal id " + internalId + " is out of bounds for size " + size);
+        }
+        return externalIds[internalId];
+    }
+
+    public boolean contains(int externalId) {
+        return internalIds.containsKey(externalId);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return the external id of every internal id, indexed by internal id.
+     */
+    public int[] toExternalArray() {
+        return Arrays.copyOf(externalIds, size);
+    }
+
+    /**
+     * Renumbers the internal ids so that they ascend with the external ids.
+     * @return the new internal id of every old internal id, indexed by old internal id.
+     */
+    public int[] sortByExternalId() {
+        int[] sorted = toExternalArray();
+        Arrays.sort(sorted);
+        int[] newIds = new int[size];
+        for(int newId = 0; newId < size; newId++) {
+            newIds[internalIds.getOrDefault(sorted[newId], -1)] = newId;
+            internalIds.put(sorted[newId], newId);
+        }
+        System.arraycopy(sorted, 0, externalIds, 0, size);
+        return newIds;
+    }
+}
@@ -0,0 +1,76 @@
+package graph;
+
+import java.util.Arrays;
+
+/**
+ * Growable list of primitive ints, used where a List&lt;Integer&gt; would box every element.
+ */
+
+public class IntArrayList {
+    private int[] elements;
+    private int size;
+
+    public IntArrayList() {
+        this(16);
+    }
+
+    public IntArrayList(int initialCapacity) {
+        elements = new int[Math.max(initialCapacity, 1)];
+        size = 0;
+    }
+
+    public void add(int value) {
+        if(size == elements.length) {
+            elements = Arrays.copyOf(elements, size * 2);
+        }
+        elements[size++] = value;
+    }
+
+    public void addAll(IntArrayList other) {
+        ensureCapacity(size + other.size);
+        System.arraycopy(other.elements, 0, elements, size, other.size);
+        size += other.size;
+    }
+
+    public void addAll(int[] values) {
+        ensureCapacity(size + values.length);
+        System.arraycopy(values, 0, elements, size, values.length);
+        size += values.length;
+    }
+
+    public int get(int index) {
+        if(index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " is out of bounds for size " + size);
+        }
+        return elements[index];
+    }
+
+    public void set(int index, int value) {
+        if(index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " is out of bounds for size " + size);
+        }
+        elements[index] = value;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    public int[] toArray() {
+        return Arrays.copyOf(elements, size);
+    }
+
+    private void ensureCapacity(int capacity) {
+        if(capacity > elements.length) {
+            elements = Arrays.copyOf(elements, Math.max(capacity, elements.length * 2));
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package graph;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Open-addressing hash set of primitive ints. Values are stored unboxed in a single array probed linearly, so adding,
+ * removing and looking up a value never allocates. Zero marks a free slot, so membership of zero itself is tracked
+ * in a separate flag.
+ */
+
+public class IntHashSet {
+    private static final int MIN_CAPACITY = 4;
+    private static final float LOAD_FACTOR = 0.75f;
+
+    private int[] keys;
+    private int mask;
+    private int size;
+    private boolean containsZero;
+    private int resizeThreshold;
+
+    public IntHashSet() {
+        this(MIN_CAPACITY);
+    }
+
+    public IntHashSet(int expectedSize) {
+        allocate(capacityFor(expectedSize));
+    }
+
+    /**
+     * @return true if the value was not already in the set.
+     */
+    public boolean add(int value) {
+        if(value == 0) {
+            return addZero();
+        }
+        int slot = mix(value) & mask;
+        while(keys[slot] != 0) {
+            if(keys[slot] == value) {
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = value;
+        if(++size > resizeThreshold) {
+            rehash(keys.length * 2);
+        }
+        return true;
+    }
+
+    public boolean contains(int value) {
+        if(value == 0) {
+            return containsZero;
+        }
+        int slot = mix(value) & mask;
+        while(keys[slot] != 0) {
+            if(keys[slot] == value) {
+                return true;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return false;
+    }
+
+    /**
+     * @return true if the value was in the set.
+     */
+    public boolean remove(int value) {
+        if(value == 0) {
+            return removeZero();
+        }
+        int slot = mix(value) & mask;
+        while(keys[slot] != 0) {
+            if(keys[slot] == value) {
+                size--;
+                shiftKeys(slot);
+                return true;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return false;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        Arrays.fill(keys, 0);
+        containsZero = false;
+        size = 0;
+    }
+
+    /**
+     * Passes every value in the set to the action, in no particular order. The set must not be modified by the action.
+     */
+    public void forEach(IntConsumer action) {
+        if(containsZero) {
+            action.accept(0);
+        }
+        for(int key : keys) {
+            if(key != 0) {
+                action.accept(key);
+            }
+        }
+    }
+
+    public int[] toArray() {
+        int[] values = new int[size];
+        int i = 0;
+        if(containsZero) {
+            values[i++] = 0;
+        }
+        for(int key : keys) {
+            if(key != 0) {
+                values[i++] = key;
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Scrambles the bits of a value so that runs of consecutive vertex values spread across the table.
+     */
+    static int mix(int value) {
+        int hash = value * 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+
+    static int capacityFor(int expectedSize) {
+        int capacity = MIN_CAPACITY;
+        while(capacity * LOAD_FACTOR < expectedSize) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    private boolean addZero() {
+        if(containsZero) {
+            return false;
+        }
+        containsZero = true;
+        size++;
+        return true;
+    }
+
+    private boolean removeZero() {
+        if(!containsZero) {
+            return false;
+        }
+        containsZero = false;
+        size--;
+        return true;
+    }
+
+    /**
+     * Closes the gap left at the given slot by moving back any later key whose probe sequence passes through it.
+     */
+    private void shiftKeys(int slot) {
+        int gap = slot;
+        int current = (gap + 1) & mask;
+        while(keys[current] != 0) {
+            int home = mix(keys[current]) & mask;
+            if(((current - home) & mask) >= ((current - gap) & mask)) {
+                keys[gap] = keys[current];
+                gap = current;
+            }
+            current = (current + 1) & mask;
+        }
+        keys[gap] = 0;
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        mask = capacity - 1;
+        resizeThreshold = (int) (capacity * LOAD_FACTOR);
+    }
+
+    private void rehash(int capacity) {
+        int[] oldKeys = keys;
+        allocate(capacity);
+        for(int key : oldKeys) {
+            if(key != 0) {
+                int slot = mix(key) & mask;
+                while(keys[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = key;
+            }
+        }
+    }
+}
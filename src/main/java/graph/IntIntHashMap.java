@@ -0,0 +1,160 @@
+package graph;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing hash map from primitive int keys to primitive int values, laid out like IntHashSet with the values
+ * held in a parallel array. Zero marks a free slot, so the entry for key zero is kept in separate fields.
+ */
+
+public class IntIntHashMap {
+    private static final int MIN_CAPACITY = 4;
+    private static final float LOAD_FACTOR = 0.75f;
+
+    private int[] keys;
+    private int[] values;
+    private int mask;
+    private int size;
+    private boolean containsZero;
+    private int zeroValue;
+    private int resizeThreshold;
+
+    public IntIntHashMap() {
+        this(MIN_CAPACITY);
+    }
+
+    public IntIntHashMap(int expectedSize) {
+        allocate(IntHashSet.capacityFor(expectedSize));
+    }
+
+    public boolean containsKey(int key) {
+        if(key == 0) {
+            return containsZero;
+        }
+        return keys[slotOf(key)] != 0;
+    }
+
+    /**
+     * @return the value mapped to the key, or the default value if the key is not in the map.
+     */
+    public int getOrDefault(int key, int defaultValue) {
+        if(key == 0) {
+            return containsZero ? zeroValue : defaultValue;
+        }
+        int slot = slotOf(key);
+        return keys[slot] != 0 ? values[slot] : defaultValue;
+    }
+
+    public void put(int key, int value) {
+        if(key == 0) {
+            if(!containsZero) {
+                containsZero = true;
+                size++;
+            }
+            zeroValue = value;
+            return;
+        }
+        int slot = slotOf(key);
+        values[slot] = value;
+        if(keys[slot] == 0) {
+            keys[slot] = key;
+            if(++size > resizeThreshold) {
+                rehash(keys.length * 2);
+            }
+        }
+    }
+
+    /**
+     * Adds the delta to the value mapped to the key, treating a missing key as mapped to zero.
+     * @return the new value.
+     */
+    public int addTo(int key, int delta) {
+        int value = getOrDefault(key, 0) + delta;
+        put(key, value);
+        return value;
+    }
+
+    /**
+     * @return true if the key was in the map.
+     */
+    public boolean remove(int key) {
+        if(key == 0) {
+            if(!containsZero) {
+                return false;
+            }
+            containsZero = false;
+            size--;
+            return true;
+        }
+        int slot = slotOf(key);
+        if(keys[slot] == 0) {
+            return false;
+        }
+        size--;
+        shiftKeys(slot);
+        return true;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        Arrays.fill(keys, 0);
+        containsZero = false;
+        size = 0;
+    }
+
+    /**
+     * @return the slot holding the key, or the free slot it would be inserted at.
+     */
+    private int slotOf(int key) {
+        int slot = IntHashSet.mix(key) & mask;
+        while(keys[slot] != 0 && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    /**
+     * Closes the gap left at the given slot by moving back any later entry whose probe sequence passes through it.
+     */
+    private void shiftKeys(int slot) {
+        int gap = slot;
+        int current = (gap + 1) & mask;
+        while(keys[current] != 0) {
+            int home = IntHashSet.mix(keys[current]) & mask;
+            if(((current - home) & mask) >= ((current - gap) & mask)) {
+                keys[gap] = keys[current];
+                values[gap] = values[current];
+                gap = current;
+            }
+            current = (current + 1) & mask;
+        }
+        keys[gap] = 0;
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        values = new int[capacity];
+        mask = capacity - 1;
+        resizeThreshold = (int) (capacity * LOAD_FACTOR);
+    }
+
+    private void rehash(int capacity) {
+        int[] oldKeys = keys;
+        int[] oldValues = values;
+        allocate(capacity);
+        for(int i = 0; i < oldKeys.length; i++) {
+            if(oldKeys[i] != 0) {
+                int slot = slotOf(oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package graph;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Process-wide registry of named Counters and latency Histograms, recording where time goes in graph mutations,
+ * searches, loading and the greedy dominating set generators. Recording is off until enable() is called. While it is
+ * off every instrumented call costs a single read of a volatile flag, and timers do not read the clock.
+ *
+ * Counters and histograms are created on first use and live for the rest of the process, so instrumented classes hold
+ * them in static fields. They may be updated from any thread. snapshot() copies every metric registered so far, and
+ * reset() zeroes them without unregistering them.
+ *
+ * Times are in nanoseconds. Graph mutations are timed through the Graph methods, so edges a GraphBuilder adds in bulk
+ * are counted under the loader rather than ADD_EDGE. A dominating set generator records one round for every vertex it
+ * adds to the set, and the number of candidate vertices it examined to choose it.
+ */
+
+public final class Metrics {
+    public static final String ADD_VERTEX = "graph.addVertex";
+    public static final String REMOVE_VERTEX = "graph.removeVertex";
+    public static final String ADD_EDGE = "graph.addEdge";
+    public static final String CLONE = "graph.clone";
+    public static final String BFS = "graph.bfs";
+    public static final String BFS_VISITED = "graph.bfs.visited";
+    public static final String LOADER_LINES = "loader.lines";
+    public static final String LOADER_LINES_PER_SECOND = "loader.linesPerSecond";
+    public static final String GREEDY_INITIALIZE = "greedy.initialize";
+    public static final String GREEDY_SELECT = "greedy.select";
+    public static final String CONNECTED_GREEDY_CHECK = "connectedGreedy.check";
+    public static final String CONNECTED_GREEDY_SELECT = "connectedGreedy.select";
+    public static final String ROUNDS = "dominatingSet.rounds";
+    public static final String SCANNED_PER_ROUND = "dominatingSet.scannedPerRound";
+    public static final String DIVERSIONS = "dominatingSet.diversionsToUncoveredVertices";
+    public static final String SPANNING_TREE_MIS = "spanningTreeMis.build";
+    public static final String RESULT_CACHE_HITS = "resultCache.hits";
+    public static final String RESULT_CACHE_MISSES = "resultCache.misses";
+
+    static final long NOT_TIMING = Long.MIN_VALUE;
+
+    private static final ConcurrentMap<String, Counter> counters = new ConcurrentHashMap<>();
+    private static final ConcurrentMap<String, Histogram> histograms = new ConcurrentHashMap<>();
+    private static volatile boolean enabled;
+
+    private Metrics() {
+    }
+
+    public static void enable() {
+        enabled = true;
+    }
+
+    public static void disable() {
+        enabled = false;
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @return the counter of the given name, registering it if it does not exist yet.
+     */
+    public static Counter counter(String name) {
+        return counters.computeIfAbsent(name, key -> new Counter());
+    }
+
+    /**
+     * @return the histogram of the given name, registering it if it does not exist yet.
+     */
+    public static Histogram histogram(String name) {
+        return histograms.computeIfAbsent(name, key -> new Histogram());
+    }
+
+    /**
+     * @return the current time to pass to Histogram.recordSince, or a marker telling it to record nothing if metrics
+     * are disabled.
+     */
+    public static long startTimer() {
+        return enabled ? System.nanoTime() : NOT_TIMING;
+    }
+
+    /**
+     * Zeroes every registered counter and histogram. Updates made while the reset is in progress may be lost.
+     */
+    public static void reset() {
+        for(Counter counter : counters.values()) {
+            counter.reset();
+        }
+        for(Histogram histogram : histograms.values()) {
+            histogram.reset();
+        }
+    }
+
+    /**
+     * @return a copy of every registered metric. Metrics that are being updated while the copy is taken may be
+     * slightly inconsistent with each other.
+     */
+    public static MetricsSnapshot snapshot() {
+        Map<String, Long> counts = new TreeMap<>();
+        for(Map.Entry<String, Counter> entry : counters.entrySet()) {
+            counts.put(entry.getKey(), entry.getValue().sum());
+        }
+        Map<String, HistogramSnapshot> distributions = new TreeMap<>();
+        for(Map.Entry<String, Histogram> entry : histograms.entrySet()) {
+            distributions.put(entry.getKey(), entry.getValue().snapshot());
+        }
+        return new MetricsSnapshot(counts, distributions);
+    }
+}
@@ -0,0 +1,54 @@
+package graph;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Copy of every metric registered with Metrics at one moment, by name in alphabetical order.
+ */
+
+public final class MetricsSnapshot {
+    private static final HistogramSnapshot EMPTY = new HistogramSnapshot(new long[Histogram.NUM_BUCKETS], 0, 0, 0);
+
+    private final Map<String, Long> counts;
+    private final Map<String, HistogramSnapshot> histograms;
+
+    MetricsSnapshot(Map<String, Long> counts, Map<String, HistogramSnapshot> histograms) {
+        this.counts = Collections.unmodifiableMap(counts);
+        this.histograms = Collections.unmodifiableMap(histograms);
+    }
+
+    /**
+     * @return the value of the named counter, or 0 if it has not been registered.
+     */
+    public long getCount(String name) {
+        return counts.getOrDefault(name, 0L);
+    }
+
+    /**
+     * @return the named histogram, or an empty one if it has not been registered.
+     */
+    public HistogramSnapshot getHistogram(String name) {
+        return histograms.getOrDefault(name, EMPTY);
+    }
+
+    public Map<String, Long> getCounts() {
+        return counts;
+    }
+
+    public Map<String, HistogramSnapshot> getHistograms() {
+        return histograms;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder description = new StringBuilder();
+        for(Map.Entry<String, Long> entry : counts.entrySet()) {
+            description.append(entry.getKey()).append(": ").append(entry.getValue()).append('\n');
+        }
+        for(Map.Entry<String, HistogramSnapshot> entry : histograms.entrySet()) {
+            description.append(entry.getKey()).append(": ").append(entry.getValue()).append('\n');
+        }
+        return description.toString();
+    }
+}
@@ -0,0 +1,230 @@
+package graph;
+
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.IntConsumer;
+
+/**
+ * Neighbor set of a Vertex. Neighbors are keyed by their primitive int value in an open-addressing table, with the
+ * Vertex references held in a parallel array, so membership checks never box or call Vertex.hashCode(). A slot is free
+ * when its Vertex reference is null. The table is only allocated once the first neighbor is added, which keeps
+ * isolated vertices cheap.
+ */
+
+final class NeighborSet extends AbstractSet<Vertex> {
+    private static final int MIN_CAPACITY = 4;
+    private static final float LOAD_FACTOR = 0.75f;
+    private static final int[] NO_KEYS = new int[0];
+    private static final Vertex[] NO_VERTICES = new Vertex[0];
+
+    private int[] keys;
+    private Vertex[] vertices;
+    private int mask;
+    private int size;
+    private int resizeThreshold;
+
+    NeighborSet() {
+        keys = NO_KEYS;
+        vertices = NO_VERTICES;
+    }
+
+    NeighborSet(int expectedSize) {
+        this();
+        if(expectedSize > 0) {
+            allocate(IntHashSet.capacityFor(expectedSize));
+        }
+    }
+
+    @Override
+    public boolean add(Vertex vertex) {
+        if(keys.length == 0) {
+            allocate(MIN_CAPACITY);
+        }
+        int value = vertex.getValue();
+        int slot = IntHashSet.mix(value) & mask;
+        while(vertices[slot] != null) {
+            if(keys[slot] == value) {
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = value;
+        vertices[slot] = vertex;
+        if(++size > resizeThreshold) {
+            rehash(keys.length * 2);
+        }
+        return true;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return o instanceof Vertex && containsValue(((Vertex) o).getValue());
+    }
+
+    boolean containsValue(int value) {
+        return findSlot(value) >= 0;
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        return o instanceof Vertex && removeValue(((Vertex) o).getValue());
+    }
+
+    boolean removeValue(int value) {
+        int slot = findSlot(value);
+        if(slot < 0) {
+            return false;
+        }
+        size--;
+        shiftVertices(slot, null);
+        return true;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(keys, 0);
+        Arrays.fill(vertices, null);
+        size = 0;
+    }
+
+    void forEachValue(IntConsumer action) {
+        for(int slot = 0; slot < vertices.length; slot++) {
+            if(vertices[slot] != null) {
+                action.accept(keys[slot]);
+            }
+        }
+    }
+
+    @Override
+    public Iterator<Vertex> iterator() {
+        return new NeighborIterator();
+    }
+
+    private int findSlot(int value) {
+        if(size == 0) {
+            return -1;
+        }
+        int slot = IntHashSet.mix(value) & mask;
+        while(vertices[slot] != null) {
+            if(keys[slot] == value) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * Closes the gap left at the given slot by moving back any later neighbor whose probe sequence passes through it.
+     * A neighbor that wraps around from the start of the table to the end is reported to the iterator, if any, since
+     * it would otherwise be moved behind the iterator's position and skipped.
+     */
+    private void shiftVertices(int slot, NeighborIterator iterator) {
+        int gap = slot;
+        int current = (gap + 1) & mask;
+        while(vertices[current] != null) {
+            int home = IntHashSet.mix(keys[current]) & mask;
+            if(((current - home) & mask) >= ((current - gap) & mask)) {
+                if(iterator != null && current < gap) {
+                    iterator.addWrapped(vertices[current]);
+                }
+                keys[gap] = keys[current];
+                vertices[gap] = vertices[current];
+                gap = current;
+            }
+            current = (current + 1) & mask;
+        }
+        keys[gap] = 0;
+        vertices[gap] = null;
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        vertices = new Vertex[capacity];
+        mask = capacity - 1;
+        resizeThreshold = (int) (capacity * LOAD_FACTOR);
+    }
+
+    private void rehash(int capacity) {
+        int[] oldKeys = keys;
+        Vertex[] oldVertices = vertices;
+        allocate(capacity);
+        for(int i = 0; i < oldVertices.length; i++) {
+            if(oldVertices[i] != null) {
+                int slot = IntHashSet.mix(oldKeys[i]) & mask;
+                while(vertices[slot] != null) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                vertices[slot] = oldVertices[i];
+            }
+        }
+    }
+
+    /**
+     * Walks the table from the last slot down, so removing the current neighbor only ever moves neighbors that have
+     * already been returned, apart from the wrapped ones handed over by shiftVertices.
+     */
+    private class NeighborIterator implements Iterator<Vertex> {
+        private int position = vertices.length;
+        private int remaining = size;
+        private int lastSlot = -1;
+        private Vertex lastReturned;
+        private List<Vertex> wrapped;
+        private int wrappedIndex;
+
+        @Override
+        public boolean hasNext() {
+            return remaining > 0;
+        }
+
+        @Override
+        public Vertex next() {
+            if(remaining == 0) {
+                throw new NoSuchElementException();
+            }
+            remaining--;
+            while(--position >= 0) {
+                if(vertices[position] != null) {
+                    lastSlot = position;
+                    lastReturned = vertices[position];
+                    return lastReturned;
+                }
+            }
+            position = -1;
+            lastSlot = -1;
+            lastReturned = wrapped.get(wrappedIndex++);
+            return lastReturned;
+        }
+
+        @Override
+        public void remove() {
+            if(lastReturned == null) {
+                throw new IllegalStateException();
+            }
+            if(lastSlot >= 0) {
+                size--;
+                shiftVertices(lastSlot, this);
+            } else {
+                removeValue(lastReturned.getValue());
+            }
+            lastReturned = null;
+        }
+
+        private void addWrapped(Vertex vertex) {
+            if(wrapped == null) {
+                wrapped = new ArrayList<>(2);
+            }
+            wrapped.add(vertex);
+        }
+    }
+}
@@ -0,0 +1,513 @@
+package graph;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Directed or undirected graph whose edges are stored outside the Java heap, for graphs too large to hold as Vertex
+ * and Edge objects. It is not a Graph, since Graph hands out its Vertex and Edge maps, but offers the same vertex and
+ * edge operations with the same validation.
+ *
+ * Vertices are given internal indices in the order they are added, and only the per-vertex bookkeeping lives on the
+ * heap: an IdMapper between vertex values and indices, and the head, tail, block count and degree of each adjacency list.
+ * The adjacency lists themselves are chains of BLOCK_SIZE int blocks in an OffHeapIntArray, held either in direct
+ * buffers or in a memory-mapped file, each block holding the long index of the next block, in two ints, followed by up
+ * to TARGETS_PER_BLOCK neighbors. Block indices and positions are longs, so the storage is not limited to 2^31 ints. A
+ * DirectedGraph keeps a second set of chains for the in-edges. Heap usage therefore grows with the number of vertices
+ * but not with the number of edges.
+ *
+ * Vertices and edges are validated exactly as in Graph. addEdge searches an adjacency chain for a duplicate, so a
+ * vertex of degree d costs O(d^2) to load edge by edge; addEdges loads a batch with a sorted check instead. isConnected
+ * searches the chains directly. freeze() produces a CompactGraph whose targets also stay off the heap, so breadth first
+ * search, components and the dominating set calculations run against it directly. A graph held in direct buffers needs
+ * -XX:MaxDirectMemorySize, which defaults to the maximum heap size, to cover its blocks plus, while freezing, a copy of
+ * every arc. A graph held in a file freezes into a temporary file beside it instead, so neither needs direct memory.
+ */
+
+public final class OffHeapGraph implements Closeable {
+    private static final int BLOCK_SIZE = 16;
+    private static final int HEADER_SIZE = 2;
+    private static final int TARGETS_PER_BLOCK = BLOCK_SIZE - HEADER_SIZE;
+    private static final long NO_BLOCK = -1;
+
+    private final boolean directed;
+    private final FileChannel channel;
+    private final Path directory;
+    private final OffHeapIntArray blocks;
+    private final IdMapper ids;
+    private final AdjacencyLists outLists;
+    private final AdjacencyLists inLists;
+    private long numBlocks;
+    private int numEdges;
+
+    /**
+     * Creates an empty graph held in direct buffers.
+     */
+    public OffHeapGraph(boolean directed) {
+        this(directed, null, null);
+    }
+
+    /**
+     * Creates an empty graph held in the given file, which is created or overwritten. The file only holds the
+     * adjacency blocks, and is not a snapshot that can be reopened.
+     */
+    public OffHeapGraph(boolean directed, String fileName) throws IOException {
+        this(directed, Paths.get(fileName).toAbsolutePath());
+    }
+
+    private OffHeapGraph(boolean directed, Path path) throws IOException {
+        this(directed, FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING), path.getParent());
+    }
+
+    private OffHeapGraph(boolean directed, FileChannel channel, Path directory) {
+        this.directed = directed;
+        this.channel = channel;
+        this.directory = directory;
+        blocks = new OffHeapIntArray(channel, 0);
+        ids = new IdMapper();
+        outLists = new AdjacencyLists();
+        inLists = directed ? new AdjacencyLists() : outLists;
+    }
+
+    public boolean isDirected() {
+        return directed;
+    }
+
+    public void addVertex(int value) {
+        if(containsVertex(value)) {
+            throw new IllegalArgumentException("Vertex " + value + " already exists");
+        }
+        if(value < 0) {
+            throw new IllegalArgumentException("Vertex value must be positive.");
+        }
+        ids.map(value);
+        outLists.addVertex();
+        if(directed) {
+            inLists.addVertex();
+        }
+    }
+
+    public void addEdge(int start, int end) {
+        Edge edge = createEdge(start, end);
+        int a = indexOf(edge.getA(), edge.getA() + " does not exist");
+        int b = indexOf(edge.getB(), edge.getB() + " does not exist");
+        if(containsArc(a, b)) {
+            throw new IllegalArgumentException(edge + " already exists.");
+        }
+        confirmRoomForEdges(1);
+        addArcs(a, b);
+    }
+
+    /**
+     * Adds the edges from starts[i] to ends[i], validated as addEdge validates them, but checked for duplicates by
+     * sorting the batch and binary searching a sorted copy of each start vertex's list, rather than by walking a chain
+     * for every edge. Loading k edges at a vertex of degree d so costs O((k + d) log(k + d)). The whole batch is
+     * checked before any edge is added, so a batch that fails leaves the graph unchanged.
+     */
+    public void addEdges(int[] starts, int[] ends) {
+        if(starts.length != ends.length) {
+            throw new IllegalArgumentException("Edge batches must have the same number of starts and ends.");
+        }
+        confirmRoomForEdges(starts.length);
+        long[] arcs = new long[starts.length];
+        for(int i = 0; i < starts.length; i++) {
+            Edge edge = createEdge(starts[i], ends[i]);
+            int a = indexOf(edge.getA(), edge.getA() + " does not exist");
+            int b = indexOf(edge.getB(), edge.getB() + " does not exist");
+            arcs[i] = (long) a << 32 | b;
+        }
+        Arrays.sort(arcs);
+        int[] existing = new int[0];
+        int numExisting = 0;
+        for(int i = 0; i < arcs.length; i++) {
+            int a = startOf(arcs[i]);
+            int b = endOf(arcs[i]);
+            if(i == 0 || a != startOf(arcs[i - 1])) {
+                numExisting = outLists.degree(a);
+                if(existing.length < numExisting) {
+                    existing = new int[Math.max(numExisting, existing.length * 2)];
+                }
+                outLists.copyTo(a, existing);
+                Arrays.sort(existing, 0, numExisting);
+            } else if(arcs[i] == arcs[i - 1]) {
+                throw duplicateEdge(a, b);
+            }
+            if(Arrays.binarySearch(existing, 0, numExisting, b) >= 0) {
+                throw duplicateEdge(a, b);
+            }
+        }
+        for(long arc : arcs) {
+            addArcs(startOf(arc), endOf(arc));
+        }
+    }
+
+    public void removeEdge(int start, int end) {
+        Edge edge = createEdge(start, end);
+        int a = ids.toInternal(edge.getA());
+        int b = ids.toInternal(edge.getB());
+        if(a < 0 || b < 0 || !containsArc(a, b)) {
+            throw new IllegalArgumentException(edge + " does not exist.");
+        }
+        outLists.remove(a, b);
+        if(directed) {
+            inLists.remove(b, a);
+        } else if(a != b) {
+            outLists.remove(b, a);
+        }
+        numEdges--;
+    }
+
+    public boolean containsVertex(int value) {
+        return ids.contains(value);
+    }
+
+    public boolean containsEdge(int start, int end) {
+        Edge edge = createEdge(start, end);
+        int a = ids.toInternal(edge.getA());
+        int b = ids.toInternal(edge.getB());
+        return a >= 0 && b >= 0 && containsArc(a, b);
+    }
+
+    public int getNumVertices() {
+        return ids.size();
+    }
+
+    public int getNumEdges() {
+        return numEdges;
+    }
+
+    /**
+     * @return the number of out-neighbors of the vertex, which for an undirected graph is its number of neighbors.
+     */
+    public int degree(int value) {
+        return outLists.degree(indexOf(value, "Vertex " + value + " does not exist."));
+    }
+
+    /**
+     * Passes the value of every out-neighbor of the vertex to the action, in no particular order. For an undirected
+     * graph these are all of the vertex's neighbors.
+     */
+    public void forEachNeighbor(int value, IntConsumer action) {
+        outLists.forEach(indexOf(value, "Vertex " + value + " does not exist."),
+                target -> action.accept(ids.toExternal(target)));
+    }
+
+    /**
+     * Passes the value of every in-neighbor of the vertex to the action, in no particular order. For an undirected
+     * graph these are all of the vertex's neighbors.
+     */
+    public void forEachInNeighbor(int value, IntConsumer action) {
+        inLists.forEach(indexOf(value, "Vertex " + value + " does not exist."),
+                source -> action.accept(ids.toExternal(source)));
+    }
+
+    /**
+     * Performs a breadth first search along out-edges from the vertex with the lowest value, walking the adjacency
+     * chains in place, to determine whether every vertex is reachable from it.
+     */
+    public boolean isConnected() {
+        int numVertices = ids.size();
+        if(numVertices == 0) {
+            throw new RuntimeException("There are no vertices in the graph.");
+        }
+        int source = 0;
+        for(int vertex = 1; vertex < numVertices; vertex++) {
+            if(ids.toExternal(vertex) < ids.toExternal(source)) {
+                source = vertex;
+            }
+        }
+        boolean[] reached = new boolean[numVertices];
+        int[] queue = new int[numVertices];
+        int[] tail = {1};
+        reached[source] = true;
+        queue[0] = source;
+        for(int head = 0; head < tail[0]; head++) {
+            outLists.forEach(queue[head], target -> {
+                if(!reached[target]) {
+                    reached[target] = true;
+                    queue[tail[0]++] = target;
+                }
+            });
+        }
+        return tail[0] == numVertices;
+    }
+
+    /**
+     * @return a read-only CompactGraph snapshot of the current vertices and edges. Its targets are copied, sorted, into
+     * new direct buffers or, for a graph held in a file, into a temporary file in the same directory that is deleted
+     * once the snapshot is unreachable, so it stays off the heap and later changes to this graph are not reflected in
+     * it.
+     * @throws IllegalStateException if the graph has more arcs, counting both directions of an undirected edge, than
+     * the int offsets of a CompactGraph can address.
+     */
+    public CompactGraph freeze() {
+        int numVertices = ids.size();
+        int[] sortedIds = ids.toExternalArray();
+        Arrays.sort(sortedIds);
+        int[] order = new int[numVertices];
+        int[] denseIndexOf = new int[numVertices];
+        for(int dense = 0; dense < numVertices; dense++) {
+            order[dense] = ids.toInternal(sortedIds[dense]);
+            denseIndexOf[order[dense]] = dense;
+        }
+        int[] outOffsets = offsetsOf(outLists, order);
+        OffHeapIntArray outTargets = newTargetArray(outOffsets[numVertices]);
+        int[] scratch = new int[0];
+        for(int dense = 0; dense < numVertices; dense++) {
+            int degree = outLists.degree(order[dense]);
+            if(scratch.length < degree) {
+                scratch = new int[Math.max(degree, scratch.length * 2)];
+            }
+            int[] neighbors = scratch;
+            int[] count = {0};
+            outLists.forEach(order[dense], target -> neighbors[count[0]++] = denseIndexOf[target]);
+            Arrays.sort(neighbors, 0, degree);
+            for(int i = 0; i < degree; i++) {
+                outTargets.set(outOffsets[dense] + i, neighbors[i]);
+            }
+        }
+        if(!directed) {
+            return new CompactGraph(false, sortedIds, outOffsets, outTargets, outOffsets, outTargets, numEdges);
+        }
+        int[] inOffsets = offsetsOf(inLists, order);
+        OffHeapIntArray inTargets = newTargetArray(inOffsets[numVertices]);
+        int[] next = Arrays.copyOf(inOffsets, numVertices);
+        for(int source = 0; source < numVertices; source++) {
+            for(int i = outOffsets[source]; i < outOffsets[source + 1]; i++) {
+                int target = outTargets.get(i);
+                inTargets.set(next[target]++, source);
+            }
+        }
+        return new CompactGraph(true, sortedIds, outOffsets, outTargets, inOffsets, inTargets, numEdges);
+    }
+
+    /**
+     * Closes the backing file, if there is one. The graph must not be used afterwards.
+     */
+    @Override
+    public void close() throws IOException {
+        if(channel != null) {
+            channel.close();
+        }
+    }
+
+    private Edge createEdge(int start, int end) {
+        return directed ? new Edge(start, end) : new Edge(Math.min(start, end), Math.max(start, end));
+    }
+
+    private int indexOf(int value, String missingMessage) {
+        int index = ids.toInternal(value);
+        if(index < 0) {
+            throw new IllegalArgumentException(missingMessage);
+        }
+        return index;
+    }
+
+    private void confirmRoomForEdges(int count) {
+        if((long) numEdges + count > Integer.MAX_VALUE) {
+            throw new IllegalStateException("An OffHeapGraph can hold at most " + Integer.MAX_VALUE + " edges.");
+        }
+    }
+
+    private IllegalArgumentException duplicateEdge(int a, int b) {
+        return new IllegalArgumentException(new Edge(ids.toExternal(a), ids.toExternal(b)) + " already exists.");
+    }
+
+    private static int startOf(long arc) {
+        return (int) (arc >>> 32);
+    }
+
+    private static int endOf(long arc) {
+        return (int) arc;
+    }
+
+    private void addArcs(int a, int b) {
+        outLists.add(a, b);
+        if(directed) {
+            inLists.add(b, a);
+        } else if(a != b) {
+            outLists.add(b, a);
+        }
+        numEdges++;
+    }
+
+    /**
+     * Searches whichever of the two lists that could hold the arc is shorter.
+     */
+    private boolean containsArc(int start, int end) {
+        if(inLists.degree(end) < outLists.degree(start)) {
+            return inLists.contains(end, start);
+        }
+        return outLists.contains(start, end);
+    }
+
+    private static int[] offsetsOf(AdjacencyLists lists, int[] order) {
+        int[] offsets = new int[order.length + 1];
+        long total = 0;
+        for(int dense = 0; dense < order.length; dense++) {
+            total += lists.degree(order[dense]);
+            if(total > Integer.MAX_VALUE) {
+                throw new IllegalStateException("The graph has more than " + Integer.MAX_VALUE
+                        + " arcs, too many for a CompactGraph.");
+            }
+            offsets[dense + 1] = (int) total;
+        }
+        return offsets;
+    }
+
+    /**
+     * Maps a file-backed graph's snapshot arrays into a temporary file. A mapping stays valid after its channel is
+     * closed, and the file is deleted on close, so its space is freed once the mapping is.
+     */
+    private OffHeapIntArray newTargetArray(int size) {
+        if(directory == null) {
+            return new OffHeapIntArray(size);
+        }
+        try(FileChannel snapshotChannel = FileChannel.open(Files.createTempFile(directory, "snapshot", ".bin"),
+                StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.DELETE_ON_CLOSE)) {
+            return new OffHeapIntArray(snapshotChannel, size);
+        } catch(IOException e) {
+            throw new UncheckedIOException("Could not create snapshot storage.", e);
+        }
+    }
+
+    private long allocateBlock() {
+        long block = numBlocks++;
+        blocks.ensureCapacity(numBlocks * BLOCK_SIZE);
+        setNextBlock(block, NO_BLOCK);
+        return block;
+    }
+
+    private long nextBlock(long block) {
+        long position = block * BLOCK_SIZE;
+        return (long) blocks.get(position) << 32 | blocks.get(position + 1) & 0xFFFFFFFFL;
+    }
+
+    private void setNextBlock(long block, long next) {
+        long position = block * BLOCK_SIZE;
+        blocks.set(position, (int) (next >>> 32));
+        blocks.set(position + 1, (int) next);
+    }
+
+    /**
+     * One adjacency list per vertex, kept as a chain of blocks. Entry i of a list is in block i / TARGETS_PER_BLOCK
+     * of its chain. A list removes an entry by moving its last entry into the gap, and keeps its emptied blocks for
+     * later additions.
+     */
+    private final class AdjacencyLists {
+        private long[] heads = new long[16];
+        private long[] tails = new long[16];
+        private final IntArrayList blockCounts = new IntArrayList();
+        private final IntArrayList degrees = new IntArrayList();
+
+        void addVertex() {
+            int vertex = degrees.size();
+            if(vertex == heads.length) {
+                heads = Arrays.copyOf(heads, vertex * 2);
+                tails = Arrays.copyOf(tails, vertex * 2);
+            }
+            heads[vertex] = NO_BLOCK;
+            tails[vertex] = NO_BLOCK;
+            blockCounts.add(0);
+            degrees.add(0);
+        }
+
+        int degree(int vertex) {
+            return degrees.get(vertex);
+        }
+
+        void add(int vertex, int target) {
+            int degree = degrees.get(vertex);
+            int blockNumber = degree / TARGETS_PER_BLOCK;
+            long block;
+            if(blockNumber < blockCounts.get(vertex)) {
+                block = blockAt(vertex, blockNumber);
+            } else {
+                block = allocateBlock();
+                if(heads[vertex] == NO_BLOCK) {
+                    heads[vertex] = block;
+                } else {
+                    setNextBlock(tails[vertex], block);
+                }
+                tails[vertex] = block;
+                blockCounts.set(vertex, blockCounts.get(vertex) + 1);
+            }
+            blocks.set(slotOf(block, degree), target);
+            degrees.set(vertex, degree + 1);
+        }
+
+        boolean contains(int vertex, int target) {
+            return positionOf(vertex, target) >= 0;
+        }
+
+        void remove(int vertex, int target) {
+            long position = positionOf(vertex, target);
+            int last = degrees.get(vertex) - 1;
+            long lastSlot = slotOf(blockAt(vertex, last / TARGETS_PER_BLOCK), last);
+            blocks.set(position, blocks.get(lastSlot));
+            degrees.set(vertex, last);
+        }
+
+        void forEach(int vertex, IntConsumer action) {
+            int remaining = degrees.get(vertex);
+            for(long block = heads[vertex]; remaining > 0; block = nextBlock(block)) {
+                int inBlock = Math.min(remaining, TARGETS_PER_BLOCK);
+                long first = block * BLOCK_SIZE + HEADER_SIZE;
+                for(int i = 0; i < inBlock; i++) {
+                    action.accept(blocks.get(first + i));
+                }
+                remaining -= inBlock;
+            }
+        }
+
+        /**
+         * Copies the vertex's entries, in list order, to the start of the array, which must have room for them.
+         */
+        void copyTo(int vertex, int[] targets) {
+            int[] count = {0};
+            forEach(vertex, target -> targets[count[0]++] = target);
+        }
+
+        /**
+         * @return the index in the block storage of the target's entry, or -1 if the list does not hold it.
+         */
+        private long positionOf(int vertex, int target) {
+            int remaining = degrees.get(vertex);
+            for(long block = heads[vertex]; remaining > 0; block = nextBlock(block)) {
+                int inBlock = Math.min(remaining, TARGETS_PER_BLOCK);
+                long first = block * BLOCK_SIZE + HEADER_SIZE;
+                for(int i = 0; i < inBlock; i++) {
+                    if(blocks.get(first + i) == target) {
+                        return first + i;
+                    }
+                }
+                remaining -= inBlock;
+            }
+            return -1;
+        }
+
+        private long blockAt(int vertex, int blockNumber) {
+            if(blockNumber == blockCounts.get(vertex) - 1) {
+                return tails[vertex];
+            }
+            long block = heads[vertex];
+            for(int i = 0; i < blockNumber; i++) {
+                block = nextBlock(block);
+            }
+            return block;
+        }
+
+        private long slotOf(long block, int entry) {
+            return block * BLOCK_SIZE + HEADER_SIZE + entry % TARGETS_PER_BLOCK;
+        }
+    }
+}
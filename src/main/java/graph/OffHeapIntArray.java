@@ -0,0 +1,78 @@
+package graph;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+
+/**
+ * Growable array of ints stored outside the Java heap, in direct buffers of CHUNK_SIZE ints each, or in regions of a
+ * file mapped into memory when a channel is given. Only the references to the chunks live on the heap, so the heap
+ * cost is one reference per 4 MB of data. Indices are longs, so an array may hold more than 2^31 ints.
+ */
+
+final class OffHeapIntArray {
+    private static final int CHUNK_SHIFT = 20;
+    private static final int CHUNK_SIZE = 1 << CHUNK_SHIFT;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+    private final FileChannel channel;
+    private IntBuffer[] chunks;
+    private int numChunks;
+
+    /**
+     * Creates an array held in direct buffers.
+     */
+    OffHeapIntArray(long initialCapacity) {
+        this(null, initialCapacity);
+    }
+
+    /**
+     * Creates an array held in the given file, which is grown as the array grows. Existing contents of the file are
+     * overwritten.
+     */
+    OffHeapIntArray(FileChannel channel, long initialCapacity) {
+        this.channel = channel;
+        chunks = new IntBuffer[4];
+        ensureCapacity(initialCapacity);
+    }
+
+    int get(long index) {
+        return chunks[(int) (index >>> CHUNK_SHIFT)].get((int) (index & CHUNK_MASK));
+    }
+
+    void set(long index, int value) {
+        chunks[(int) (index >>> CHUNK_SHIFT)].put((int) (index & CHUNK_MASK), value);
+    }
+
+    long capacity() {
+        return (long) numChunks * CHUNK_SIZE;
+    }
+
+    void ensureCapacity(long capacity) {
+        while(capacity() < capacity) {
+            if(numChunks == chunks.length) {
+                chunks = Arrays.copyOf(chunks, numChunks * 2);
+            }
+            chunks[numChunks] = allocateChunk(numChunks);
+            numChunks++;
+        }
+    }
+
+    private IntBuffer allocateChunk(int chunk) {
+        long chunkBytes = (long) CHUNK_SIZE * Integer.BYTES;
+        if(channel == null) {
+            return ByteBuffer.allocateDirect((int) chunkBytes).order(ByteOrder.nativeOrder()).asIntBuffer();
+        }
+        try {
+            return channel.map(FileChannel.MapMode.READ_WRITE, chunk * chunkBytes, chunkBytes)
+                    .order(ByteOrder.nativeOrder())
+                    .asIntBuffer();
+        } catch(IOException e) {
+            throw new UncheckedIOException("Could not map graph storage.", e);
+        }
+    }
+}
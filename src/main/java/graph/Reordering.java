@@ -0,0 +1,54 @@
+package graph;
+
+/**
+ * A snapshot relabelled by a VertexOrdering, along with the permutation that was applied and the average gap between
+ * neighbors before and after, as VertexOrdering.averageGap measures it.
+ */
+
+public final class Reordering {
+    private final VertexOrdering ordering;
+    private final CompactGraph graph;
+    private final int[] newIndices;
+    private final double averageGapBefore;
+    private final double averageGapAfter;
+
+    Reordering(VertexOrdering ordering, CompactGraph graph, int[] newIndices, double averageGapBefore,
+               double averageGapAfter) {
+        this.ordering = ordering;
+        this.graph = graph;
+        this.newIndices = newIndices;
+        this.averageGapBefore = averageGapBefore;
+        this.averageGapAfter = averageGapAfter;
+    }
+
+    public VertexOrdering getOrdering() {
+        return ordering;
+    }
+
+    /**
+     * @return the relabelled snapshot.
+     */
+    public CompactGraph getGraph() {
+        return graph;
+    }
+
+    /**
+     * @return the new dense index of every vertex, indexed by its index in the original snapshot.
+     */
+    public int[] getNewIndices() {
+        return newIndices.clone();
+    }
+
+    public double getAverageGapBefore() {
+        return averageGapBefore;
+    }
+
+    public double getAverageGapAfter() {
+        return averageGapAfter;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: average gap %.1f -> %.1f", ordering, averageGapBefore, averageGapAfter);
+    }
+}
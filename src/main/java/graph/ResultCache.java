@@ -0,0 +1,144 @@
+package graph;
+
+import java.lang.ref.WeakReference;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Bounded cache of calculation results, keyed by the graph they were calculated on, its modification stamp and the
+ * name of the calculation. While a graph is unchanged, asking again for a result costs a hash lookup. Once it changes,
+ * its stamp moves on, so its old results are never returned again and age out. The least recently used result is
+ * evicted whenever the cache grows past its maximum size.
+ *
+ * Graphs are held by weak reference, and dominating sets are cached as DominatingSet values rather than sets of
+ * vertices, so the cache keeps no graph alive. The cache may be shared between threads. Calculations run outside its
+ * lock, so two threads missing on the same key at once may both calculate the result, and the second replaces the
+ * first.
+ */
+
+public final class ResultCache {
+    public static final String IS_CONNECTED = "isConnected";
+    public static final String GREEDY = "greedy";
+    public static final String CONNECTED_GREEDY = "connectedGreedy";
+
+    private static final Counter HITS = Metrics.counter(Metrics.RESULT_CACHE_HITS);
+    private static final Counter MISSES = Metrics.counter(Metrics.RESULT_CACHE_MISSES);
+
+    private final int maxSize;
+    private final Map<Key, Object> results;
+
+    /**
+     * @param maxSize The largest number of results to keep.
+     */
+    public ResultCache(int maxSize) {
+        if(maxSize < 1) {
+            throw new IllegalArgumentException("Cache size must be positive.");
+        }
+        this.maxSize = maxSize;
+        results = new LinkedHashMap<Key, Object>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Object> eldest) {
+                return size() > ResultCache.this.maxSize;
+            }
+        };
+    }
+
+    /**
+     * @return the result of graph.isConnected(), calculated once for every state of the graph.
+     */
+    public boolean isConnected(Graph graph) {
+        return computeIfAbsent(graph, IS_CONNECTED, Graph::isConnected);
+    }
+
+    /**
+     * @return the result of DominatingSetCalculations.greedyResult(graph), calculated once for every state of the
+     * graph.
+     */
+    public DominatingSet greedy(Graph graph) {
+        return computeIfAbsent(graph, GREEDY, DominatingSetCalculations::greedyResult);
+    }
+
+    /**
+     * @return the result of DominatingSetCalculations.connectedGreedyResult(graph), calculated once for every state of
+     * the graph.
+     */
+    public Optional<DominatingSet> connectedGreedy(Graph graph) {
+        return computeIfAbsent(graph, CONNECTED_GREEDY, DominatingSetCalculations::connectedGreedyResult);
+    }
+
+    /**
+     * @param graph The graph the result is calculated on.
+     * @param algorithm The name of the calculation. Every calculation cached for the same graph needs its own name.
+     * @param calculation Calculates the result from the graph. It should not keep a reference to the graph or its
+     *                    vertices in the result, or the graph will be kept alive by the cache.
+     * @return the cached result for the graph's current state, calculating and caching it if there is none.
+     */
+    @SuppressWarnings("unchecked")
+    public <G extends Graph, T> T computeIfAbsent(G graph, String algorithm, Function<? super G, T> calculation) {
+        Key key = new Key(graph, graph.getModificationStamp(), algorithm);
+        synchronized(results) {
+            Object result = results.get(key);
+            if(result != null) {
+                HITS.increment();
+                return (T) result;
+            }
+        }
+        MISSES.increment();
+        T result = calculation.apply(graph);
+        synchronized(results) {
+            results.put(key, result);
+        }
+        return result;
+    }
+
+    public int size() {
+        synchronized(results) {
+            return results.size();
+        }
+    }
+
+    public void clear() {
+        synchronized(results) {
+            results.clear();
+        }
+    }
+
+    /**
+     * Identifies a graph by reference rather than by equals, so two graphs with the same contents do not share
+     * results, and does not keep it alive. A key whose graph has been collected equals no other key.
+     */
+    private static final class Key {
+        private final WeakReference<Graph> graph;
+        private final int graphHash;
+        private final long stamp;
+        private final String algorithm;
+
+        private Key(Graph graph, long stamp, String algorithm) {
+            this.graph = new WeakReference<>(graph);
+            graphHash = System.identityHashCode(graph);
+            this.stamp = stamp;
+            this.algorithm = algorithm;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if(this == o) {
+                return true;
+            }
+            if(!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            Graph referent = graph.get();
+            return referent != null && referent == other.graph.get() && stamp == other.stamp
+                    && algorithm.equals(other.algorithm);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * (31 * graphHash + Long.hashCode(stamp)) + algorithm.hashCode();
+        }
+    }
+}
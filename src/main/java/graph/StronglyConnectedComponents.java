@@ -0,0 +1,97 @@
+package graph;
+
+/**
+ * Tarjan's strongly connected components algorithm over a CompactGraph, with the depth first search driven by an
+ * explicit stack of vertices and edge positions, so the search depth of large graphs is not limited by the thread's
+ * call stack. Runs in time linear in the size of the snapshot.
+ */
+
+final class StronglyConnectedComponents {
+    private final CompactGraph graph;
+    private final int[] discovery;
+    private final int[] lowLink;
+    private final int[] component;
+    private final int[] vertexStack;
+    private final int[] callStack;
+    private final int[] edgePositions;
+    private int vertexStackSize;
+    private int callStackSize;
+    private int numDiscovered;
+    private int numComponents;
+
+    private StronglyConnectedComponents(CompactGraph graph) {
+        this.graph = graph;
+        int numVertices = graph.numVertices();
+        discovery = new int[numVertices];
+        lowLink = new int[numVertices];
+        component = new int[numVertices];
+        vertexStack = new int[numVertices];
+        callStack = new int[numVertices];
+        edgePositions = new int[numVertices];
+        for(int vertex = 0; vertex < numVertices; vertex++) {
+            discovery[vertex] = -1;
+            component[vertex] = -1;
+        }
+    }
+
+    /**
+     * @return the strongly connected components of the snapshot, in which two vertices share a component when each
+     * can reach the other along out-edges.
+     */
+    static ConnectedComponents componentsOf(CompactGraph graph) {
+        StronglyConnectedComponents search = new StronglyConnectedComponents(graph);
+        for(int vertex = 0; vertex < graph.numVertices(); vertex++) {
+            if(search.discovery[vertex] < 0) {
+                search.searchFrom(vertex);
+            }
+        }
+        return ConnectedComponents.fromRepresentatives(search.component);
+    }
+
+    private void searchFrom(int root) {
+        discover(root);
+        while(callStackSize > 0) {
+            int vertex = callStack[callStackSize - 1];
+            int position = edgePositions[vertex];
+            if(position < graph.outEnd(vertex)) {
+                edgePositions[vertex]++;
+                int neighbor = graph.outTarget(position);
+                if(discovery[neighbor] < 0) {
+                    discover(neighbor);
+                } else if(component[neighbor] < 0) {
+                    lowLink[vertex] = Math.min(lowLink[vertex], discovery[neighbor]);
+                }
+                continue;
+            }
+            callStackSize--;
+            if(callStackSize > 0) {
+                int parent = callStack[callStackSize - 1];
+                lowLink[parent] = Math.min(lowLink[parent], lowLink[vertex]);
+            }
+            if(lowLink[vertex] == discovery[vertex]) {
+                popComponent(vertex);
+            }
+        }
+    }
+
+    private void discover(int vertex) {
+        discovery[vertex] = numDiscovered;
+        lowLink[vertex] = numDiscovered;
+        numDiscovered++;
+        edgePositions[vertex] = graph.outStart(vertex);
+        vertexStack[vertexStackSize++] = vertex;
+        callStack[callStackSize++] = vertex;
+    }
+
+    /**
+     * Assigns every vertex above the given root on the vertex stack, and the root itself, to a new component.
+     */
+    private void popComponent(int root) {
+        int member;
+        do {
+            member = vertexStack[--vertexStackSize];
+            component[member] = numComponents;
+        } while(member != root);
+        numComponents++;
+    }
+}
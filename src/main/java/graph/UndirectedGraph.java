@@ -1,21 +1,34 @@
 package graph;
 
+import java.util.Map;
+import java.util.Set;
+
 public class UndirectedGraph extends Graph<UndirectedGraph> {
 
+    public UndirectedGraph() {
+    }
+
+    UndirectedGraph(int expectedNumVertices) {
+        super(expectedNumVertices);
+    }
+
+    protected UndirectedGraph(Map<Integer, Vertex> vertices, Map<Integer, Set<Edge>> edges) {
+        super(vertices, edges);
+    }
+
     @Override
     public void removeEdge(int a, int b) {
         Edge edge = new Edge(Math.min(a, b), Math.max(a,b));
         confirmEdgeExists(edge);
         removeEdgeFromGraph(edge);
-        numEdges--;
+        addToNumEdges(-1);
+        notifyEdgeRemoved(edge);
+        recordModification();
     }
 
     @Override
     public UndirectedGraph clone() {
-        UndirectedGraph clone = new UndirectedGraph();
-        addVerticesToClone(clone);
-        addEdgesToClone(clone);
-        return clone;
+        return copyInto(new UndirectedGraph(vertices.size()));
     }
 
     @Override
@@ -0,0 +1,41 @@
+package graph;
+
+import java.util.Arrays;
+
+/**
+ * Outcome of checking a proposed dominating set against a graph. Alongside the verdict it reports how many vertices
+ * were left undominated and the values of the first of them, in ascending order, up to the limit requested.
+ */
+
+public final class VerificationResult {
+    private final int numUndominated;
+    private final int[] undominatedVertices;
+
+    VerificationResult(int numUndominated, int[] undominatedVertices) {
+        this.numUndominated = numUndominated;
+        this.undominatedVertices = undominatedVertices;
+    }
+
+    public boolean isDominatingSet() {
+        return numUndominated == 0;
+    }
+
+    public int getNumUndominated() {
+        return numUndominated;
+    }
+
+    /**
+     * @return the values of the lowest undominated vertices, at most as many as were requested.
+     */
+    public int[] getUndominatedVertices() {
+        return undominatedVertices.clone();
+    }
+
+    @Override
+    public String toString() {
+        return "VerificationResult{" +
+                numUndominated + " undominated" +
+                ", " + Arrays.toString(undominatedVertices) +
+                '}';
+    }
+}
@@ -1,16 +1,27 @@
 package graph;
 
-import java.util.HashSet;
-import java.util.Objects;
 import java.util.Set;
+import java.util.function.IntConsumer;
 
 public class Vertex {
     private int value;
-    private Set<Vertex> neighbors;
+    private NeighborSet neighbors;
 
     public Vertex(int value) {
+        this(value, new NeighborSet());
+    }
+
+    Vertex(int value, int expectedDegree) {
+        this(value, new NeighborSet(expectedDegree));
+    }
+
+    /**
+     * @param neighbors The set to hold the neighbors in, or null for a subclass that holds its neighbors itself and
+     *                  overrides every method reading or changing them.
+     */
+    Vertex(int value, NeighborSet neighbors) {
         this.value = value;
-        neighbors = new HashSet<>();
+        this.neighbors = neighbors;
     }
 
     public void addNeighbor(Vertex neighbor) {
@@ -25,17 +36,32 @@ public class Vertex {
         return neighbors;
     }
 
+    /**
+     * Passes the value of every neighbor to the action without boxing or allocating.
+     */
+    public void forEachNeighbor(IntConsumer action) {
+        neighbors.forEachValue(action);
+    }
+
+    public int degree() {
+        return neighbors.size();
+    }
+
+    public boolean hasNeighbor(int neighborValue) {
+        return neighbors.containsValue(neighborValue);
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
-        if (o == null || getClass() != o.getClass()) return false;
+        if (!(o instanceof Vertex)) return false;
         Vertex vertex = (Vertex) o;
         return value == vertex.value;
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(value);
+        return Integer.hashCode(value);
     }
 
     @Override
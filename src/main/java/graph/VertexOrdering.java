@@ -0,0 +1,335 @@
+package graph;
+
+import java.util.Arrays;
+
+/**
+ * Orderings of the vertices of a CompactGraph that place neighbors at nearby dense indices, so that walking a
+ * neighbor list touches fewer cache lines and pages of the per-vertex arrays, and gap-encoded lists in a
+ * CompressedGraph shrink. Every ordering follows a directed snapshot's edges in both directions, and every one is
+ * deterministic.
+ *
+ * DEGREE puts vertices in descending order of degree, gathering the hubs that most lists point to at the front.
+ * BREADTH_FIRST numbers vertices in the order a breadth first search reaches them, restarted from the lowest unreached
+ * index for every component. REVERSE_CUTHILL_MCKEE is the bandwidth-reducing breadth first order that starts every
+ * component at a vertex of least degree and visits each vertex's neighbors in ascending order of degree, reversed.
+ * GORDER is the greedy window heuristic of Wei et al., Speedup Graph Processing by Graph Ordering: it places next
+ * whichever vertex is most strongly linked to the last WINDOW placed vertices, scoring one for every edge between them
+ * and one for every in-neighbor they share. Siblings are not counted through hubs of more than the square root of the
+ * number of vertices, whose many neighbors would dominate its running time.
+ */
+
+public enum VertexOrdering {
+    DEGREE {
+        @Override
+        public int[] newIndices(CompactGraph graph) {
+            int numVertices = graph.numVertices();
+            long[] byDegree = new long[numVertices];
+            for(int vertex = 0; vertex < numVertices; vertex++) {
+                byDegree[vertex] = ((long) -degreeOf(graph, vertex) << 32) | vertex;
+            }
+            Arrays.sort(byDegree);
+            int[] newIndices = new int[numVertices];
+            for(int position = 0; position < numVertices; position++) {
+                newIndices[(int) byDegree[position]] = position;
+            }
+            return newIndices;
+        }
+    },
+    BREADTH_FIRST {
+        @Override
+        public int[] newIndices(CompactGraph graph) {
+            int[] starts = new int[graph.numVertices()];
+            for(int vertex = 0; vertex < starts.length; vertex++) {
+                starts[vertex] = vertex;
+            }
+            int[] order = breadthFirstOrder(graph, starts, false);
+            int[] newIndices = new int[order.length];
+            for(int position = 0; position < order.length; position++) {
+                newIndices[order[position]] = position;
+            }
+            return newIndices;
+        }
+    },
+    REVERSE_CUTHILL_MCKEE {
+        @Override
+        public int[] newIndices(CompactGraph graph) {
+            int[] order = breadthFirstOrder(graph, verticesByAscendingDegree(graph), true);
+            int[] newIndices = new int[order.length];
+            for(int position = 0; position < order.length; position++) {
+                newIndices[order[position]] = order.length - 1 - position;
+            }
+            return newIndices;
+        }
+    },
+    GORDER {
+        @Override
+        public int[] newIndices(CompactGraph graph) {
+            return new GorderPlacement(graph).place();
+        }
+    };
+
+    private static final int WINDOW = 5;
+
+    /**
+     * @return the new dense index of every vertex, indexed by its current index, as CompactGraph.relabel takes it.
+     */
+    public abstract int[] newIndices(CompactGraph graph);
+
+    /**
+     * Relabels the snapshot in this order.
+     * @return the relabelled snapshot, along with the average gap between neighbors before and after.
+     */
+    public Reordering reorder(CompactGraph graph) {
+        int[] newIndices = newIndices(graph);
+        CompactGraph relabelled = graph.relabel(newIndices);
+        return new Reordering(this, relabelled, newIndices, averageGap(graph), averageGap(relabelled));
+    }
+
+    /**
+     * Measures how far apart the out-neighbors of each vertex are. The gaps are the distance from each vertex to its
+     * lowest out-neighbor and between consecutive out-neighbors in ascending order, the gaps a CompressedGraph encodes.
+     * @return the average gap, or 0 if the snapshot has no edges.
+     */
+    public static double averageGap(CompactGraph graph) {
+        long totalGap = 0;
+        long numGaps = 0;
+        for(int vertex = 0; vertex < graph.numVertices(); vertex++) {
+            int previous = vertex;
+            for(int i = graph.outStart(vertex); i < graph.outEnd(vertex); i++) {
+                int neighbor = graph.outTarget(i);
+                totalGap += Math.abs(neighbor - previous);
+                previous = neighbor;
+            }
+            numGaps += graph.outDegree(vertex);
+        }
+        return numGaps == 0 ? 0 : (double) totalGap / numGaps;
+    }
+
+    private static int degreeOf(CompactGraph graph, int vertex) {
+        return graph.isDirected() ? graph.outDegree(vertex) + graph.inDegree(vertex) : graph.outDegree(vertex);
+    }
+
+    private static int[] verticesByAscendingDegree(CompactGraph graph) {
+        long[] byDegree = new long[graph.numVertices()];
+        for(int vertex = 0; vertex < byDegree.length; vertex++) {
+            byDegree[vertex] = ((long) degreeOf(graph, vertex) << 32) | vertex;
+        }
+        Arrays.sort(byDegree);
+        int[] vertices = new int[byDegree.length];
+        for(int i = 0; i < vertices.length; i++) {
+            vertices[i] = (int) byDegree[i];
+        }
+        return vertices;
+    }
+
+    /**
+     * Runs a breadth first search from each of the starts not yet reached, in turn, following edges in both
+     * directions. The queue is never emptied, so it ends up holding every vertex in the order it was reached.
+     * @param byDegree Whether each vertex's newly reached neighbors are queued in ascending order of degree rather
+     *                 than in the order of its out-list and then its in-list.
+     * @return the vertices in the order they were reached.
+     */
+    private static int[] breadthFirstOrder(CompactGraph graph, int[] starts, boolean byDegree) {
+        int numVertices = graph.numVertices();
+        boolean[] reached = new boolean[numVertices];
+        int[] queue = new int[numVertices];
+        long[] keys = new long[16];
+        int head = 0;
+        int tail = 0;
+        for(int start : starts) {
+            if(reached[start]) {
+                continue;
+            }
+            reached[start] = true;
+            queue[tail++] = start;
+            while(head < tail) {
+                int vertex = queue[head++];
+                int firstQueued = tail;
+                for(int i = graph.outStart(vertex); i < graph.outEnd(vertex); i++) {
+                    tail = enqueue(graph.outTarget(i), reached, queue, tail);
+                }
+                if(graph.isDirected()) {
+                    for(int i = graph.inStart(vertex); i < graph.inEnd(vertex); i++) {
+                        tail = enqueue(graph.inTarget(i), reached, queue, tail);
+                    }
+                }
+                if(byDegree && tail - firstQueued > 1) {
+                    if(keys.length < tail - firstQueued) {
+                        keys = new long[Math.max(tail - firstQueued, keys.length * 2)];
+                    }
+                    for(int i = firstQueued; i < tail; i++) {
+                        keys[i - firstQueued] = ((long) degreeOf(graph, queue[i]) << 32) | queue[i];
+                    }
+                    Arrays.sort(keys, 0, tail - firstQueued);
+                    for(int i = firstQueued; i < tail; i++) {
+                        queue[i] = (int) keys[i - firstQueued];
+                    }
+                }
+            }
+        }
+        return queue;
+    }
+
+    private static int enqueue(int vertex, boolean[] reached, int[] queue, int tail) {
+        if(reached[vertex]) {
+            return tail;
+        }
+        reached[vertex] = true;
+        queue[tail] = vertex;
+        return tail + 1;
+    }
+
+    /**
+     * Greedy Gorder placement. The score of every unplaced vertex against the window is kept in a UnitHeap, and is
+     * raised as each vertex enters the window and lowered again as it leaves.
+     */
+    private static final class GorderPlacement {
+        private final CompactGraph graph;
+        private final int maxSiblingDegree;
+        private final UnitHeap scores;
+        private final int[] newIndices;
+
+        GorderPlacement(CompactGraph graph) {
+            this.graph = graph;
+            maxSiblingDegree = (int) Math.sqrt(graph.numVertices());
+            scores = new UnitHeap(graph.numVertices());
+            newIndices = new int[graph.numVertices()];
+            Arrays.fill(newIndices, -1);
+        }
+
+        /**
+         * Starts from the vertex of highest in-degree, the lowest index if several are tied.
+         */
+        int[] place() {
+            int numVertices = graph.numVertices();
+            int[] order = new int[numVertices];
+            for(int position = 0; position < numVertices; position++) {
+                int vertex = position == 0 ? highestInDegreeVertex() : scores.popMax();
+                if(position == 0) {
+                    scores.remove(vertex);
+                }
+                newIndices[vertex] = position;
+                order[position] = vertex;
+                adjustScores(vertex, 1);
+                if(position >= WINDOW) {
+                    adjustScores(order[position - WINDOW], -1);
+                }
+            }
+            return newIndices;
+        }
+
+        private int highestInDegreeVertex() {
+            int highest = 0;
+            for(int vertex = 1; vertex < graph.numVertices(); vertex++) {
+                if(graph.inDegree(vertex) > graph.inDegree(highest)) {
+                    highest = vertex;
+                }
+            }
+            return highest;
+        }
+
+        /**
+         * Changes by delta the score of every unplaced neighbor of the vertex, and of every unplaced vertex sharing an
+         * in-neighbor with it once for each in-neighbor shared.
+         */
+        private void adjustScores(int vertex, int delta) {
+            for(int i = graph.outStart(vertex); i < graph.outEnd(vertex); i++) {
+                adjust(graph.outTarget(i), delta);
+            }
+            for(int i = graph.inStart(vertex); i < graph.inEnd(vertex); i++) {
+                int inNeighbor = graph.inTarget(i);
+                if(graph.isDirected()) {
+                    adjust(inNeighbor, delta);
+                }
+                if(graph.outDegree(inNeighbor) > maxSiblingDegree) {
+                    continue;
+                }
+                for(int j = graph.outStart(inNeighbor); j < graph.outEnd(inNeighbor); j++) {
+                    int sibling = graph.outTarget(j);
+                    if(sibling != vertex) {
+                        adjust(sibling, delta);
+                    }
+                }
+            }
+        }
+
+        private void adjust(int vertex, int delta) {
+            if(newIndices[vertex] < 0) {
+                scores.add(vertex, delta);
+            }
+        }
+    }
+
+    /**
+     * Max-priority queue for integer scores that only ever change by small steps. Vertices with equal scores are kept
+     * in a doubly linked bucket, so a change of score moves a vertex between buckets in constant time, and popping
+     * walks down from the highest bucket that was last known to be non-empty.
+     */
+    private static final class UnitHeap {
+        private final int[] scores;
+        private final int[] next;
+        private final int[] previous;
+        private int[] heads;
+        private int top;
+
+        UnitHeap(int numVertices) {
+            scores = new int[numVertices];
+            next = new int[numVertices];
+            previous = new int[numVertices];
+            heads = new int[16];
+            Arrays.fill(heads, -1);
+            for(int vertex = numVertices - 1; vertex >= 0; vertex--) {
+                link(vertex);
+            }
+        }
+
+        void add(int vertex, int delta) {
+            unlink(vertex);
+            scores[vertex] += delta;
+            link(vertex);
+        }
+
+        void remove(int vertex) {
+            unlink(vertex);
+        }
+
+        /**
+         * @return the most recently raised vertex of highest score, removed from the heap.
+         */
+        int popMax() {
+            while(heads[top] < 0) {
+                top--;
+            }
+            int vertex = heads[top];
+            unlink(vertex);
+            return vertex;
+        }
+
+        private void link(int vertex) {
+            int score = scores[vertex];
+            if(score >= heads.length) {
+                int oldLength = heads.length;
+                heads = Arrays.copyOf(heads, Math.max(score + 1, oldLength * 2));
+                Arrays.fill(heads, oldLength, heads.length, -1);
+            }
+            next[vertex] = heads[score];
+            previous[vertex] = -1;
+            if(heads[score] >= 0) {
+                previous[heads[score]] = vertex;
+            }
+            heads[score] = vertex;
+            top = Math.max(top, score);
+        }
+
+        private void unlink(int vertex) {
+            if(previous[vertex] >= 0) {
+                next[previous[vertex]] = next[vertex];
+            } else {
+                heads[scores[vertex]] = next[vertex];
+            }
+            if(next[vertex] >= 0) {
+                previous[next[vertex]] = previous[vertex];
+            }
+        }
+    }
+}
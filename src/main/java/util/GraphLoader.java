@@ -6,54 +6,294 @@
  */
 package util;
 
-import graph.Edge;
+import graph.CompactGraph;
+import graph.Counter;
+import graph.GraphBuilder;
+import graph.Histogram;
+import graph.IntArrayList;
+import graph.IntHashSet;
+import graph.Metrics;
+import graph.Vertex;
 
-import java.io.File;
-import java.util.HashSet;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
-import java.util.Scanner;
-import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 public class GraphLoader {
+    private static final long MIN_CHUNK_SIZE = 1 << 20;
+    private static final long MAX_CHUNK_SIZE = 1 << 30;
+    private static final int CHUNKS_PER_THREAD = 4;
+    private static final int BOUNDARY_SCAN_SIZE = 4096;
+    private static final Counter LINES = Metrics.counter(Metrics.LOADER_LINES);
+    private static final Histogram LINES_PER_SECOND = Metrics.histogram(Metrics.LOADER_LINES_PER_SECOND);
+
     /**
      * Loads graph with data from a file.
      * The file should consist of lines with 2 integers each, corresponding
      * to a "from" vertex and a "to" vertex.
+     *
+     * The file is memory-mapped and cut into chunks on line boundaries, and the
+     * chunks are parsed in parallel on the common fork-join pool. Only parsing is
+     * parallel: the parsed edges are then added to the graph in file order on the
+     * calling thread, in one GraphBuilder pass when the graph is empty and one
+     * addVertex and addEdge call at a time when it is not. Self-loops and edges
+     * that are already in the graph are skipped, and parsing stops at the first
+     * token that is not an integer.
      */
     public static void loadGraph(graph.Graph g, String filename) {
-        Set<Integer> seen = new HashSet<Integer>();
-        Scanner sc;
+        long start = System.nanoTime();
+        int[] values;
         try {
-            sc = new Scanner(new File(filename));
-        } catch (Exception e) {
+            values = parseFile(filename);
+        } catch (IOException e) {
             e.printStackTrace();
             return;
         }
-        // Iterate over the lines in the file, adding new
+        addEdgesToGraph(g, values);
+        recordLoad(start, values.length / 2);
+    }
+
+    /**
+     * Loads a data set straight into a read-only CompactGraph, holding exactly what loading it into an empty graph and
+     * freezing that graph would. The file is parsed as in loadGraph, and vertex values are given dense indices by an
+     * IdMapper as they are read, so no Vertex or Edge objects are created.
+     * @param directed Whether the edges are read as directed, as into a DirectedGraph, or undirected.
+     * @throws UncheckedIOException if the file cannot be read.
+     */
+    public static CompactGraph loadCompactGraph(String filename, boolean directed) {
+        long start = System.nanoTime();
+        int[] values;
+        try {
+            values = parseFile(filename);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        int numLines = values.length / 2;
+        CompactGraph graph = builderWithoutSelfLoops(values).buildCompact(directed);
+        recordLoad(start, numLines);
+        return graph;
+    }
+
+    /**
+     * Records the lines of a finished load, and its throughput over the whole load from parsing to the finished graph.
+     */
+    private static void recordLoad(long start, int numLines) {
+        LINES.add(numLines);
+        if(Metrics.isEnabled()) {
+            long elapsed = Math.max(System.nanoTime() - start, 1);
+            LINES_PER_SECOND.record(numLines * 1_000_000_000L / elapsed);
+        }
+    }
+
+    private static void addEdgesToGraph(graph.Graph<?> g, int[] values) {
+        if(g.getVertexMap().isEmpty()) {
+            buildGraph(g, values);
+            return;
+        }
+        IntHashSet seen = new IntHashSet();
+        Map<Integer, Vertex> vertexMap = g.getVertexMap();
+        // Iterate over the parsed pairs, adding new
         // vertices as they are found and connecting them with edges.
 
-        while (sc.hasNextInt()) {
-            int v1 = sc.nextInt();
-            int v2 = sc.nextInt();
+        for (int i = 0; i + 1 < values.length; i += 2) {
+            int v1 = values[i];
+            int v2 = values[i + 1];
             if(v1 == v2) {
                 continue;
             }
-            if (!seen.contains(v1)) {
+            if (seen.add(v1)) {
                 g.addVertex(v1);
-                seen.add(v1);
             }
-            if (!seen.contains(v2)) {
+            if (seen.add(v2)) {
                 g.addVertex(v2);
-                seen.add(v2);
             }
-            Map<Integer,Set<Edge>> edgeMap = g.getEdgeMap();
-            Edge edgeToAdd = new Edge(v1, v2);
-            Set<Edge> edges = edgeMap.get(v1);
-            if(edges == null || !edges.contains(edgeToAdd)) {
+            if(!vertexMap.get(v1).hasNeighbor(v2)) {
                 g.addEdge(v1, v2);
             }
         }
+    }
+
+    /**
+     * Bulk path for an empty graph: self-loops are filtered out and everything
+     * else is handed to a GraphBuilder, which drops the duplicate edges.
+     */
+    private static void buildGraph(graph.Graph<?> g, int[] values) {
+        builderWithoutSelfLoops(values).buildInto(g);
+    }
+
+    private static GraphBuilder builderWithoutSelfLoops(int[] values) {
+        int length = 0;
+        for (int i = 0; i + 1 < values.length; i += 2) {
+            if(values[i] != values[i + 1]) {
+                values[length++] = values[i];
+                values[length++] = values[i + 1];
+            }
+        }
+        return new GraphBuilder(0, length / 2)
+                .addEdgePairs(Arrays.copyOf(values, length));
+    }
+
+    private static int[] parseFile(String filename) throws IOException {
+        try (FileChannel channel = FileChannel.open(Paths.get(filename), StandardOpenOption.READ)) {
+            long[] boundaries = findChunkBoundaries(channel);
+            List<ParsedChunk> chunks;
+            try {
+                chunks = IntStream.range(0, boundaries.length - 1)
+                        .parallel()
+                        .mapToObj(i -> parseChunk(channel, boundaries[i], boundaries[i + 1]))
+                        .collect(Collectors.toList());
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            return mergeChunks(chunks);
+        }
+    }
+
+    /**
+     * Splits the file into roughly equal chunks, moving every split point forward to just past the next newline so
+     * that no line is shared between two chunks.
+     */
+    private static long[] findChunkBoundaries(FileChannel channel) throws IOException {
+        long size = channel.size();
+        int numChunks = (int) Math.max(size / MAX_CHUNK_SIZE + 1,
+                Math.min(ForkJoinPool.getCommonPoolParallelism() * CHUNKS_PER_THREAD, size / MIN_CHUNK_SIZE));
+        long[] boundaries = new long[numChunks + 1];
+        int count = 1;
+        for(int i = 1; i < numChunks; i++) {
+            long boundary = findNextLineStart(channel, size / numChunks * i, size);
+            if(boundary > boundaries[count - 1] && boundary < size) {
+                boundaries[count++] = boundary;
+            }
+        }
+        boundaries[count++] = size;
+        return Arrays.copyOf(boundaries, count);
+    }
+
+    private static long findNextLineStart(FileChannel channel, long position, long size) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(BOUNDARY_SCAN_SIZE);
+        while(position < size) {
+            buffer.clear();
+            int read = channel.read(buffer, position);
+            if(read <= 0) {
+                break;
+            }
+            for(int i = 0; i < read; i++) {
+                if(buffer.get(i) == '\n') {
+                    return position + i + 1;
+                }
+            }
+            position += read;
+        }
+        return size;
+    }
+
+    private static ParsedChunk parseChunk(FileChannel channel, long start, long end) {
+        MappedByteBuffer buffer;
+        try {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return new ChunkParser(buffer).parse();
+    }
+
+    /**
+     * Concatenates the chunks in file order, stopping after the first chunk in which parsing hit a token that is not
+     * an integer, as the Scanner-based loader used to.
+     */
+    private static int[] mergeChunks(List<ParsedChunk> chunks) {
+        IntArrayList values = new IntArrayList(chunks.stream().mapToInt(chunk -> chunk.values.size()).sum());
+        for(ParsedChunk chunk : chunks) {
+            values.addAll(chunk.values);
+            if(chunk.stoppedEarly) {
+                break;
+            }
+        }
+        return values.toArray();
+    }
+
+    private static class ParsedChunk {
+        private final IntArrayList values;
+        private final boolean stoppedEarly;
 
-        sc.close();
+        private ParsedChunk(IntArrayList values, boolean stoppedEarly) {
+            this.values = values;
+            this.stoppedEarly = stoppedEarly;
+        }
+    }
+
+    /**
+     * Hand-written parser for whitespace-separated integers, reading straight from the mapped bytes.
+     */
+    private static class ChunkParser {
+        private final MappedByteBuffer buffer;
+        private final IntArrayList values;
+
+        private ChunkParser(MappedByteBuffer buffer) {
+            this.buffer = buffer;
+            values = new IntArrayList(Math.max(buffer.limit() / 6, 16));
+        }
+
+        private ParsedChunk parse() {
+            int position = 0;
+            int limit = buffer.limit();
+            while(position < limit) {
+                byte current = buffer.get(position);
+                if(isWhitespace(current)) {
+                    position++;
+                    continue;
+                }
+                position = parseInt(position, limit);
+                if(position < 0) {
+                    return new ParsedChunk(values, true);
+                }
+            }
+            return new ParsedChunk(values, false);
+        }
+
+        /**
+         * @return the position just past the parsed integer, or -1 if the token at the given position is not an
+         * integer.
+         */
+        private int parseInt(int position, int limit) {
+            boolean negative = buffer.get(position) == '-';
+            if(negative || buffer.get(position) == '+') {
+                position++;
+            }
+            long value = 0;
+            int digits = 0;
+            while(position < limit && !isWhitespace(buffer.get(position))) {
+                int digit = buffer.get(position) - '0';
+                if(digit < 0 || digit > 9) {
+                    return -1;
+                }
+                value = value * 10 + digit;
+                if(value > (long) Integer.MAX_VALUE + 1) {
+                    return -1;
+                }
+                digits++;
+                position++;
+            }
+            value = negative ? -value : value;
+            if(digits == 0 || value > Integer.MAX_VALUE) {
+                return -1;
+            }
+            values.add((int) value);
+            return position;
+        }
+
+        private static boolean isWhitespace(byte current) {
+            return current == ' ' || current == '\n' || current == '\r' || current == '\t';
+        }
     }
 }
@@ -0,0 +1,497 @@
+package util;
+
+import graph.CompactGraph;
+import graph.Edge;
+import graph.Graph;
+import graph.GraphBuilder;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.IntConsumer;
+
+/**
+ * Versioned binary on-disk format for graphs, and a read-only view of such a file that is memory-mapped rather than
+ * read onto the heap.
+ *
+ * A snapshot file is little-endian and laid out as a 32 byte header followed by int sections in the same compressed
+ * sparse row layout as CompactGraph:
+ * <pre>
+ *   header      magic "GRPH", version, flags (1 = directed, 2 = weighted), vertex count, edge count, arc count and
+ *               eight reserved bytes
+ *   ids         vertex values in ascending order, one per dense index
+ *   outOffsets  vertex count + 1 entries
+ *   outTargets  arc count entries, the dense indices of each vertex's out-neighbors in ascending order
+ *   inOffsets   directed snapshots only
+ *   inTargets   directed snapshots only
+ *   weights     weighted snapshots only, one double per out-arc, aligned to eight bytes
+ * </pre>
+ * An undirected edge is stored as an arc in each direction, so the arc count of an undirected snapshot is twice its
+ * edge count, less one for every self-loop. Each section is mapped on its own, so no section may exceed 2 GB.
+ */
+
+public class GraphSnapshot {
+    private static final int MAGIC = 0x48505247;
+    private static final int VERSION = 1;
+    private static final int DIRECTED_FLAG = 1;
+    private static final int WEIGHTED_FLAG = 2;
+    private static final int HEADER_SIZE = 32;
+    private static final int WRITE_BUFFER_SIZE = 1 << 20;
+
+    private final boolean directed;
+    private final int numEdges;
+    private final IntBuffer ids;
+    private final IntBuffer outOffsets;
+    private final IntBuffer outTargets;
+    private final IntBuffer inOffsets;
+    private final IntBuffer inTargets;
+    private final DoubleBuffer weights;
+
+    private GraphSnapshot(boolean directed, int numEdges, IntBuffer ids, IntBuffer outOffsets, IntBuffer outTargets,
+                          IntBuffer inOffsets, IntBuffer inTargets, DoubleBuffer weights) {
+        this.directed = directed;
+        this.numEdges = numEdges;
+        this.ids = ids;
+        this.outOffsets = outOffsets;
+        this.outTargets = outTargets;
+        this.inOffsets = inOffsets;
+        this.inTargets = inTargets;
+        this.weights = weights;
+    }
+
+    /**
+     * Writes the vertices and edges of a graph to a snapshot file. Edge weights are written only if at least one edge
+     * has a non-zero weight.
+     */
+    public static void writeGraph(Graph<?> g, String filename) throws IOException {
+        CompactGraph compactGraph = g.freeze();
+        int numArcs = countArcs(compactGraph);
+        double[] arcWeights = collectArcWeights(g, compactGraph);
+        try (FileChannel channel = FileChannel.open(Paths.get(filename), StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            SectionWriter writer = new SectionWriter(channel);
+            writeHeader(writer, compactGraph, numArcs, arcWeights != null);
+            for(int i = 0; i < compactGraph.numVertices(); i++) {
+                writer.putInt(compactGraph.idOf(i));
+            }
+            writeAdjacency(writer, compactGraph, false);
+            if(compactGraph.isDirected()) {
+                writeAdjacency(writer, compactGraph, true);
+            }
+            if(arcWeights != null) {
+                writer.alignTo(Double.BYTES);
+                for(double weight : arcWeights) {
+                    writer.putDouble(weight);
+                }
+            }
+            writer.flush();
+        }
+    }
+
+    /**
+     * Memory-maps a snapshot file. Adjacency is served straight from the mapping, and the mapping is released once
+     * the returned snapshot is garbage collected.
+     */
+    public static GraphSnapshot mapGraph(String filename) throws IOException {
+        try (FileChannel channel = FileChannel.open(Paths.get(filename), StandardOpenOption.READ)) {
+            if(channel.size() < HEADER_SIZE) {
+                throw new IOException(filename + " is not a graph snapshot.");
+            }
+            ByteBuffer header = map(channel, 0, HEADER_SIZE);
+            if(header.getInt(0) != MAGIC) {
+                throw new IOException(filename + " is not a graph snapshot.");
+            }
+            if(header.getInt(4) != VERSION) {
+                throw new IOException("Unsupported graph snapshot version " + header.getInt(4) + ".");
+            }
+            int flags = header.getInt(8);
+            int numVertices = header.getInt(12);
+            int numEdges = header.getInt(16);
+            int numArcs = header.getInt(20);
+            boolean directed = (flags & DIRECTED_FLAG) != 0;
+
+            long position = HEADER_SIZE;
+            IntBuffer ids = mapInts(channel, position, numVertices);
+            position += (long) numVertices * Integer.BYTES;
+            IntBuffer outOffsets = mapInts(channel, position, numVertices + 1);
+            position += (long) (numVertices + 1) * Integer.BYTES;
+            IntBuffer outTargets = mapInts(channel, position, numArcs);
+            position += (long) numArcs * Integer.BYTES;
+            IntBuffer inOffsets = outOffsets;
+            IntBuffer inTargets = outTargets;
+            if(directed) {
+                inOffsets = mapInts(channel, position, numVertices + 1);
+                position += (long) (numVertices + 1) * Integer.BYTES;
+                inTargets = mapInts(channel, position, numArcs);
+                position += (long) numArcs * Integer.BYTES;
+            }
+            DoubleBuffer weights = null;
+            if((flags & WEIGHTED_FLAG) != 0) {
+                position = align(position, Double.BYTES);
+                weights = map(channel, position, (long) numArcs * Double.BYTES).asDoubleBuffer();
+            }
+            return new GraphSnapshot(directed, numEdges, ids, outOffsets, outTargets, inOffsets, inTargets, weights);
+        }
+    }
+
+    /**
+     * Adds every vertex and edge of the snapshot, along with any edge weights, to the given graph, which will then
+     * hold the same vertices and edges as the graph the snapshot was written from. An empty graph is built in one
+     * GraphBuilder pass straight from the mapped sections, and the weights are applied afterwards. A graph that already
+     * has vertices is given them one vertex and edge at a time, with the usual validation.
+     */
+    public void loadGraph(Graph<?> g) {
+        if(g.getVertexMap().isEmpty()) {
+            buildGraph(g);
+        } else {
+            addToGraph(g);
+        }
+        if(weights != null) {
+            for(int source = 0; source < numVertices(); source++) {
+                copyWeights(g, source);
+            }
+        }
+    }
+
+    /**
+     * Wraps the mapped vertex values, offsets and targets in a CompactGraph without copying them onto the heap, so
+     * isConnected, greedy, connectedGreedy and verify can run directly on the mapping. Edge weights are not carried
+     * over. The mapping stays in use for as long as the returned snapshot is reachable.
+     */
+    public CompactGraph toCompactGraph() {
+        return CompactGraph.ofBuffers(directed, ids, outOffsets, outTargets, inOffsets, inTargets, numEdges);
+    }
+
+    private void buildGraph(Graph<?> g) {
+        GraphBuilder builder = new GraphBuilder(numVertices(), numEdges);
+        for(int i = 0; i < numVertices(); i++) {
+            builder.addVertex(idOf(i));
+        }
+        forEachEdge(builder::addEdge);
+        builder.buildInto(g);
+    }
+
+    private void addToGraph(Graph<?> g) {
+        for(int i = 0; i < numVertices(); i++) {
+            g.addVertex(idOf(i));
+        }
+        forEachEdge(g::addEdge);
+    }
+
+    /**
+     * Passes the values of the endpoints of every edge to the action, each undirected edge once.
+     */
+    private void forEachEdge(EdgeConsumer action) {
+        for(int source = 0; source < numVertices(); source++) {
+            for(int arc = outOffsets.get(source); arc < outOffsets.get(source + 1); arc++) {
+                int target = outTargets.get(arc);
+                if(directed || target >= source) {
+                    action.accept(idOf(source), idOf(target));
+                }
+            }
+        }
+    }
+
+    private interface EdgeConsumer {
+        void accept(int start, int end);
+    }
+
+    /**
+     * Sets the weight of every edge just added from the vertex at the given index, walking its edge set once.
+     */
+    private void copyWeights(Graph<?> g, int source) {
+        int value = idOf(source);
+        Set<Edge> edges = g.getEdgeMap().get(value);
+        if(edges == null) {
+            return;
+        }
+        for(Edge edge : edges) {
+            if(edge.getA() == value) {
+                edge.setWeight(weights.get(findArc(source, indexOf(edge.getB()))));
+            }
+        }
+    }
+
+    public boolean isDirected() {
+        return directed;
+    }
+
+    public boolean isWeighted() {
+        return weights != null;
+    }
+
+    public int numVertices() {
+        return ids.limit();
+    }
+
+    public int numEdges() {
+        return numEdges;
+    }
+
+    public int idOf(int index) {
+        return ids.get(index);
+    }
+
+    /**
+     * @return the dense index of the vertex of the given value, or -1 if the snapshot has no such vertex.
+     */
+    public int indexOf(int value) {
+        int low = 0;
+        int high = numVertices() - 1;
+        while(low <= high) {
+            int middle = (low + high) >>> 1;
+            int id = ids.get(middle);
+            if(id < value) {
+                low = middle + 1;
+            } else if(id > value) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -1;
+    }
+
+    public int outDegree(int index) {
+        return outOffsets.get(index + 1) - outOffsets.get(index);
+    }
+
+    public int inDegree(int index) {
+        return inOffsets.get(index + 1) - inOffsets.get(index);
+    }
+
+    public void forEachOutNeighbor(int index, IntConsumer action) {
+        for(int arc = outOffsets.get(index); arc < outOffsets.get(index + 1); arc++) {
+            action.accept(outTargets.get(arc));
+        }
+    }
+
+    public void forEachInNeighbor(int index, IntConsumer action) {
+        for(int arc = inOffsets.get(index); arc < inOffsets.get(index + 1); arc++) {
+            action.accept(inTargets.get(arc));
+        }
+    }
+
+    /**
+     * @return the weight of the edge from the vertex at the first index to the vertex at the second, or 0 if the
+     * snapshot is unweighted or has no such edge.
+     */
+    public double weight(int sourceIndex, int targetIndex) {
+        if(weights == null) {
+            return 0;
+        }
+        int arc = findArc(sourceIndex, targetIndex);
+        return arc < 0 ? 0 : weights.get(arc);
+    }
+
+    private int findArc(int source, int target) {
+        int low = outOffsets.get(source);
+        int high = outOffsets.get(source + 1) - 1;
+        while(low <= high) {
+            int middle = (low + high) >>> 1;
+            int current = outTargets.get(middle);
+            if(current < target) {
+                low = middle + 1;
+            } else if(current > target) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @return one weight per out-arc of the compact graph, in arc order, or null if every edge has a weight of zero.
+     */
+    private static double[] collectArcWeights(Graph<?> g, CompactGraph compactGraph) {
+        boolean directed = compactGraph.isDirected();
+        double[] arcWeights = null;
+        int[] arcStarts = null;
+        int[] arcTargets = null;
+        for(Map.Entry<Integer, Set<Edge>> entry : g.getEdgeMap().entrySet()) {
+            for(Edge edge : entry.getValue()) {
+                if(edge.weight() == 0 || edge.getA() != entry.getKey()) {
+                    continue;
+                }
+                if(arcWeights == null) {
+                    arcStarts = arcStarts(compactGraph);
+                    arcTargets = arcTargets(compactGraph, arcStarts);
+                    arcWeights = new double[arcTargets.length];
+                }
+                int a = compactGraph.indexOf(edge.getA());
+                int b = compactGraph.indexOf(edge.getB());
+                arcWeights[findArc(arcStarts, arcTargets, a, b)] = edge.weight();
+                if(!directed) {
+                    arcWeights[findArc(arcStarts, arcTargets, b, a)] = edge.weight();
+                }
+            }
+        }
+        return arcWeights;
+    }
+
+    private static int[] arcStarts(CompactGraph compactGraph) {
+        int[] arcStarts = new int[compactGraph.numVertices() + 1];
+        for(int i = 0; i < compactGraph.numVertices(); i++) {
+            arcStarts[i + 1] = arcStarts[i] + compactGraph.outDegree(i);
+        }
+        return arcStarts;
+    }
+
+    /**
+     * @return the out-neighbors of every vertex of the compact graph, in arc order, each vertex's in ascending order.
+     */
+    private static int[] arcTargets(CompactGraph compactGraph, int[] arcStarts) {
+        int[] arcTargets = new int[arcStarts[compactGraph.numVertices()]];
+        int[] arc = {0};
+        for(int i = 0; i < compactGraph.numVertices(); i++) {
+            compactGraph.forEachOutNeighbor(i, neighbor -> arcTargets[arc[0]++] = neighbor);
+        }
+        return arcTargets;
+    }
+
+    private static int findArc(int[] arcStarts, int[] arcTargets, int source, int target) {
+        return Arrays.binarySearch(arcTargets, arcStarts[source], arcStarts[source + 1], target);
+    }
+
+    /**
+     * @return the number of out-arcs of the compact graph, summed in a long so that a count past 2^31 is reported
+     * rather than wrapping around.
+     * @throws IllegalArgumentException if the arcs do not fit in the int arc count and offsets of a snapshot.
+     */
+    private static int countArcs(CompactGraph compactGraph) {
+        long numArcs = 0;
+        for(int i = 0; i < compactGraph.numVertices(); i++) {
+            numArcs += compactGraph.outDegree(i);
+        }
+        if(numArcs > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Graph has " + numArcs + " arcs, more than the " + Integer.MAX_VALUE
+                    + " a snapshot can hold.");
+        }
+        return (int) numArcs;
+    }
+
+    private static void writeHeader(SectionWriter writer, CompactGraph compactGraph, int numArcs, boolean weighted)
+            throws IOException {
+        int flags = (compactGraph.isDirected() ? DIRECTED_FLAG : 0) | (weighted ? WEIGHTED_FLAG : 0);
+        writer.putInt(MAGIC);
+        writer.putInt(VERSION);
+        writer.putInt(flags);
+        writer.putInt(compactGraph.numVertices());
+        writer.putInt(compactGraph.numEdges());
+        writer.putInt(numArcs);
+        writer.putInt(0);
+        writer.putInt(0);
+    }
+
+    private static void writeAdjacency(SectionWriter writer, CompactGraph compactGraph, boolean inEdges)
+            throws IOException {
+        int offset = 0;
+        writer.putInt(offset);
+        for(int i = 0; i < compactGraph.numVertices(); i++) {
+            offset += inEdges ? compactGraph.inDegree(i) : compactGraph.outDegree(i);
+            writer.putInt(offset);
+        }
+        for(int i = 0; i < compactGraph.numVertices(); i++) {
+            if(inEdges) {
+                compactGraph.forEachInNeighbor(i, writer::putIntUnchecked);
+            } else {
+                compactGraph.forEachOutNeighbor(i, writer::putIntUnchecked);
+            }
+            writer.rethrowFailure();
+        }
+    }
+
+    private static ByteBuffer map(FileChannel channel, long position, long size) throws IOException {
+        if(size > Integer.MAX_VALUE) {
+            throw new IOException("Graph snapshot section of " + size + " bytes is too large to map.");
+        }
+        if(position + size > channel.size()) {
+            throw new IOException("Graph snapshot is truncated.");
+        }
+        return channel.map(FileChannel.MapMode.READ_ONLY, position, size).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    private static IntBuffer mapInts(FileChannel channel, long position, int count) throws IOException {
+        return map(channel, position, (long) count * Integer.BYTES).asIntBuffer();
+    }
+
+    private static long align(long position, int alignment) {
+        return (position + alignment - 1) / alignment * alignment;
+    }
+
+    /**
+     * Buffers little-endian values and writes them to the channel a megabyte at a time.
+     */
+    private static class SectionWriter {
+        private final FileChannel channel;
+        private final ByteBuffer buffer;
+        private long position;
+        private IOException failure;
+
+        private SectionWriter(FileChannel channel) {
+            this.channel = channel;
+            buffer = ByteBuffer.allocateDirect(WRITE_BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            position = 0;
+        }
+
+        private void putInt(int value) throws IOException {
+            ensureRemaining(Integer.BYTES);
+            buffer.putInt(value);
+            position += Integer.BYTES;
+        }
+
+        /**
+         * Variant of putInt usable as an IntConsumer. A write failure is held until rethrowFailure is called.
+         */
+        private void putIntUnchecked(int value) {
+            try {
+                putInt(value);
+            } catch (IOException e) {
+                failure = e;
+            }
+        }
+
+        private void rethrowFailure() throws IOException {
+            if(failure != null) {
+                throw failure;
+            }
+        }
+
+        private void putDouble(double value) throws IOException {
+            ensureRemaining(Double.BYTES);
+            buffer.putDouble(value);
+            position += Double.BYTES;
+        }
+
+        private void alignTo(int alignment) throws IOException {
+            while(position % alignment != 0) {
+                ensureRemaining(1);
+                buffer.put((byte) 0);
+                position++;
+            }
+        }
+
+        private void ensureRemaining(int bytes) throws IOException {
+            if(buffer.remaining() < bytes) {
+                flush();
+            }
+        }
+
+        private void flush() throws IOException {
+            buffer.flip();
+            while(buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+    }
+}
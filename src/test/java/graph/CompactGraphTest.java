@@ -0,0 +1,383 @@
+package graph;
+
+import org.assertj.core.api.ThrowableAssert;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import util.GraphLoader;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CompactGraphTest {
+    @Nested
+    @DisplayName("A frozen UndirectedGraph")
+    class FrozenUndirectedGraph {
+        UndirectedGraph undirectedGraph = new UndirectedGraph();
+
+        @Test
+        @DisplayName("should assign dense indices in ascending order of value")
+        void shouldAssignDenseIndices() {
+            // given
+            undirectedGraph.addVertex(30);
+            undirectedGraph.addVertex(10);
+            undirectedGraph.addVertex(20);
+
+            // when
+            CompactGraph underTest = undirectedGraph.freeze();
+
+            // then
+            assertThat(underTest.numVertices()).isEqualTo(3);
+            assertThat(underTest.idOf(0)).isEqualTo(10);
+            assertThat(underTest.indexOf(30)).isEqualTo(2);
+            assertThat(underTest.indexOf(40)).isEqualTo(-1);
+        }
+
+        @Test
+        @DisplayName("should store every edge in both directions")
+        void shouldStoreEdgesInBothDirections() {
+            // given
+            for(int i = 1; i <= 4; i++) {
+                undirectedGraph.addVertex(i);
+            }
+            undirectedGraph.addEdge(1, 2);
+            undirectedGraph.addEdge(3, 1);
+
+            // when
+            CompactGraph underTest = undirectedGraph.freeze();
+
+            // then
+            assertThat(underTest.numEdges()).isEqualTo(2);
+            assertThat(underTest.outDegree(underTest.indexOf(1))).isEqualTo(2);
+            assertThat(underTest.inDegree(underTest.indexOf(3))).isEqualTo(1);
+            assertThat(underTest.outDegree(underTest.indexOf(4))).isEqualTo(0);
+        }
+
+        @Test
+        @DisplayName("should not change when the graph changes")
+        void shouldBeIndependentOfTheGraph() {
+            // given
+            undirectedGraph.addVertex(1);
+            undirectedGraph.addVertex(2);
+            CompactGraph underTest = undirectedGraph.freeze();
+
+            // when
+            undirectedGraph.addEdge(1, 2);
+
+            // then
+            assertThat(underTest.numEdges()).isEqualTo(0);
+            assertThat(underTest.outDegree(0)).isEqualTo(0);
+        }
+    }
+
+    @Nested
+    @DisplayName("A frozen DirectedGraph")
+    class FrozenDirectedGraph {
+        DirectedGraph directedGraph = new DirectedGraph();
+
+        @Test
+        @DisplayName("should keep out-edges and in-edges apart")
+        void shouldSeparateDirections() {
+            // given
+            for(int i = 1; i <= 3; i++) {
+                directedGraph.addVertex(i);
+            }
+            directedGraph.addEdge(1, 2);
+            directedGraph.addEdge(1, 3);
+            directedGraph.addEdge(3, 2);
+
+            // when
+            CompactGraph underTest = directedGraph.freeze();
+            StringBuilder inNeighbors = new StringBuilder();
+            underTest.forEachInNeighbor(underTest.indexOf(2), i -> inNeighbors.append(underTest.idOf(i)));
+
+            // then
+            assertThat(underTest.isDirected()).isTrue();
+            assertThat(underTest.outDegree(underTest.indexOf(1))).isEqualTo(2);
+            assertThat(underTest.inDegree(underTest.indexOf(1))).isEqualTo(0);
+            assertThat(inNeighbors.toString()).isEqualTo("13");
+        }
+
+        @Test
+        @DisplayName("should keep only the edges between the vertices of an induced subgraph")
+        void shouldInduceSubgraph() {
+            // given
+            for(int i = 1; i <= 5; i++) {
+                directedGraph.addVertex(i);
+            }
+            directedGraph.addEdge(1, 2);
+            directedGraph.addEdge(2, 4);
+            directedGraph.addEdge(4, 1);
+            directedGraph.addEdge(3, 4);
+            directedGraph.addEdge(4, 5);
+
+            // when
+            CompactGraph underTest = directedGraph.freeze().inducedSubgraph(new int[] {4, 2, 1, 2});
+            StringBuilder outNeighbors = new StringBuilder();
+            underTest.forEachOutNeighbor(underTest.indexOf(4), i -> outNeighbors.append(underTest.idOf(i)));
+            StringBuilder inNeighbors = new StringBuilder();
+            underTest.forEachInNeighbor(underTest.indexOf(4), i -> inNeighbors.append(underTest.idOf(i)));
+
+            // then
+            assertThat(underTest.numVertices()).isEqualTo(3);
+            assertThat(underTest.numEdges()).isEqualTo(3);
+            assertThat(underTest.idOf(0)).isEqualTo(1);
+            assertThat(outNeighbors.toString()).isEqualTo("1");
+            assertThat(inNeighbors.toString()).isEqualTo("2");
+        }
+
+        @Test
+        @DisplayName("should throw when inducing a subgraph on a missing vertex")
+        void shouldThrowWhenInducingOnMissingVertex() {
+            // given
+            directedGraph.addVertex(1);
+            CompactGraph snapshot = directedGraph.freeze();
+
+            // when
+            ThrowableAssert.ThrowingCallable underTest = () -> snapshot.inducedSubgraph(new int[] {1, 2});
+
+            // then
+            assertThatThrownBy(underTest).isInstanceOf(IllegalArgumentException.class)
+                    .hasMessage("Vertex 2 does not exist.");
+        }
+
+        @Test
+        @DisplayName("should be connected if every vertex is reachable")
+        void shouldBeConnected() {
+            // given
+            for(int i = 1; i <= 4; i++) {
+                directedGraph.addVertex(i);
+            }
+            for(int i = 2; i <= 4; i++) {
+                directedGraph.addEdge(1, i);
+            }
+
+            // when
+            boolean underTest = directedGraph.freeze().isConnected();
+
+            // then
+            assertThat(underTest).isTrue();
+        }
+
+        @Test
+        @DisplayName("should not be connected if a vertex is unreachable")
+        void shouldNotBeConnected() {
+            // given
+            for(int i = 1; i <= 4; i++) {
+                directedGraph.addVertex(i);
+            }
+            directedGraph.addEdge(1, 2);
+            directedGraph.addEdge(1, 3);
+            directedGraph.addEdge(4, 1);
+
+            // when
+            boolean underTest = directedGraph.freeze().isConnected();
+
+            // then
+            assertThat(underTest).isFalse();
+        }
+
+        @Test
+        @DisplayName("should throw when checked for connectivity while empty")
+        void shouldThrowIfEmpty() {
+            // when
+            ThrowableAssert.ThrowingCallable callable = () ->
+                    directedGraph.freeze().isConnected();
+
+            // then
+            assertThatThrownBy(callable).hasMessageContaining("There are no vertices in the graph.");
+        }
+
+        @Test
+        @DisplayName("should report hop distances along out-edges")
+        void shouldReportBfsLevels() {
+            // given
+            for(int i = 1; i <= 5; i++) {
+                directedGraph.addVertex(i);
+            }
+            directedGraph.addEdge(1, 2);
+            directedGraph.addEdge(2, 3);
+            directedGraph.addEdge(1, 3);
+            directedGraph.addEdge(3, 4);
+            directedGraph.addEdge(5, 1);
+
+            // when
+            int[] underTest = directedGraph.freeze().bfsLevels(0);
+
+            // then
+            assertThat(underTest).containsExactly(0, 1, 1, 2, -1);
+        }
+
+        @Test
+        @DisplayName("should match a plain breadth first search on a large graph")
+        void shouldMatchPlainBfs() {
+            // given
+            GraphLoader.loadGraph(directedGraph, "data/raw_graph_data/twitter_higgs.txt");
+            CompactGraph snapshot = directedGraph.freeze();
+            int source = snapshot.indexOf(1503);
+            int[] expected = new int[snapshot.numVertices()];
+            Arrays.fill(expected, -1);
+            expected[source] = 0;
+            ArrayDeque<Integer> queue = new ArrayDeque<>();
+            queue.add(source);
+            while(!queue.isEmpty()) {
+                int vertex = queue.poll();
+                snapshot.forEachOutNeighbor(vertex, neighbor -> {
+                    if(expected[neighbor] < 0) {
+                        expected[neighbor] = expected[vertex] + 1;
+                        queue.add(neighbor);
+                    }
+                });
+            }
+
+            // when
+            int[] underTest = snapshot.bfsLevels(source);
+
+            // then
+            assertThat(underTest).isEqualTo(expected);
+        }
+    }
+
+    @Nested
+    @DisplayName("Components of a large snapshot")
+    class ComponentsOfLargeSnapshot {
+        @Test
+        @DisplayName("should match the components found by breadth first search")
+        void shouldMatchBreadthFirstSearch() {
+            // given
+            UndirectedGraph undirectedGraph = new UndirectedGraph();
+            GraphLoader.loadGraph(undirectedGraph, "data/raw_graph_data/twitter_higgs.txt");
+            CompactGraph snapshot = undirectedGraph.freeze();
+            int[] expected = new int[snapshot.numVertices()];
+            Arrays.fill(expected, -1);
+            int numComponents = 0;
+            for(int vertex = 0; vertex < snapshot.numVertices(); vertex++) {
+                if(expected[vertex] >= 0) {
+                    continue;
+                }
+                int component = numComponents++;
+                expected[vertex] = component;
+                ArrayDeque<Integer> queue = new ArrayDeque<>();
+                queue.add(vertex);
+                while(!queue.isEmpty()) {
+                    snapshot.forEachOutNeighbor(queue.poll(), neighbor -> {
+                        if(expected[neighbor] < 0) {
+                            expected[neighbor] = component;
+                            queue.add(neighbor);
+                        }
+                    });
+                }
+            }
+
+            // when
+            ConnectedComponents underTest = snapshot.connectedComponents();
+
+            // then
+            assertThat(underTest.getLabels()).isEqualTo(expected);
+        }
+
+        @Test
+        @DisplayName("should find the same weak components whichever way the edges point")
+        void shouldIgnoreDirectionWhenWeaklyConnected() {
+            // given
+            DirectedGraph directedGraph = new DirectedGraph();
+            UndirectedGraph undirectedGraph = new UndirectedGraph();
+            GraphLoader.loadGraph(directedGraph, "data/raw_graph_data/twitter_higgs.txt");
+            GraphLoader.loadGraph(undirectedGraph, "data/raw_graph_data/twitter_higgs.txt");
+
+            // when
+            ConnectedComponents underTest = directedGraph.weaklyConnectedComponents();
+
+            // then
+            assertThat(underTest.getLabels()).isEqualTo(undirectedGraph.connectedComponents().getLabels());
+            assertThat(directedGraph.connectedComponents().getNumComponents())
+                    .isGreaterThanOrEqualTo(underTest.getNumComponents());
+        }
+    }
+
+    @Nested
+    @DisplayName("DominatingSetCalculations on a snapshot should")
+    class DominatingSetCalculationsOnSnapshot {
+        @Test
+        @DisplayName("match the greedy dominating set of the graph")
+        void greedyShouldMatchGraph() {
+            // given
+            UndirectedGraph undirectedGraph = new UndirectedGraph();
+            for(int i = 1; i <= 6; i++) {
+                undirectedGraph.addVertex(i);
+            }
+            undirectedGraph.addEdge(1,2);
+            undirectedGraph.addEdge(1,3);
+            undirectedGraph.addEdge(1,4);
+            undirectedGraph.addEdge(2,5);
+            undirectedGraph.addEdge(4,3);
+            undirectedGraph.addEdge(3,5);
+            undirectedGraph.addEdge(5,6);
+
+            // when
+            int[] dominatingSet = DominatingSetCalculations.greedy(undirectedGraph.freeze());
+
+            // then
+            assertThat(dominatingSet).containsExactly(4, 5);
+        }
+
+        @Test
+        @DisplayName("match the greedy dominating set of a loaded DirectedGraph")
+        void greedyShouldMatchLoadedGraph() {
+            // given
+            DirectedGraph directedGraph = new DirectedGraph();
+            GraphLoader.loadGraph(directedGraph, "data/raw_graph_data/facebook_1000.txt");
+            Set<Vertex> expected = DominatingSetCalculations.greedy(directedGraph);
+
+            // when
+            int[] dominatingSet = DominatingSetCalculations.greedy(directedGraph.freeze());
+
+            // then
+            assertThat(dominatingSet).hasSize(expected.size());
+            for(int value : dominatingSet) {
+                assertThat(expected).contains(new Vertex(value));
+            }
+        }
+
+        @Test
+        @DisplayName("generate a verifiable connected dominating set")
+        void connectedGreedyShouldBeVerifiable() {
+            // given
+            UndirectedGraph undirectedGraph = new UndirectedGraph();
+            GraphLoader.loadGraph(undirectedGraph, "data/raw_graph_data/facebook_combined.txt");
+            CompactGraph snapshot = undirectedGraph.freeze();
+
+            // when
+            Optional<int[]> dominatingSet = DominatingSetCalculations.connectedGreedy(snapshot);
+
+            // then
+            assertThat(dominatingSet).isPresent();
+            assertThat(DominatingSetCalculations.verify(dominatingSet.get(), snapshot)).isTrue();
+        }
+
+        @Test
+        @DisplayName("reject an incorrect dominating set")
+        void verifyShouldRejectIncorrectSet() {
+            // given
+            UndirectedGraph undirectedGraph = new UndirectedGraph();
+            for(int i = 1; i <= 5; i++) {
+                undirectedGraph.addVertex(i);
+            }
+            undirectedGraph.addEdge(1,2);
+            undirectedGraph.addEdge(1,3);
+            undirectedGraph.addEdge(1,4);
+            undirectedGraph.addEdge(3,5);
+
+            // when
+            boolean underTest = DominatingSetCalculations.verify(new int[] {2, 5}, undirectedGraph.freeze());
+
+            // then
+            assertThat(underTest).isFalse();
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package graph;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import util.GraphLoader;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CompressedGraphTest {
+    @Nested
+    @DisplayName("A CompressedGraph")
+    class CompressedSnapshot {
+        @Test
+        @DisplayName("should yield the same neighbors as the snapshot it was compressed from")
+        void shouldKeepNeighbors() {
+            // given
+            DirectedGraph directedGraph = new DirectedGraph();
+            for(int i = 1; i <= 40; i++) {
+                directedGraph.addVertex(i * 1000);
+            }
+            for(int i = 1; i <= 40; i++) {
+                for(int j = 1; j <= 40; j += i % 3 + 1) {
+                    directedGraph.addEdge(i * 1000, j * 1000);
+                }
+            }
+            CompactGraph expected = directedGraph.freeze();
+
+            // when
+            CompressedGraph underTest = CompressedGraph.of(expected);
+
+            // then
+            assertThat(underTest.numEdges()).isEqualTo(expected.numEdges());
+            for(int i = 0; i < expected.numVertices(); i++) {
+                assertThat(outNeighborsOf(underTest, i)).isEqualTo(outNeighborsOf(expected, i));
+                assertThat(underTest.inDegree(i)).isEqualTo(expected.inDegree(i));
+            }
+        }
+
+        @Test
+        @DisplayName("should decompress a loaded DirectedGraph and match its greedy dominating set")
+        void shouldMatchDirectedSnapshot() {
+            // given
+            DirectedGraph directedGraph = new DirectedGraph();
+            GraphLoader.loadGraph(directedGraph, "data/raw_graph_data/facebook_2000.txt");
+            CompactGraph expected = directedGraph.freeze();
+
+            // when
+            CompressedGraph underTest = CompressedGraph.of(expected);
+            CompactGraph decompressed = underTest.decompress();
+
+            // then
+            for(int i = 0; i < expected.numVertices(); i++) {
+                assertThat(outNeighborsOf(decompressed, i)).isEqualTo(outNeighborsOf(expected, i));
+                assertThat(inNeighborsOf(decompressed, i)).isEqualTo(inNeighborsOf(expected, i));
+            }
+            assertThat(DominatingSetCalculations.greedy(underTest))
+                    .isEqualTo(DominatingSetCalculations.greedy(expected));
+        }
+
+        @Test
+        @DisplayName("should take under eight bits per link for facebook_combined and search it like the snapshot")
+        void shouldCompressFacebook() {
+            // given
+            UndirectedGraph undirectedGraph = new UndirectedGraph();
+            GraphLoader.loadGraph(undirectedGraph, "data/raw_graph_data/facebook_combined.txt");
+            CompactGraph expected = undirectedGraph.freeze();
+
+            // when
+            CompressedGraph underTest = CompressedGraph.of(expected);
+
+            // then
+            assertThat(underTest.bitsPerLink()).isLessThan(8);
+            assertThat(underTest.bfsLevels(0)).isEqualTo(expected.bfsLevels(0));
+            assertThat(underTest.isConnected()).isTrue();
+            assertThat(DominatingSetCalculations.greedy(underTest))
+                    .isEqualTo(DominatingSetCalculations.greedy(expected));
+        }
+    }
+
+    private static String outNeighborsOf(CompactGraph graph, int index) {
+        StringBuilder neighbors = new StringBuilder();
+        graph.forEachOutNeighbor(index, neighbor -> neighbors.append(neighbor).append(' '));
+        return neighbors.toString();
+    }
+
+    private static String inNeighborsOf(CompactGraph graph, int index) {
+        StringBuilder neighbors = new StringBuilder();
+        graph.forEachInNeighbor(index, neighbor -> neighbors.append(neighbor).append(' '));
+        return neighbors.toString();
+    }
+
+    private static String outNeighborsOf(CompressedGraph graph, int index) {
+        StringBuilder neighbors = new StringBuilder();
+        graph.forEachOutNeighbor(index, neighbor -> neighbors.append(neighbor).append(' '));
+        return neighbors.toString();
+    }
+}
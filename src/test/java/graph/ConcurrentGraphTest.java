@@ -0,0 +1,260 @@
+package graph;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.assertj.core.api.ThrowableAssert;
+import util.GraphLoader;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ConcurrentGraphTest {
+    private static final int NUM_THREADS = 4;
+
+    @Nested
+    @DisplayName("ConcurrentUndirectedGraph should")
+    class ConcurrentUndirectedGraphShould {
+        ConcurrentUndirectedGraph concurrentGraph = new ConcurrentUndirectedGraph();
+
+        @Test
+        @DisplayName("hold the same edges as an UndirectedGraph after parallel ingestion")
+        void shouldIngestInParallel() throws Exception {
+            // given
+            UndirectedGraph expected = new UndirectedGraph();
+            GraphLoader.loadGraph(expected, "data/raw_graph_data/facebook_combined.txt");
+            List<Edge> edges = new ArrayList<>();
+            expected.getEdgeMap().forEach((value, edgeSet) -> edgeSet.stream()
+                    .filter(edge -> edge.getA() == value)
+                    .forEach(edges::add));
+            for(int value : expected.getVertexMap().keySet()) {
+                concurrentGraph.addVertex(value);
+            }
+
+            // when
+            runOnThreads(thread -> {
+                for(int i = thread; i < edges.size(); i += NUM_THREADS) {
+                    concurrentGraph.addEdge(edges.get(i).getB(), edges.get(i).getA());
+                }
+            });
+
+            // then
+            assertThat(concurrentGraph.getNumEdges()).isEqualTo(expected.getNumEdges());
+            assertThat(DominatingSetCalculations.greedy(concurrentGraph))
+                    .isEqualTo(DominatingSetCalculations.greedy(expected));
+        }
+
+        @Test
+        @DisplayName("let exactly one thread add a vertex")
+        void shouldRejectDuplicateVerticesAcrossThreads() throws Exception {
+            // given
+            AtomicInteger numAdded = new AtomicInteger();
+
+            // when
+            runOnThreads(thread -> {
+                for(int value = 0; value < 1000; value++) {
+                    try {
+                        concurrentGraph.addVertex(value);
+                        numAdded.incrementAndGet();
+                    } catch(IllegalArgumentException e) {
+                        // another thread added it first
+                    }
+                }
+            });
+
+            // then
+            assertThat(numAdded.get()).isEqualTo(1000);
+            assertThat(concurrentGraph.getVertexMap()).hasSize(1000);
+        }
+
+        @Test
+        @DisplayName("validate edges as an UndirectedGraph does")
+        void shouldValidateEdges() {
+            // given
+            concurrentGraph.addVertex(1);
+            concurrentGraph.addVertex(2);
+            concurrentGraph.addEdge(1, 2);
+
+            // when
+            ThrowableAssert.ThrowingCallable duplicate = () -> concurrentGraph.addEdge(2, 1);
+            ThrowableAssert.ThrowingCallable missing = () -> concurrentGraph.removeEdge(1, 3);
+
+            // then
+            assertThatThrownBy(duplicate).isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(missing).isInstanceOf(IllegalArgumentException.class);
+        }
+
+        @Test
+        @DisplayName("answer isConnected while vertices are added and removed")
+        void shouldCheckConnectivityDuringVertexChanges() throws Exception {
+            // given
+            for(int value = 1; value <= 40; value++) {
+                concurrentGraph.addVertex(value);
+                if(value > 1) {
+                    concurrentGraph.addEdge(value - 1, value);
+                }
+            }
+            AtomicBoolean writing = new AtomicBoolean(true);
+            AtomicInteger numChecks = new AtomicInteger();
+
+            // when
+            runOnThreads(thread -> {
+                if(thread == 0) {
+                    for(int i = 0; i < 5_000; i++) {
+                        concurrentGraph.addVertex(0);
+                        concurrentGraph.addEdge(0, 1);
+                        concurrentGraph.addVertex(100 + i);
+                        concurrentGraph.removeVertex(0);
+                        concurrentGraph.removeVertex(100 + i);
+                    }
+                    writing.set(false);
+                    return;
+                }
+                while(writing.get()) {
+                    concurrentGraph.isConnected();
+                    numChecks.incrementAndGet();
+                }
+            });
+
+            // then
+            assertThat(numChecks.get()).isPositive();
+            assertThat(concurrentGraph.isConnected()).isTrue();
+        }
+    }
+
+    @Nested
+    @DisplayName("ConcurrentDirectedGraph should")
+    class ConcurrentDirectedGraphShould {
+        ConcurrentDirectedGraph concurrentGraph = new ConcurrentDirectedGraph();
+
+        @Test
+        @DisplayName("keep its edge count exact under concurrent adds and removals")
+        void shouldCountEdgesExactly() throws Exception {
+            // given
+            for(int value = 0; value < 200; value++) {
+                concurrentGraph.addVertex(value);
+            }
+
+            // when
+            runOnThreads(thread -> {
+                for(int start = thread; start < 200; start += NUM_THREADS) {
+                    for(int end = 0; end < 200; end++) {
+                        concurrentGraph.addEdge(start, end);
+                    }
+                    for(int end = 0; end < 200; end += 2) {
+                        concurrentGraph.removeEdge(start, end);
+                    }
+                }
+            });
+            concurrentGraph.removeVertex(0);
+
+            // then
+            assertThat(concurrentGraph.getNumEdges()).isEqualTo(200 * 100 - 100);
+            assertThat(concurrentGraph.freeze().numEdges()).isEqualTo(concurrentGraph.getNumEdges());
+        }
+
+        @Test
+        @DisplayName("answer traversals while writers are running")
+        void shouldReadWithoutBlockingWriters() throws Exception {
+            // given
+            GraphLoader.loadGraph(concurrentGraph, "data/raw_graph_data/facebook_1000.txt");
+            Integer[] values = concurrentGraph.getVertexMap().keySet().toArray(new Integer[0]);
+            AtomicBoolean writing = new AtomicBoolean(true);
+            AtomicInteger numTraversals = new AtomicInteger();
+
+            // when
+            runOnThreads(thread -> {
+                if(thread == 0) {
+                    for(int i = 0; i < 20_000; i++) {
+                        int start = values[i % values.length];
+                        int end = values[(i * 31 + 7) % values.length];
+                        if(concurrentGraph.getVertexMap().get(start).hasNeighbor(end)) {
+                            concurrentGraph.removeEdge(start, end);
+                        } else if(start != end) {
+                            concurrentGraph.addEdge(start, end);
+                        }
+                    }
+                    writing.set(false);
+                    return;
+                }
+                while(writing.get()) {
+                    concurrentGraph.isConnected();
+                    numTraversals.incrementAndGet();
+                }
+            });
+
+            // then
+            assertThat(numTraversals.get()).isPositive();
+            assertThat(concurrentGraph.freeze().numEdges()).isEqualTo(concurrentGraph.getNumEdges());
+        }
+
+        @Test
+        @DisplayName("find a neighbor by value while the vertex's other neighbors change")
+        void shouldFindNeighborDuringChanges() throws Exception {
+            // given
+            for(int value = 0; value <= 1000; value++) {
+                concurrentGraph.addVertex(value);
+            }
+            concurrentGraph.addEdge(0, 1000);
+            Vertex hub = concurrentGraph.getVertexMap().get(0);
+            AtomicBoolean writing = new AtomicBoolean(true);
+            AtomicInteger numMisses = new AtomicInteger();
+
+            // when
+            runOnThreads(thread -> {
+                if(thread == 0) {
+                    for(int round = 0; round < 20; round++) {
+                        for(int end = 1; end < 1000; end++) {
+                            concurrentGraph.addEdge(0, end);
+                        }
+                        for(int end = 1; end < 1000; end++) {
+                            concurrentGraph.removeEdge(0, end);
+                        }
+                    }
+                    writing.set(false);
+                    return;
+                }
+                while(writing.get()) {
+                    if(!hub.hasNeighbor(1000) || !hub.getNeighbors().contains(new Vertex(1000))) {
+                        numMisses.incrementAndGet();
+                    }
+                }
+            });
+
+            // then
+            assertThat(numMisses.get()).isZero();
+            assertThat(hub.degree()).isEqualTo(1);
+            assertThat(hub.getNeighbors()).containsExactly(new Vertex(1000));
+        }
+    }
+
+    private interface ThreadBody {
+        void run(int thread) throws Exception;
+    }
+
+    private static void runOnThreads(ThreadBody body) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(NUM_THREADS);
+        List<Future<?>> futures = new ArrayList<>();
+        for(int thread = 0; thread < NUM_THREADS; thread++) {
+            int index = thread;
+            futures.add(executor.submit(() -> {
+                body.run(index);
+                return null;
+            }));
+        }
+        for(Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+        executor.awaitTermination(1, TimeUnit.MINUTES);
+    }
+}
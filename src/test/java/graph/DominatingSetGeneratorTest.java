@@ -7,11 +7,22 @@ import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import util.GraphLoader;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Optional;
+import java.util.Random;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
 
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
 
 class DominatingSetGeneratorTest {
     @Nested
@@ -72,11 +83,79 @@ class DominatingSetGeneratorTest {
                 Set<Vertex> dominatingSet = DominatingSetCalculations.greedy(directedGraph);
 
 
+                // then
+                assertThat(dominatingSet).isEqualTo(correctSet);
+            }
+
+            @Test
+            @DisplayName("that breaks ties by the highest vertex value")
+            void generateWithTiesAndIsolatedVertices() {
+                // given
+                UndirectedGraph undirectedGraph = new UndirectedGraph();
+                for(int i = 1; i <= 7; i++) {
+                    undirectedGraph.addVertex(i);
+                }
+                undirectedGraph.addEdge(1,2);
+                undirectedGraph.addEdge(3,4);
+                undirectedGraph.addEdge(5,4);
+
+                Set<Vertex> correctSet = new HashSet<>();
+                correctSet.add(new Vertex(2));
+                correctSet.add(new Vertex(4));
+                correctSet.add(new Vertex(6));
+                correctSet.add(new Vertex(7));
+
+                // when
+                Set<Vertex> dominatingSet = DominatingSetCalculations.greedy(undirectedGraph);
+
                 // then
                 assertThat(dominatingSet).isEqualTo(correctSet);
             }
         }
         @Nested
+        @DisplayName("create a greedy dominating set component by component")
+        class CreateGreedyDominatingSetByComponent {
+            @Test
+            @DisplayName("that matches the greedy dominating set")
+            void generateForDisconnectedGraph() {
+                // given
+                UndirectedGraph undirectedGraph = new UndirectedGraph();
+                for(int i = 1; i <= 7; i++) {
+                    undirectedGraph.addVertex(i);
+                }
+                undirectedGraph.addEdge(1,2);
+                undirectedGraph.addEdge(3,4);
+                undirectedGraph.addEdge(5,4);
+
+                // when
+                Set<Vertex> dominatingSet = DominatingSetCalculations.greedyByComponent(undirectedGraph);
+
+                // then
+                assertThat(dominatingSet).isEqualTo(DominatingSetCalculations.greedy(undirectedGraph));
+            }
+
+            @Test
+            @DisplayName("that does not depend on the number of threads")
+            void generateForLargeDirectedGraph() {
+                // given
+                DirectedGraph directedGraph = new DirectedGraph();
+                GraphLoader.loadGraph(directedGraph, "data/raw_graph_data/twitter_higgs.txt");
+                CompactGraph snapshot = directedGraph.freeze();
+                ForkJoinPool singleThread = new ForkJoinPool(1);
+                ForkJoinPool fourThreads = new ForkJoinPool(4);
+
+                // when
+                int[] sequential = DominatingSetCalculations.greedyByComponent(snapshot, singleThread);
+                int[] parallel = DominatingSetCalculations.greedyByComponent(snapshot, fourThreads);
+                singleThread.shutdown();
+                fourThreads.shutdown();
+
+                // then
+                assertThat(sequential).isEqualTo(DominatingSetCalculations.greedy(snapshot));
+                assertThat(parallel).isEqualTo(sequential);
+            }
+        }
+        @Nested
         @DisplayName("create a connected greedy dominating set")
         class CreateConnectedGreedyDominatingSet {
             @Test
@@ -108,6 +187,303 @@ class DominatingSetGeneratorTest {
                 // then
                 assertThat(underTest).isTrue();
             }
+
+            @Test
+            @DisplayName("for a CompactGraph snapshot")
+            void createConnectedGreedyForSnapshot() {
+                // given
+                CompactGraph snapshot = GraphLoader.loadCompactGraph("data/raw_graph_data/facebook_combined.txt", false);
+
+                // when
+                int[] underTest = DominatingSetCalculations.connectedGreedy(snapshot).get();
+
+                // then
+                assertThat(underTest.length).isEqualTo(13);
+                assertThat(DominatingSetCalculations.verify(underTest, snapshot)).isTrue();
+                assertThat(inducesWeaklyConnectedSubgraph(underTest, snapshot)).isTrue();
+            }
+
+            @Test
+            @DisplayName("that matches a full scan when it diverts on most rounds")
+            void createConnectedGreedyDivertingRepeatedly() {
+                // given
+                DirectedGraph directedGraph = new DirectedGraph();
+                Random random = new Random(42);
+                for(int i = 1; i <= 2000; i++) {
+                    directedGraph.addVertex(i);
+                }
+                for(int i = 1; i < 2000; i++) {
+                    directedGraph.addEdge(i, i + 1);
+                    int end = i + 1 + random.nextInt(2000 - i);
+                    if(end != i + 1) {
+                        directedGraph.addEdge(i, end);
+                    }
+                }
+                CompactGraph snapshot = directedGraph.freeze();
+                Counter diversions = Metrics.counter(Metrics.DIVERSIONS);
+                long diversionsBefore = diversions.sum();
+
+                // when
+                Metrics.enable();
+                int[] underTest;
+                try {
+                    underTest = DominatingSetCalculations.connectedGreedy(snapshot).get();
+                } finally {
+                    Metrics.disable();
+                }
+
+                // then
+                assertThat(diversions.sum() - diversionsBefore).isGreaterThan(underTest.length / 2);
+                assertThat(underTest).isEqualTo(connectedGreedyByScanning(snapshot));
+                assertThat(DominatingSetCalculations.verify(underTest, snapshot)).isTrue();
+            }
+        }
+
+        @Nested
+        @DisplayName("create a connected dominating set from a spanning tree")
+        class CreateSpanningTreeConnectedDominatingSet {
+            @Test
+            @DisplayName("for an UndirectedGraph")
+            void createForUndirectedGraph() {
+                // given
+                UndirectedGraph undirectedGraph = new UndirectedGraph();
+                GraphLoader.loadGraph(undirectedGraph, "data/raw_graph_data/facebook_combined.txt");
+
+                // when
+                Optional<Set<Vertex>> underTest = DominatingSetCalculations.connectedGreedy(undirectedGraph,
+                        ConnectedDominatingSetAlgorithm.SPANNING_TREE_MIS);
+
+                // then
+                assertThat(DominatingSetCalculations.verify(underTest.get(), undirectedGraph)).isTrue();
+                assertThat(inducesWeaklyConnectedSubgraph(valuesOf(underTest.get()), undirectedGraph.freeze()))
+                        .isTrue();
+            }
+
+            @Test
+            @DisplayName("for a DirectedGraph")
+            void createForDirectedGraph() {
+                // given
+                CompactGraph snapshot = GraphLoader.loadCompactGraph("data/raw_graph_data/facebook_1000.txt", true);
+
+                // when
+                int[] underTest = DominatingSetCalculations.connectedGreedy(snapshot,
+                        ConnectedDominatingSetAlgorithm.SPANNING_TREE_MIS).get();
+
+                // then
+                assertThat(DominatingSetCalculations.verify(underTest, snapshot)).isTrue();
+                assertThat(inducesWeaklyConnectedSubgraph(underTest, snapshot)).isTrue();
+            }
+
+            @Test
+            @DisplayName("that is empty for a disconnected graph")
+            void createForDisconnectedGraph() {
+                // given
+                UndirectedGraph undirectedGraph = new UndirectedGraph();
+                for(int i = 1; i <= 4; i++) {
+                    undirectedGraph.addVertex(i);
+                }
+                undirectedGraph.addEdge(1, 2);
+                undirectedGraph.addEdge(3, 4);
+
+                // when
+                Optional<Set<Vertex>> underTest = DominatingSetCalculations.connectedGreedy(undirectedGraph,
+                        ConnectedDominatingSetAlgorithm.SPANNING_TREE_MIS);
+
+                // then
+                assertThat(underTest).isEmpty();
+            }
+        }
+
+        @Nested
+        @DisplayName("create a compact dominating set result")
+        class CreateDominatingSetResult {
+            @Test
+            @DisplayName("holding the greedy dominating set")
+            void createGreedyResult() {
+                // given
+                UndirectedGraph undirectedGraph = new UndirectedGraph();
+                GraphLoader.loadGraph(undirectedGraph, "data/raw_graph_data/facebook_1000.txt");
+                Set<Vertex> expected = DominatingSetCalculations.greedy(undirectedGraph);
+
+                // when
+                DominatingSet underTest = DominatingSetCalculations.greedyResult(undirectedGraph);
+
+                // then
+                assertThat(underTest.toVertexSet(undirectedGraph)).isEqualTo(expected);
+                assertThat(underTest.size()).isEqualTo(expected.size());
+                for(Vertex vertex : expected) {
+                    assertThat(underTest.contains(vertex.getValue())).isTrue();
+                }
+                assertThat(underTest.contains(Integer.MAX_VALUE)).isFalse();
+                assertThat(underTest.getNumRounds()).isEqualTo(expected.size());
+                assertThat(underTest.getNumScanned()).isGreaterThanOrEqualTo(underTest.getNumRounds());
+                assertThat(underTest.getElapsedNanos()).isPositive();
+            }
+
+            @Test
+            @DisplayName("iterating over its values in ascending order")
+            void iterateInAscendingOrder() {
+                // given
+                CompactGraph snapshot = GraphLoader.loadCompactGraph("data/raw_graph_data/facebook_combined.txt",
+                        false);
+                DominatingSet underTest = DominatingSetCalculations.greedyResult(snapshot);
+                List<Integer> iterated = new ArrayList<>();
+
+                // when
+                for(int value : underTest) {
+                    iterated.add(value);
+                }
+
+                // then
+                assertThat(iterated.stream().mapToInt(Integer::intValue).toArray())
+                        .containsExactly(DominatingSetCalculations.greedy(snapshot));
+                assertThat(underTest.stream().toArray()).containsExactly(underTest.toArray());
+            }
+
+            @Test
+            @DisplayName("holding the connected greedy dominating set")
+            void createConnectedGreedyResult() {
+                // given
+                UndirectedGraph undirectedGraph = new UndirectedGraph();
+                GraphLoader.loadGraph(undirectedGraph, "data/raw_graph_data/facebook_combined.txt");
+                Set<Vertex> expected = DominatingSetCalculations.connectedGreedy(undirectedGraph).get();
+
+                // when
+                Optional<DominatingSet> underTest = DominatingSetCalculations.connectedGreedyResult(undirectedGraph);
+
+                // then
+                assertThat(underTest.get().toVertexSet(undirectedGraph)).isEqualTo(expected);
+                assertThat(underTest.get().getNumRounds()).isEqualTo(expected.size());
+            }
+        }
+
+        @Nested
+        @DisplayName("create dominating sets in a batch")
+        class CreateDominatingSetsInBatch {
+            @Test
+            @DisplayName("that match greedy when called from many threads at once")
+            void createForManyGraphs() throws Exception {
+                // given
+                CompactGraph undirected = GraphLoader.loadCompactGraph("data/raw_graph_data/facebook_1000.txt", false);
+                CompactGraph directed = GraphLoader.loadCompactGraph("data/raw_graph_data/facebook_1000.txt", true);
+                List<CompactGraph> graphs = new ArrayList<>();
+                for(int i = 0; i < 8; i++) {
+                    graphs.add(i % 2 == 0 ? undirected : directed);
+                }
+                ExecutorService executor = Executors.newFixedThreadPool(4);
+
+                // when
+                List<CompletableFuture<int[]>> underTest = DominatingSetCalculations.greedyBatch(graphs, executor);
+                CompletableFuture.allOf(underTest.toArray(new CompletableFuture[0])).get(1, TimeUnit.MINUTES);
+                executor.shutdown();
+
+                // then
+                assertThat(underTest.size()).isEqualTo(8);
+                for(int i = 0; i < 8; i++) {
+                    assertThat(underTest.get(i).get()).containsExactly(DominatingSetCalculations.greedy(graphs.get(i)));
+                }
+            }
+
+            @Test
+            @DisplayName("for subsets of one graph's vertices")
+            void createForSubsets() throws Exception {
+                // given
+                CompactGraph snapshot = GraphLoader.loadCompactGraph("data/raw_graph_data/facebook_combined.txt",
+                        false);
+                List<int[]> subsets = new ArrayList<>();
+                for(int from = 0; from < 3300; from += 500) {
+                    subsets.add(IntStream.range(from, from + 700).filter(snapshot::containsVertex).toArray());
+                }
+                ExecutorService executor = Executors.newFixedThreadPool(4);
+
+                // when
+                List<CompletableFuture<int[]>> underTest = DominatingSetCalculations.greedyBatch(snapshot, subsets,
+                        executor);
+                CompletableFuture.allOf(underTest.toArray(new CompletableFuture[0])).get(1, TimeUnit.MINUTES);
+                executor.shutdown();
+
+                // then
+                for(int i = 0; i < subsets.size(); i++) {
+                    CompactGraph community = snapshot.inducedSubgraph(subsets.get(i));
+                    assertThat(underTest.get(i).get()).containsExactly(DominatingSetCalculations.greedy(community));
+                    assertThat(DominatingSetCalculations.verify(underTest.get(i).get(), community)).isTrue();
+                }
+            }
+
+            @Test
+            @DisplayName("that fail for a subset with a missing vertex")
+            void failForMissingVertex() {
+                // given
+                CompactGraph snapshot = GraphLoader.loadCompactGraph("data/raw_graph_data/small_test_graph.txt",
+                        false);
+                List<int[]> subsets = Arrays.asList(new int[] {1, 2}, new int[] {1, Integer.MAX_VALUE});
+
+                // when
+                List<CompletableFuture<int[]>> underTest = DominatingSetCalculations.greedyBatch(snapshot, subsets,
+                        Runnable::run);
+
+                // then
+                assertThat(underTest.get(0).isDone()).isTrue();
+                assertThatThrownBy(() -> underTest.get(1).join()).hasCauseInstanceOf(IllegalArgumentException.class);
+            }
+        }
+
+        @Nested
+        @DisplayName("create a dominating set within a budget")
+        class CreateDominatingSetWithinBudget {
+            @Test
+            @DisplayName("that matches the greedy dominating set if it is not cancelled")
+            void generateUncancelled() {
+                // given
+                CompactGraph snapshot = GraphLoader.loadCompactGraph("data/raw_graph_data/facebook_2000.txt", true);
+
+                // when
+                AnytimeResult<int[]> underTest = DominatingSetCalculations.greedy(snapshot, new CancellationToken());
+
+                // then
+                assertThat(underTest.isComplete()).isTrue();
+                assertThat(underTest.getDominatingSet()).isEqualTo(DominatingSetCalculations.greedy(snapshot));
+                assertThat(underTest.getNumChosenGreedily()).isEqualTo(underTest.getDominatingSet().length);
+            }
+
+            @Test
+            @DisplayName("that is still a dominating set if the deadline has passed")
+            void generateCancelled() {
+                // given
+                CompactGraph snapshot = GraphLoader.loadCompactGraph("data/raw_graph_data/facebook_2000.txt", true);
+                CancellationToken token = CancellationToken.withTimeout(0, TimeUnit.MILLISECONDS);
+
+                // when
+                AnytimeResult<int[]> underTest = DominatingSetCalculations.greedy(snapshot, token);
+
+                // then
+                assertThat(underTest.isComplete()).isFalse();
+                assertThat(underTest.getNumChosenGreedily()).isLessThan(underTest.getDominatingSet().length);
+                assertThat(DominatingSetCalculations.verify(underTest.getDominatingSet(), snapshot)).isTrue();
+            }
+
+            @Test
+            @DisplayName("that is still a connected dominating set if it is cancelled")
+            void generateConnectedCancelled() {
+                // given
+                DirectedGraph directedGraph = new DirectedGraph();
+                GraphLoader.loadGraph(directedGraph, "data/raw_graph_data/facebook_combined.txt");
+                CompactGraph snapshot = directedGraph.freeze();
+                CancellationToken token = new CancellationToken();
+                token.cancel();
+
+                // when
+                AnytimeResult<Set<Vertex>> underTest =
+                        DominatingSetCalculations.connectedGreedy(directedGraph, token).get();
+                int[] values = DominatingSetCalculations.connectedGreedy(snapshot, token).get().getDominatingSet();
+
+                // then
+                assertThat(underTest.isComplete()).isFalse();
+                assertThat(underTest.getNumChosenGreedily()).isEqualTo(1);
+                assertThat(DominatingSetCalculations.verify(underTest.getDominatingSet(), directedGraph)).isTrue();
+                assertThat(underTest.getDominatingSet().size()).isEqualTo(values.length);
+                assertThat(inducesWeaklyConnectedSubgraph(values, snapshot)).isTrue();
+            }
         }
 
         /*
@@ -177,4 +553,73 @@ class DominatingSetGeneratorTest {
             dominatingSet = DominatingSetCalculations.greedy(directedGraph);
         }
     }
-}
\ No newline at end of file
+
+    private static int[] valuesOf(Set<Vertex> vertices) {
+        return vertices.stream().mapToInt(Vertex::getValue).toArray();
+    }
+
+    /**
+     * Connected greedy as it ran before candidates were queued: every round scans all vertices for the covered one
+     * with the most uncovered out-neighbors, and failing that for the uncovered one with an edge into the covered set
+     * and the most uncovered out-neighbors, breaking ties by the highest value.
+     */
+    private static int[] connectedGreedyByScanning(CompactGraph graph) {
+        GraphMask mask = new GraphMask(graph);
+        List<Integer> chosen = new ArrayList<>();
+        int vertex = -1;
+        for(int candidate = 0; candidate < graph.numVertices(); candidate++) {
+            if(vertex < 0 || graph.outDegree(candidate) >= graph.outDegree(vertex)) {
+                vertex = candidate;
+            }
+        }
+        while(vertex >= 0) {
+            chosen.add(graph.idOf(vertex));
+            mask.cover(vertex);
+            graph.forEachOutNeighbor(vertex, mask::cover);
+            if(mask.allCovered()) {
+                break;
+            }
+            vertex = -1;
+            for(int candidate = 0; candidate < graph.numVertices(); candidate++) {
+                if(mask.isCovered(candidate) && mask.liveDegree(candidate) > 0
+                        && (vertex < 0 || mask.liveDegree(candidate) >= mask.liveDegree(vertex))) {
+                    vertex = candidate;
+                }
+            }
+            boolean diverted = vertex < 0;
+            for(int candidate = 0; diverted && candidate < graph.numVertices(); candidate++) {
+                if(!mask.isCovered(candidate) && hasCoveredOutNeighbor(candidate, graph, mask)
+                        && (vertex < 0 || mask.liveDegree(candidate) >= mask.liveDegree(vertex))) {
+                    vertex = candidate;
+                }
+            }
+        }
+        return chosen.stream().mapToInt(Integer::intValue).sorted().toArray();
+    }
+
+    private static boolean hasCoveredOutNeighbor(int vertex, CompactGraph graph, GraphMask mask) {
+        for(int i = graph.outStart(vertex); i < graph.outEnd(vertex); i++) {
+            if(mask.isCovered(graph.outTarget(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean inducesWeaklyConnectedSubgraph(int[] values, CompactGraph graph) {
+        UndirectedGraph subgraph = new UndirectedGraph();
+        for(int value : values) {
+            subgraph.addVertex(value);
+        }
+        for(int value : values) {
+            graph.forEachOutNeighbor(graph.indexOf(value), neighbor -> {
+                int neighborValue = graph.idOf(neighbor);
+                if(subgraph.getVertexMap().containsKey(neighborValue)
+                        && !subgraph.getVertexMap().get(value).hasNeighbor(neighborValue)) {
+                    subgraph.addEdge(value, neighborValue);
+                }
+            });
+        }
+        return subgraph.isConnected();
+    }
+}
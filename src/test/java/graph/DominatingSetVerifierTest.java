@@ -1,13 +1,17 @@
 package graph;
 
+import org.assertj.core.api.ThrowableAssert;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
+import util.GraphLoader;
 
+import java.util.Arrays;
 import java.util.HashSet;
 import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.junit.jupiter.api.Assertions.*;
 
 
@@ -148,5 +152,68 @@ class DominatingSetVerifierTest {
                 assertThat(DominatingSetCalculations.verify(dominatingSet, directedGraph)).isFalse();
             }
         }
+            @Nested
+        @DisplayName("report undominated vertices")
+        class ReportUndominatedVertices {
+            @Test
+            @DisplayName("in ascending order up to the requested limit")
+            void reportUndominatedVertices() {
+                // given
+                for(int i = 1; i <= 7; i++) {
+                    undirectedGraph.addVertex(i);
+                }
+                undirectedGraph.addEdge(1,2);
+                undirectedGraph.addEdge(1,3);
+                undirectedGraph.addEdge(1,4);
+                undirectedGraph.addEdge(3,5);
+                Set<Vertex> dominatingSet = new HashSet<>();
+                dominatingSet.add(new Vertex(5));
+                dominatingSet.add(new Vertex(2));
+
+                // when
+                VerificationResult underTest =
+                        DominatingSetCalculations.verifyDetailed(dominatingSet, undirectedGraph, 2, false);
+
+                // then
+                assertThat(underTest.isDominatingSet()).isFalse();
+                assertThat(underTest.getNumUndominated()).isEqualTo(3);
+                assertThat(underTest.getUndominatedVertices()).containsExactly(4, 6);
+            }
+
+            @Test
+            @DisplayName("identically when the check is split across cores")
+            void reportUndominatedVerticesInParallel() {
+                // given
+                GraphLoader.loadGraph(directedGraph, "data/raw_graph_data/facebook_combined.txt");
+                CompactGraph snapshot = directedGraph.freeze();
+                int[] dominatingSet = DominatingSetCalculations.greedy(snapshot);
+                int[] incompleteSet = Arrays.copyOf(dominatingSet, dominatingSet.length / 2);
+
+                // when
+                VerificationResult sequential =
+                        DominatingSetCalculations.verifyDetailed(incompleteSet, snapshot, 50, false);
+                VerificationResult parallel =
+                        DominatingSetCalculations.verifyDetailed(incompleteSet, snapshot, 50, true);
+
+                // then
+                assertThat(sequential.isDominatingSet()).isFalse();
+                assertThat(parallel.getNumUndominated()).isEqualTo(sequential.getNumUndominated());
+                assertThat(parallel.getUndominatedVertices()).containsExactly(sequential.getUndominatedVertices());
+            }
+
+            @Test
+            @DisplayName("and throw for a vertex that is not in the graph")
+            void throwForUnknownVertex() {
+                // given
+                undirectedGraph.addVertex(1);
+
+                // when
+                ThrowableAssert.ThrowingCallable callable = () ->
+                        DominatingSetCalculations.verify(new int[] {2}, undirectedGraph.freeze());
+
+                // then
+                assertThatThrownBy(callable).hasMessageContaining("Vertex 2 does not exist.");
+            }
+        }
     }
 }
\ No newline at end of file
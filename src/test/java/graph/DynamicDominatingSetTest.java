@@ -0,0 +1,118 @@
+package graph;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import util.GraphLoader;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DynamicDominatingSetTest {
+    @Nested
+    @DisplayName("DynamicDominatingSet should")
+    class DynamicDominatingSetShould {
+        UndirectedGraph undirectedGraph = new UndirectedGraph();
+
+        @Test
+        @DisplayName("start as the greedy dominating set")
+        void shouldStartAsGreedySet() {
+            // given
+            GraphLoader.loadGraph(undirectedGraph, "data/raw_graph_data/facebook_1000.txt");
+
+            // when
+            DynamicDominatingSet underTest = new DynamicDominatingSet(undirectedGraph);
+
+            // then
+            assertThat(underTest.getVertices()).isEqualTo(DominatingSetCalculations.greedy(undirectedGraph));
+        }
+
+        @Test
+        @DisplayName("cover added and disconnected vertices")
+        void shouldCoverNewlyUndominatedVertices() {
+            // given
+            for(int i = 1; i <= 3; i++) {
+                undirectedGraph.addVertex(i);
+            }
+            undirectedGraph.addEdge(1, 2);
+            undirectedGraph.addEdge(2, 3);
+            DynamicDominatingSet underTest = new DynamicDominatingSet(undirectedGraph);
+
+            // when
+            undirectedGraph.addVertex(4);
+            undirectedGraph.removeEdge(2, 3);
+
+            // then
+            assertThat(underTest.getDominatingSet()).containsExactly(2, 3, 4);
+        }
+
+        @Test
+        @DisplayName("drop dominators made redundant by a new edge")
+        void shouldPruneRedundantDominators() {
+            // given
+            for(int i = 1; i <= 4; i++) {
+                undirectedGraph.addVertex(i);
+            }
+            undirectedGraph.addEdge(1, 2);
+            undirectedGraph.addEdge(3, 4);
+            DynamicDominatingSet underTest = new DynamicDominatingSet(undirectedGraph);
+
+            // when
+            undirectedGraph.addEdge(2, 3);
+            undirectedGraph.addEdge(2, 4);
+
+            // then
+            assertThat(underTest.getDominatingSet()).containsExactly(2);
+        }
+
+        @Test
+        @DisplayName("follow a graph loaded after it was attached")
+        void shouldFollowBuiltGraph() {
+            // given
+            DirectedGraph directedGraph = new DirectedGraph();
+            DynamicDominatingSet underTest = new DynamicDominatingSet(directedGraph);
+
+            // when
+            GraphLoader.loadGraph(directedGraph, "data/raw_graph_data/facebook_1000.txt");
+
+            // then
+            assertThat(DominatingSetCalculations.verify(underTest.getVertices(), directedGraph)).isTrue();
+        }
+
+        @Test
+        @DisplayName("stay a dominating set through batches of random changes")
+        void shouldStayValidThroughRandomChanges() {
+            // given
+            DirectedGraph directedGraph = new DirectedGraph();
+            GraphLoader.loadGraph(directedGraph, "data/raw_graph_data/facebook_1000.txt");
+            DynamicDominatingSet underTest = new DynamicDominatingSet(directedGraph);
+            Integer[] values = directedGraph.getVertexMap().keySet().toArray(new Integer[0]);
+            Random random = new Random(42);
+            boolean alwaysValid = true;
+
+            // when
+            for(int batch = 0; batch < 50; batch++) {
+                for(int change = 0; change < 20; change++) {
+                    int start = values[random.nextInt(values.length)];
+                    int end = values[random.nextInt(values.length)];
+                    if(!directedGraph.getVertexMap().containsKey(start)
+                            || !directedGraph.getVertexMap().containsKey(end) || start == end) {
+                        continue;
+                    }
+                    if(change == 0) {
+                        directedGraph.removeVertex(start);
+                    } else if(directedGraph.getVertexMap().get(start).hasNeighbor(end)) {
+                        directedGraph.removeEdge(start, end);
+                    } else {
+                        directedGraph.addEdge(start, end);
+                    }
+                }
+                alwaysValid &= DominatingSetCalculations.verify(underTest.getVertices(), directedGraph);
+            }
+
+            // then
+            assertThat(alwaysValid).isTrue();
+        }
+    }
+}
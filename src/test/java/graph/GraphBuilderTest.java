@@ -0,0 +1,135 @@
+package graph;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import util.GraphLoader;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class GraphBuilderTest {
+    @Nested
+    @DisplayName("GraphBuilder should")
+    class GraphBuilderShould {
+        GraphBuilder builder = new GraphBuilder();
+
+        @Test
+        @DisplayName("build a DirectedGraph from edge batches, dropping duplicates")
+        void buildDirectedGraph() {
+            // given
+            builder.addVertex(9);
+            builder.addEdges(new int[] {1, 2, 1}, new int[] {2, 1, 2});
+            builder.addEdgePairs(new int[] {3, 3});
+
+            // when
+            DirectedGraph underTest = builder.buildDirected();
+
+            // then
+            assertThat(underTest.getVertexMap()).containsOnlyKeys(1, 2, 3, 9);
+            assertThat(underTest.getNumEdges()).isEqualTo(3);
+            assertThat(underTest.getVertexMap().get(1).getNeighbors()).containsOnly(new Vertex(2));
+            assertThat(underTest.getVertexMap().get(3).getNeighbors()).containsOnly(new Vertex(3));
+            assertThat(underTest.getEdgeMap().get(2)).containsOnly(new Edge(1, 2), new Edge(2, 1));
+            assertThat(underTest.getEdgeMap()).doesNotContainKey(9);
+        }
+
+        @Test
+        @DisplayName("build an UndirectedGraph, dropping reversed duplicates")
+        void buildUndirectedGraph() {
+            // given
+            builder.addEdge(2, 1);
+            builder.addEdge(1, 2);
+            builder.addEdge(2, 3);
+
+            // when
+            UndirectedGraph underTest = builder.buildUndirected();
+
+            // then
+            assertThat(underTest.getNumEdges()).isEqualTo(2);
+            assertThat(underTest.getVertexMap().get(2).getNeighbors()).containsOnly(new Vertex(1), new Vertex(3));
+            assertThat(underTest.getEdgeMap().get(1)).containsOnly(new Edge(1, 2));
+            underTest.removeEdge(2, 1);
+            assertThat(underTest.getVertexMap().get(1).getNeighbors()).isEmpty();
+        }
+
+        @Test
+        @DisplayName("reject negative vertex values when building")
+        void rejectNegativeValues() {
+            // given
+            builder.addEdge(1, -2);
+
+            // when // then
+            assertThatThrownBy(builder::buildDirected)
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessage("Vertex value must be positive.");
+        }
+
+        @Test
+        @DisplayName("build the same graph as adding each edge")
+        void matchPerEdgeConstruction() {
+            // given
+            DirectedGraph expected = new DirectedGraph();
+            GraphLoader.loadGraph(expected, "data/raw_graph_data/facebook_1000.txt");
+
+            // when
+            DirectedGraph underTest = expected.clone();
+
+            // then
+            assertThat(underTest.getNumEdges()).isEqualTo(expected.getNumEdges());
+            assertThat(underTest.getEdgeMap()).isEqualTo(expected.getEdgeMap());
+            for(int value : expected.getVertexMap().keySet()) {
+                assertThat(underTest.getVertexMap().get(value).getNeighbors())
+                        .isEqualTo(expected.getVertexMap().get(value).getNeighbors());
+            }
+        }
+
+        @Test
+        @DisplayName("build a CompactGraph holding what freezing the built graph would")
+        void buildCompactSnapshot() {
+            // given
+            builder.addVertex(40);
+            builder.addEdges(new int[]{30, 10, 20, 10, 20}, new int[]{10, 30, 20, 30, 10});
+
+            // when
+            CompactGraph underTest = builder.buildCompact(false);
+            CompactGraph expected = builder.buildUndirected().freeze();
+
+            // then
+            assertThat(underTest.toString()).isEqualTo(expected.toString());
+            for(int i = 0; i < expected.numVertices(); i++) {
+                assertThat(underTest.idOf(i)).isEqualTo(expected.idOf(i));
+                assertThat(neighborsOf(underTest, i)).isEqualTo(neighborsOf(expected, i));
+            }
+        }
+
+        @Test
+        @DisplayName("load a data set straight into the CompactGraph its loaded graph freezes to")
+        void loadCompactSnapshot() {
+            // given
+            DirectedGraph directedGraph = new DirectedGraph();
+            GraphLoader.loadGraph(directedGraph, "data/raw_graph_data/facebook_combined.txt");
+            CompactGraph expected = directedGraph.freeze();
+
+            // when
+            CompactGraph underTest = GraphLoader.loadCompactGraph("data/raw_graph_data/facebook_combined.txt", true);
+
+            // then
+            assertThat(underTest.toString()).isEqualTo(expected.toString());
+            for(int i = 0; i < expected.numVertices(); i++) {
+                assertThat(underTest.idOf(i)).isEqualTo(expected.idOf(i));
+                assertThat(neighborsOf(underTest, i)).isEqualTo(neighborsOf(expected, i));
+            }
+            assertThat(DominatingSetCalculations.greedy(underTest))
+                    .isEqualTo(DominatingSetCalculations.greedy(expected));
+        }
+    }
+
+    private static String neighborsOf(CompactGraph graph, int index) {
+        StringBuilder neighbors = new StringBuilder();
+        graph.forEachOutNeighbor(index, neighbor -> neighbors.append(neighbor).append(' '));
+        neighbors.append('|');
+        graph.forEachInNeighbor(index, neighbor -> neighbors.append(neighbor).append(' '));
+        return neighbors.toString();
+    }
+}
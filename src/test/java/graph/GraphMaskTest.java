@@ -0,0 +1,82 @@
+package graph;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GraphMaskTest {
+    @Nested
+    @DisplayName("A GraphMask over a DirectedGraph")
+    class MaskOverDirectedGraph {
+        DirectedGraph directedGraph = new DirectedGraph();
+
+        private CompactGraph freezeStar() {
+            for(int i = 1; i <= 4; i++) {
+                directedGraph.addVertex(i);
+            }
+            directedGraph.addEdge(1, 2);
+            directedGraph.addEdge(1, 3);
+            directedGraph.addEdge(1, 4);
+            directedGraph.addEdge(4, 1);
+            return directedGraph.freeze();
+        }
+
+        @Test
+        @DisplayName("should start with every out-neighbor live")
+        void shouldStartWithAllNeighborsLive() {
+            // given
+            CompactGraph graph = freezeStar();
+
+            // when
+            GraphMask underTest = new GraphMask(graph);
+
+            // then
+            assertThat(underTest.liveDegree(graph.indexOf(1))).isEqualTo(3);
+            assertThat(underTest.liveDegree(graph.indexOf(4))).isEqualTo(1);
+            assertThat(underTest.numUncovered()).isEqualTo(4);
+        }
+
+        @Test
+        @DisplayName("should lower the live degree of in-neighbors when a vertex is covered")
+        void shouldLowerLiveDegreeOfInNeighbors() {
+            // given
+            CompactGraph graph = freezeStar();
+            GraphMask underTest = new GraphMask(graph);
+
+            // when
+            boolean first = underTest.cover(graph.indexOf(1));
+            boolean second = underTest.cover(graph.indexOf(1));
+            underTest.cover(graph.indexOf(2));
+
+            // then
+            assertThat(first).isTrue();
+            assertThat(second).isFalse();
+            assertThat(underTest.isCovered(graph.indexOf(1))).isTrue();
+            assertThat(underTest.liveDegree(graph.indexOf(4))).isEqualTo(0);
+            assertThat(underTest.liveDegree(graph.indexOf(1))).isEqualTo(2);
+            assertThat(underTest.numCovered()).isEqualTo(2);
+            assertThat(underTest.allCovered()).isFalse();
+        }
+
+        @Test
+        @DisplayName("should leave the graph and snapshot untouched")
+        void shouldLeaveGraphUntouched() {
+            // given
+            CompactGraph graph = freezeStar();
+            GraphMask underTest = new GraphMask(graph);
+
+            // when
+            for(int i = 0; i < graph.numVertices(); i++) {
+                underTest.cover(i);
+            }
+
+            // then
+            assertThat(underTest.allCovered()).isTrue();
+            assertThat(graph.outDegree(graph.indexOf(1))).isEqualTo(3);
+            assertThat(directedGraph.getVertexMap()).hasSize(4);
+            assertThat(directedGraph.getNumEdges()).isEqualTo(4);
+        }
+    }
+}
@@ -301,6 +301,52 @@ class GraphTest {
                 }
             }
         }
+        @Nested
+        @DisplayName("modification stamp")
+        class ModificationStamp {
+            @Test
+            @DisplayName("should advance on every change")
+            void shouldAdvanceOnEveryChange() {
+                // given
+                long[] stamps = new long[5];
+                stamps[0] = directedGraph.getModificationStamp();
+
+                // when
+                directedGraph.addVertex(1);
+                stamps[1] = directedGraph.getModificationStamp();
+                directedGraph.addVertex(2);
+                directedGraph.addEdge(1, 2);
+                stamps[2] = directedGraph.getModificationStamp();
+                directedGraph.removeEdge(1, 2);
+                stamps[3] = directedGraph.getModificationStamp();
+                directedGraph.removeVertex(2);
+                stamps[4] = directedGraph.getModificationStamp();
+
+                // then
+                for(int i = 1; i < stamps.length; i++) {
+                    assertThat(stamps[i]).isGreaterThan(stamps[i - 1]);
+                }
+            }
+
+            @Test
+            @DisplayName("should not advance on reads or failed changes")
+            void shouldNotAdvanceOnReads() {
+                // given
+                directedGraph.addVertex(1);
+                directedGraph.addVertex(2);
+                long before = directedGraph.getModificationStamp();
+
+                // when
+                directedGraph.isConnected();
+                directedGraph.freeze();
+                assertThatThrownBy(() -> directedGraph.addVertex(1)).isInstanceOf(IllegalArgumentException.class);
+                assertThatThrownBy(() -> directedGraph.removeEdge(1, 2)).isInstanceOf(IllegalArgumentException.class);
+
+                // then
+                assertThat(directedGraph.getModificationStamp()).isEqualTo(before);
+            }
+        }
+
         @Nested
         @DisplayName("isConnected() method")
         class IsConnected {
@@ -352,6 +398,97 @@ class GraphTest {
             }
         }
         @Nested
+        @DisplayName("bfsLevels() method")
+        class BfsLevels {
+            @Test
+            @DisplayName("should return hop distances in ascending order of vertex value")
+            void shouldReturnHopDistances() {
+                // given
+                for (int i = 1; i <= 4; i++) {
+                    directedGraph.addVertex(i * 10);
+                }
+                directedGraph.addEdge(20, 10);
+                directedGraph.addEdge(10, 40);
+
+                // when
+                int[] underTest = directedGraph.bfsLevels(20);
+
+                // then
+                assertThat(underTest).containsExactly(1, 0, -1, 2);
+            }
+
+            @Test
+            @DisplayName("should throw if the source does not exist")
+            void shouldThrowIfSourceDoesNotExist() {
+                // given
+                directedGraph.addVertex(1);
+
+                // when
+                ThrowableAssert.ThrowingCallable callable = () ->
+                        directedGraph.bfsLevels(2);
+
+                // then
+                assertThatThrownBy(callable).hasMessageContaining("Vertex 2 does not exist.");
+            }
+        }
+        @Nested
+        @DisplayName("connectedComponents() method")
+        class ConnectedComponentsOfDirectedGraph {
+            @Test
+            @DisplayName("should group vertices that reach each other")
+            void shouldFindStronglyConnectedComponents() {
+                // given
+                for (int i = 1; i <= 5; i++) {
+                    directedGraph.addVertex(i);
+                }
+                directedGraph.addEdge(1, 2);
+                directedGraph.addEdge(2, 3);
+                directedGraph.addEdge(3, 1);
+                directedGraph.addEdge(3, 4);
+                directedGraph.addEdge(4, 5);
+                directedGraph.addEdge(5, 4);
+
+                // when
+                ConnectedComponents underTest = directedGraph.connectedComponents();
+
+                // then
+                assertThat(underTest.getNumComponents()).isEqualTo(2);
+                assertThat(underTest.getLabels()).containsExactly(0, 0, 0, 1, 1);
+                assertThat(underTest.getSizes()).containsExactly(3, 2);
+            }
+
+            @Test
+            @DisplayName("should ignore direction when weakly connected")
+            void shouldFindWeaklyConnectedComponents() {
+                // given
+                for (int i = 1; i <= 5; i++) {
+                    directedGraph.addVertex(i);
+                }
+                directedGraph.addEdge(2, 1);
+                directedGraph.addEdge(2, 4);
+                directedGraph.addEdge(5, 3);
+
+                // when
+                ConnectedComponents underTest = directedGraph.weaklyConnectedComponents();
+
+                // then
+                assertThat(underTest.getLabels()).containsExactly(0, 0, 1, 0, 1);
+                assertThat(underTest.largestComponent()).isEqualTo(0);
+                assertThat(underTest.verticesOf(1)).containsExactly(2, 4);
+            }
+
+            @Test
+            @DisplayName("should find no components in an empty graph")
+            void shouldFindNoComponentsInEmptyGraph() {
+                // when
+                ConnectedComponents underTest = directedGraph.connectedComponents();
+
+                // then
+                assertThat(underTest.getNumComponents()).isEqualTo(0);
+                assertThat(underTest.isConnected()).isFalse();
+            }
+        }
+        @Nested
         @DisplayName("should clone")
         class ShouldClone {
             @Test
@@ -678,6 +815,26 @@ class GraphTest {
                 }
             }
         }
+        @Nested
+        @DisplayName("modification stamp")
+        class ModificationStamp {
+            @Test
+            @DisplayName("should advance when an edge is removed")
+            void shouldAdvanceWhenEdgeIsRemoved() {
+                // given
+                undirectedGraph.addVertex(1);
+                undirectedGraph.addVertex(2);
+                undirectedGraph.addEdge(1, 2);
+                long before = undirectedGraph.getModificationStamp();
+
+                // when
+                undirectedGraph.removeEdge(2, 1);
+
+                // then
+                assertThat(undirectedGraph.getModificationStamp()).isGreaterThan(before);
+            }
+        }
+
         @Nested
         @DisplayName("isConnected() method")
         class IsConnected {
@@ -726,6 +883,29 @@ class GraphTest {
             }
         }
         @Nested
+        @DisplayName("connectedComponents() method")
+        class ConnectedComponentsOfUndirectedGraph {
+            @Test
+            @DisplayName("should label vertices in ascending order of value")
+            void shouldFindConnectedComponents() {
+                // given
+                for (int i = 1; i <= 6; i++) {
+                    undirectedGraph.addVertex(i * 10);
+                }
+                undirectedGraph.addEdge(60, 20);
+                undirectedGraph.addEdge(30, 10);
+                undirectedGraph.addEdge(40, 30);
+
+                // when
+                ConnectedComponents underTest = undirectedGraph.connectedComponents();
+
+                // then
+                assertThat(underTest.getNumComponents()).isEqualTo(3);
+                assertThat(underTest.getLabels()).containsExactly(0, 1, 0, 0, 2, 1);
+                assertThat(underTest.getSizes()).containsExactly(3, 2, 1);
+            }
+        }
+        @Nested
         @DisplayName("should clone")
         class ShouldClone {
             @Test
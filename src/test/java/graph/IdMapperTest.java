@@ -0,0 +1,56 @@
+package graph;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class IdMapperTest {
+    @Nested
+    @DisplayName("IdMapper should")
+    class IdMapperShould {
+        IdMapper idMapper = new IdMapper();
+
+        @Test
+        @DisplayName("assign dense ids in the order external ids are first mapped")
+        void shouldAssignDenseIds() {
+            // given
+            int[] externalIds = {1_000_000, 7, 0, 7, 1_000_000, 42};
+
+            // when
+            int[] internalIds = new int[externalIds.length];
+            for(int i = 0; i < externalIds.length; i++) {
+                internalIds[i] = idMapper.map(externalIds[i]);
+            }
+
+            // then
+            assertThat(internalIds).containsExactly(0, 1, 2, 1, 0, 3);
+            assertThat(idMapper.size()).isEqualTo(4);
+            assertThat(idMapper.toExternal(3)).isEqualTo(42);
+            assertThat(idMapper.toInternal(0)).isEqualTo(2);
+            assertThat(idMapper.toInternal(8)).isEqualTo(-1);
+            assertThatThrownBy(() -> idMapper.toExternal(4)).isInstanceOf(IndexOutOfBoundsException.class);
+        }
+
+        @Test
+        @DisplayName("renumber ids into ascending order of external id")
+        void shouldSortByExternalId() {
+            // given
+            for(int i = 0; i < 1000; i++) {
+                idMapper.map((i * 7919) % 1000 * 13);
+            }
+
+            // when
+            int[] newIds = idMapper.sortByExternalId();
+
+            // then
+            for(int i = 0; i < 1000; i++) {
+                assertThat(idMapper.toExternal(i)).isEqualTo(i * 13);
+                assertThat(idMapper.toInternal(i * 13)).isEqualTo(i);
+            }
+            assertThat(newIds[1]).isEqualTo(idMapper.toInternal(7919 % 1000 * 13));
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package graph;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IntHashSetTest {
+    @Nested
+    @DisplayName("IntHashSet should")
+    class IntHashSetShould {
+        IntHashSet intHashSet = new IntHashSet();
+
+        @Test
+        @DisplayName("contain added values, including zero")
+        void shouldContainAddedValues() {
+            // given
+            for(int i = 0; i < 1000; i++) {
+                intHashSet.add(i * 7);
+            }
+
+            // when
+            boolean containsAll = true;
+            for(int i = 0; i < 1000; i++) {
+                containsAll &= intHashSet.contains(i * 7);
+            }
+
+            // then
+            assertThat(containsAll).isTrue();
+            assertThat(intHashSet.contains(1)).isFalse();
+            assertThat(intHashSet.size()).isEqualTo(1000);
+        }
+
+        @Test
+        @DisplayName("ignore duplicate values")
+        void shouldIgnoreDuplicates() {
+            // given
+            intHashSet.add(5);
+
+            // when
+            boolean added = intHashSet.add(5);
+
+            // then
+            assertThat(added).isFalse();
+            assertThat(intHashSet.size()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("keep the remaining values reachable after removals")
+        void shouldRemoveValues() {
+            // given
+            for(int i = 0; i < 500; i++) {
+                intHashSet.add(i);
+            }
+
+            // when
+            for(int i = 0; i < 500; i += 2) {
+                intHashSet.remove(i);
+            }
+            int[] underTest = intHashSet.toArray();
+            Arrays.sort(underTest);
+
+            // then
+            assertThat(underTest).hasSize(250);
+            for(int i = 0; i < 250; i++) {
+                assertThat(underTest[i]).isEqualTo(i * 2 + 1);
+            }
+        }
+    }
+}
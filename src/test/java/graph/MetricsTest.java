@@ -0,0 +1,125 @@
+package graph;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import util.GraphLoader;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MetricsTest {
+    @BeforeEach
+    void resetMetrics() {
+        Metrics.reset();
+    }
+
+    @AfterEach
+    void disableMetrics() {
+        Metrics.disable();
+        Metrics.reset();
+    }
+
+    @Nested
+    @DisplayName("Metrics should")
+    class MetricsShould {
+        @Test
+        @DisplayName("record nothing until enabled")
+        void shouldRecordNothingWhileDisabled() {
+            // given
+            UndirectedGraph graph = new UndirectedGraph();
+
+            // when
+            graph.addVertex(1);
+            graph.addVertex(2);
+            graph.addEdge(1, 2);
+            graph.isConnected();
+
+            // then
+            MetricsSnapshot underTest = Metrics.snapshot();
+            assertThat(underTest.getHistogram(Metrics.ADD_VERTEX).getCount()).isZero();
+            assertThat(underTest.getHistogram(Metrics.ADD_EDGE).getCount()).isZero();
+            assertThat(underTest.getHistogram(Metrics.BFS).getCount()).isZero();
+        }
+
+        @Test
+        @DisplayName("time graph operations and searches once enabled")
+        void shouldTimeGraphOperations() {
+            // given
+            Metrics.enable();
+            DirectedGraph graph = new DirectedGraph();
+
+            // when
+            for(int i = 1; i <= 5; i++) {
+                graph.addVertex(i);
+            }
+            for(int i = 1; i < 5; i++) {
+                graph.addEdge(i, i + 1);
+            }
+            graph.removeVertex(5);
+            graph.clone();
+            graph.isConnected();
+
+            // then
+            MetricsSnapshot underTest = Metrics.snapshot();
+            assertThat(underTest.getHistogram(Metrics.ADD_VERTEX).getCount()).isEqualTo(5);
+            assertThat(underTest.getHistogram(Metrics.ADD_EDGE).getCount()).isEqualTo(4);
+            assertThat(underTest.getHistogram(Metrics.REMOVE_VERTEX).getCount()).isEqualTo(1);
+            assertThat(underTest.getHistogram(Metrics.CLONE).getCount()).isEqualTo(1);
+            assertThat(underTest.getHistogram(Metrics.BFS).getCount()).isEqualTo(1);
+            assertThat(underTest.getCount(Metrics.BFS_VISITED)).isEqualTo(4);
+        }
+
+        @Test
+        @DisplayName("record one round per dominating vertex and the lines of a load")
+        void shouldRecordDominatingSetPhases() {
+            // given
+            Metrics.enable();
+            CompactGraph graph = GraphLoader.loadCompactGraph("data/raw_graph_data/facebook_1000.txt", false);
+
+            // when
+            int[] dominatingSet = DominatingSetCalculations.greedy(graph);
+            MetricsSnapshot greedySnapshot = Metrics.snapshot();
+            Metrics.reset();
+            Optional<int[]> connectedDominatingSet = DominatingSetCalculations.connectedGreedy(graph);
+            MetricsSnapshot connectedSnapshot = Metrics.snapshot();
+            int connectedSize = connectedDominatingSet.map(set -> set.length).orElse(0);
+
+            // then
+            assertThat(greedySnapshot.getCount(Metrics.LOADER_LINES)).isPositive();
+            assertThat(greedySnapshot.getHistogram(Metrics.LOADER_LINES_PER_SECOND).getCount()).isEqualTo(1);
+            assertThat(greedySnapshot.getCount(Metrics.ROUNDS)).isEqualTo(dominatingSet.length);
+            assertThat(greedySnapshot.getHistogram(Metrics.SCANNED_PER_ROUND).getCount())
+                    .isEqualTo(dominatingSet.length);
+            assertThat(greedySnapshot.getHistogram(Metrics.GREEDY_INITIALIZE).getCount()).isEqualTo(1);
+            assertThat(greedySnapshot.getHistogram(Metrics.GREEDY_SELECT).getCount()).isEqualTo(1);
+            assertThat(connectedSnapshot.getCount(Metrics.ROUNDS)).isEqualTo(connectedSize);
+            assertThat(connectedSnapshot.getHistogram(Metrics.CONNECTED_GREEDY_CHECK).getCount()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("bound percentiles to within a factor of two")
+        void shouldBoundPercentiles() {
+            // given
+            Metrics.enable();
+            Histogram histogram = Metrics.histogram("test.values");
+
+            // when
+            for(int value = 1; value <= 1000; value++) {
+                histogram.record(value);
+            }
+            HistogramSnapshot underTest = Metrics.snapshot().getHistogram("test.values");
+
+            // then
+            assertThat(underTest.getCount()).isEqualTo(1000);
+            assertThat(underTest.getMean()).isEqualTo(500.5);
+            assertThat(underTest.getMax()).isEqualTo(1000);
+            assertThat(underTest.getPercentile(50)).isBetween(500L, 1000L);
+            assertThat(underTest.getPercentile(100)).isEqualTo(1000);
+            assertThat(underTest.getPercentile(0)).isEqualTo(1);
+        }
+    }
+}
@@ -0,0 +1,214 @@
+package graph;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import util.GraphLoader;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class OffHeapGraphTest {
+    @Nested
+    @DisplayName("OffHeapGraph should")
+    class OffHeapGraphShould {
+        @Test
+        @DisplayName("validate vertices and edges like a Graph")
+        void shouldValidateLikeGraph() {
+            // given
+            OffHeapGraph underTest = new OffHeapGraph(false);
+            underTest.addVertex(1);
+            underTest.addVertex(2);
+            underTest.addEdge(1, 2);
+
+            // when / then
+            assertThatThrownBy(() -> underTest.addVertex(1))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessage("Vertex 1 already exists");
+            assertThatThrownBy(() -> underTest.addVertex(-1))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessage("Vertex value must be positive.");
+            assertThatThrownBy(() -> underTest.addEdge(1, 3))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessage("3 does not exist");
+            assertThatThrownBy(() -> underTest.addEdge(2, 1))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessage(new Edge(1, 2) + " already exists.");
+            assertThatThrownBy(() -> underTest.removeEdge(1, 1))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessage(new Edge(1, 1) + " does not exist.");
+        }
+
+        @Test
+        @DisplayName("keep neighbors across blocks when edges are removed")
+        void shouldRemoveEdgesAcrossBlocks() {
+            // given
+            OffHeapGraph underTest = new OffHeapGraph(true);
+            for(int i = 0; i <= 40; i++) {
+                underTest.addVertex(i);
+            }
+            for(int i = 1; i <= 40; i++) {
+                underTest.addEdge(0, i);
+            }
+
+            // when
+            for(int i = 1; i <= 40; i += 3) {
+                underTest.removeEdge(0, i);
+            }
+            CompactGraph frozen = underTest.freeze();
+
+            // then
+            assertThat(underTest.getNumEdges()).isEqualTo(26);
+            assertThat(underTest.degree(0)).isEqualTo(26);
+            assertThat(underTest.containsEdge(0, 4)).isFalse();
+            assertThat(underTest.containsEdge(0, 5)).isTrue();
+            assertThat(frozen.outDegree(0)).isEqualTo(26);
+            assertThat(frozen.inDegree(frozen.indexOf(5))).isEqualTo(1);
+            assertThat(frozen.inDegree(frozen.indexOf(7))).isZero();
+        }
+
+        @Test
+        @DisplayName("freeze a loaded DirectedGraph into the same snapshot as the heap graph")
+        void shouldMatchHeapSnapshot() {
+            // given
+            DirectedGraph directedGraph = new DirectedGraph();
+            GraphLoader.loadGraph(directedGraph, "data/raw_graph_data/facebook_1000.txt");
+            CompactGraph expected = CompactGraph.of(directedGraph);
+            OffHeapGraph underTest = copyOf(expected);
+
+            // when
+            CompactGraph frozen = underTest.freeze();
+
+            // then
+            assertThat(frozen.toString()).isEqualTo(expected.toString());
+            assertThat(frozen.bfsLevels(0)).isEqualTo(expected.bfsLevels(0));
+            assertThat(DominatingSetCalculations.greedy(frozen)).isEqualTo(DominatingSetCalculations.greedy(expected));
+        }
+
+        @Test
+        @DisplayName("hold an UndirectedGraph in a file")
+        void shouldHoldGraphInFile(@TempDir Path directory) throws IOException {
+            // given
+            UndirectedGraph undirectedGraph = new UndirectedGraph();
+            GraphLoader.loadGraph(undirectedGraph, "data/raw_graph_data/facebook_combined.txt");
+            CompactGraph expected = CompactGraph.of(undirectedGraph);
+
+            // when
+            CompactGraph frozen;
+            try(OffHeapGraph underTest = copyOf(expected, directory.resolve("graph.bin").toString())) {
+                frozen = underTest.freeze();
+            }
+
+            // then
+            assertThat(frozen.toString()).isEqualTo(expected.toString());
+            assertThat(DominatingSetCalculations.greedy(frozen)).isEqualTo(DominatingSetCalculations.greedy(expected));
+            assertThat(DominatingSetCalculations.connectedGreedy(frozen).get())
+                    .isEqualTo(DominatingSetCalculations.connectedGreedy(expected).get());
+        }
+
+        @Test
+        @DisplayName("search and freeze a graph held in a file without leaving other files behind")
+        void shouldSearchGraphInFile(@TempDir Path directory) throws IOException {
+            // given
+            CompactGraph expected = GraphLoader.loadCompactGraph("data/raw_graph_data/facebook_1000.txt", true);
+
+            // when
+            boolean connected;
+            CompactGraph frozen;
+            try(OffHeapGraph underTest = copyOf(expected, directory.resolve("graph.bin").toString())) {
+                connected = underTest.isConnected();
+                frozen = underTest.freeze();
+            }
+
+            // then
+            assertThat(connected).isEqualTo(expected.isConnected());
+            assertThat(frozen.toString()).isEqualTo(expected.toString());
+            assertThat(frozen.bfsLevels(0)).isEqualTo(expected.bfsLevels(0));
+            try(Stream<Path> files = Files.list(directory)) {
+                assertThat(files.map(file -> file.getFileName().toString())).containsExactly("graph.bin");
+            }
+        }
+
+        @Test
+        @DisplayName("load a batch of edges into the same snapshot as adding them one by one")
+        void shouldLoadBatchOfEdges() {
+            // given
+            CompactGraph expected = GraphLoader.loadCompactGraph("data/raw_graph_data/facebook_combined.txt", false);
+            OffHeapGraph underTest = new OffHeapGraph(false);
+            IntArrayList starts = new IntArrayList();
+            IntArrayList ends = new IntArrayList();
+            for(int i = 0; i < expected.numVertices(); i++) {
+                underTest.addVertex(expected.idOf(i));
+                int start = i;
+                expected.forEachOutNeighbor(i, neighbor -> {
+                    if(neighbor >= start) {
+                        starts.add(expected.idOf(neighbor));
+                        ends.add(expected.idOf(start));
+                    }
+                });
+            }
+            int half = starts.size() / 2;
+
+            // when
+            underTest.addEdges(Arrays.copyOf(starts.toArray(), half), Arrays.copyOf(ends.toArray(), half));
+            underTest.addEdges(Arrays.copyOfRange(starts.toArray(), half, starts.size()),
+                    Arrays.copyOfRange(ends.toArray(), half, ends.size()));
+
+            // then
+            assertThat(underTest.freeze().toString()).isEqualTo(expected.toString());
+            assertThat(DominatingSetCalculations.greedy(underTest.freeze()))
+                    .isEqualTo(DominatingSetCalculations.greedy(expected));
+        }
+
+        @Test
+        @DisplayName("reject a batch with a duplicate edge and leave the graph unchanged")
+        void shouldRejectDuplicateInBatch() {
+            // given
+            OffHeapGraph underTest = new OffHeapGraph(true);
+            for(int i = 1; i <= 3; i++) {
+                underTest.addVertex(i);
+            }
+            underTest.addEdge(1, 2);
+
+            // when / then
+            assertThatThrownBy(() -> underTest.addEdges(new int[] {1, 2, 2}, new int[] {3, 3, 3}))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessage(new Edge(2, 3) + " already exists.");
+            assertThatThrownBy(() -> underTest.addEdges(new int[] {3, 1}, new int[] {1, 2}))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessage(new Edge(1, 2) + " already exists.");
+            assertThat(underTest.getNumEdges()).isEqualTo(1);
+            assertThat(underTest.containsEdge(3, 1)).isFalse();
+        }
+    }
+
+    private static OffHeapGraph copyOf(CompactGraph graph) {
+        return copyInto(new OffHeapGraph(graph.isDirected()), graph);
+    }
+
+    private static OffHeapGraph copyOf(CompactGraph graph, String fileName) throws IOException {
+        return copyInto(new OffHeapGraph(graph.isDirected(), fileName), graph);
+    }
+
+    private static OffHeapGraph copyInto(OffHeapGraph offHeapGraph, CompactGraph graph) {
+        for(int i = 0; i < graph.numVertices(); i++) {
+            offHeapGraph.addVertex(graph.idOf(i));
+        }
+        for(int i = 0; i < graph.numVertices(); i++) {
+            int start = i;
+            graph.forEachOutNeighbor(i, neighbor -> {
+                if(graph.isDirected() || neighbor >= start) {
+                    offHeapGraph.addEdge(graph.idOf(start), graph.idOf(neighbor));
+                }
+            });
+        }
+        return offHeapGraph;
+    }
+}
@@ -0,0 +1,116 @@
+package graph;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import util.GraphLoader;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ResultCacheTest {
+    @BeforeEach
+    void enableMetrics() {
+        Metrics.reset();
+        Metrics.enable();
+    }
+
+    @AfterEach
+    void disableMetrics() {
+        Metrics.disable();
+        Metrics.reset();
+    }
+
+    @Nested
+    @DisplayName("A ResultCache should")
+    class ResultCacheShould {
+        @Test
+        @DisplayName("return the same result while the graph is unchanged")
+        void shouldReturnCachedResult() {
+            // given
+            UndirectedGraph graph = new UndirectedGraph();
+            GraphLoader.loadGraph(graph, "data/raw_graph_data/facebook_1000.txt");
+            ResultCache underTest = new ResultCache(8);
+            DominatingSet first = underTest.greedy(graph);
+
+            // when
+            DominatingSet second = underTest.greedy(graph);
+
+            // then
+            assertThat(second).isSameAs(first);
+            assertThat(second.toVertexSet(graph)).isEqualTo(DominatingSetCalculations.greedy(graph));
+            assertThat(Metrics.snapshot().getCount(Metrics.RESULT_CACHE_HITS)).isEqualTo(1);
+            assertThat(Metrics.snapshot().getCount(Metrics.RESULT_CACHE_MISSES)).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("recalculate once the graph changes")
+        void shouldRecalculateAfterChange() {
+            // given
+            UndirectedGraph graph = new UndirectedGraph();
+            for(int i = 1; i <= 3; i++) {
+                graph.addVertex(i);
+            }
+            graph.addEdge(1, 2);
+            ResultCache underTest = new ResultCache(8);
+            boolean before = underTest.isConnected(graph);
+            Optional<DominatingSet> connectedBefore = underTest.connectedGreedy(graph);
+
+            // when
+            graph.addEdge(2, 3);
+
+            // then
+            assertThat(before).isFalse();
+            assertThat(connectedBefore).isEmpty();
+            assertThat(underTest.isConnected(graph)).isTrue();
+            assertThat(underTest.connectedGreedy(graph).get().toArray()).containsExactly(2);
+        }
+
+        @Test
+        @DisplayName("keep results of different graphs and calculations apart")
+        void shouldSeparateGraphsAndCalculations() {
+            // given
+            UndirectedGraph graph = new UndirectedGraph();
+            graph.addVertex(1);
+            UndirectedGraph equalGraph = graph.clone();
+            ResultCache underTest = new ResultCache(8);
+            AtomicInteger calculations = new AtomicInteger();
+
+            // when
+            underTest.computeIfAbsent(graph, "count", g -> calculations.incrementAndGet());
+            underTest.computeIfAbsent(equalGraph, "count", g -> calculations.incrementAndGet());
+            underTest.computeIfAbsent(graph, "other", g -> calculations.incrementAndGet());
+            int cached = underTest.computeIfAbsent(graph, "count", g -> calculations.incrementAndGet());
+
+            // then
+            assertThat(calculations.get()).isEqualTo(3);
+            assertThat(cached).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("evict the least recently used result")
+        void shouldEvictLeastRecentlyUsed() {
+            // given
+            UndirectedGraph graph = new UndirectedGraph();
+            graph.addVertex(1);
+            ResultCache underTest = new ResultCache(2);
+            AtomicInteger calculations = new AtomicInteger();
+            underTest.computeIfAbsent(graph, "a", g -> calculations.incrementAndGet());
+            underTest.computeIfAbsent(graph, "b", g -> calculations.incrementAndGet());
+            underTest.computeIfAbsent(graph, "a", g -> calculations.incrementAndGet());
+
+            // when
+            underTest.computeIfAbsent(graph, "c", g -> calculations.incrementAndGet());
+            underTest.computeIfAbsent(graph, "a", g -> calculations.incrementAndGet());
+            underTest.computeIfAbsent(graph, "b", g -> calculations.incrementAndGet());
+
+            // then
+            assertThat(underTest.size()).isEqualTo(2);
+            assertThat(calculations.get()).isEqualTo(4);
+        }
+    }
+}
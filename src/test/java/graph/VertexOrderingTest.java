@@ -0,0 +1,88 @@
+package graph;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import util.GraphLoader;
+
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class VertexOrderingTest {
+    @Nested
+    @DisplayName("A VertexOrdering should")
+    class VertexOrderingShould {
+        @Test
+        @DisplayName("relabel a directed snapshot without changing its edges, values or greedy dominating set")
+        void shouldKeepEdgesAndDominatingSet() {
+            // given
+            CompactGraph graph = GraphLoader.loadCompactGraph("data/raw_graph_data/facebook_1000.txt", true);
+            int[] expectedDominatingSet = DominatingSetCalculations.greedy(graph);
+
+            for(VertexOrdering ordering : VertexOrdering.values()) {
+                // when
+                Reordering reordering = ordering.reorder(graph);
+                CompactGraph underTest = reordering.getGraph();
+                int[] newIndices = reordering.getNewIndices();
+
+                // then
+                int[] sortedIndices = newIndices.clone();
+                Arrays.sort(sortedIndices);
+                for(int i = 0; i < sortedIndices.length; i++) {
+                    assertThat(sortedIndices[i]).isEqualTo(i);
+                }
+                assertThat(underTest.numEdges()).isEqualTo(graph.numEdges());
+                for(int i = 0; i < graph.numVertices(); i++) {
+                    int value = graph.idOf(i);
+                    assertThat(underTest.indexOf(value)).isEqualTo(newIndices[i]);
+                    assertThat(underTest.outDegree(newIndices[i])).isEqualTo(graph.outDegree(i));
+                    assertThat(underTest.inDegree(newIndices[i])).isEqualTo(graph.inDegree(i));
+                    assertThat(outNeighborValuesOf(underTest, newIndices[i])).isEqualTo(outNeighborValuesOf(graph, i));
+                }
+                assertThat(DominatingSetCalculations.greedy(underTest)).isEqualTo(expectedDominatingSet);
+            }
+        }
+
+        @Test
+        @DisplayName("shorten the average neighbor gap of facebook_2000 by breadth first order")
+        void shouldShortenGaps() {
+            // given
+            CompactGraph graph = GraphLoader.loadCompactGraph("data/raw_graph_data/facebook_2000.txt", false);
+
+            // when
+            Reordering underTest = VertexOrdering.BREADTH_FIRST.reorder(graph);
+
+            // then
+            assertThat(underTest.getAverageGapBefore()).isEqualTo(VertexOrdering.averageGap(graph));
+            assertThat(underTest.getAverageGapAfter()).isLessThan(underTest.getAverageGapBefore());
+            assertThat(underTest.getGraph().isConnected()).isEqualTo(graph.isConnected());
+        }
+
+        @Test
+        @DisplayName("be rejected by relabel if it is not a permutation")
+        void shouldRejectNonPermutation() {
+            // given
+            UndirectedGraph undirectedGraph = new UndirectedGraph();
+            undirectedGraph.addVertex(10);
+            undirectedGraph.addVertex(20);
+            undirectedGraph.addVertex(30);
+            CompactGraph graph = undirectedGraph.freeze();
+
+            // when / then
+            assertThatThrownBy(() -> graph.relabel(new int[]{0, 2, 2}))
+                    .isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> graph.relabel(new int[]{0, 1}))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    private static int[] outNeighborValuesOf(CompactGraph graph, int index) {
+        int[] values = new int[graph.outDegree(index)];
+        int[] position = {0};
+        graph.forEachOutNeighbor(index, neighbor -> values[position[0]++] = graph.idOf(neighbor));
+        Arrays.sort(values);
+        return values;
+    }
+}
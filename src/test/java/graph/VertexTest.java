@@ -0,0 +1,73 @@
+package graph;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.Iterator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VertexTest {
+    @Nested
+    @DisplayName("Vertex neighbors should")
+    class VertexNeighborsShould {
+        Vertex vertex = new Vertex(0);
+
+        @Test
+        @DisplayName("be visited by forEachNeighbor")
+        void shouldVisitEveryNeighbor() {
+            // given
+            for(int i = 1; i <= 100; i++) {
+                vertex.addNeighbor(new Vertex(i));
+            }
+            int[] sum = new int[1];
+
+            // when
+            vertex.forEachNeighbor(value -> sum[0] += value);
+
+            // then
+            assertThat(sum[0]).isEqualTo(5050);
+            assertThat(vertex.degree()).isEqualTo(100);
+        }
+
+        @Test
+        @DisplayName("be found by an equal Vertex")
+        void shouldBeFoundByEqualVertex() {
+            // given
+            vertex.addNeighbor(new Vertex(42));
+
+            // when
+            boolean underTest = vertex.getNeighbors().contains(new Vertex(42));
+
+            // then
+            assertThat(underTest).isTrue();
+        }
+
+        @Test
+        @DisplayName("each be returned once while being removed through the iterator")
+        void shouldSurviveIteratorRemoval() {
+            // given
+            for(int i = 1; i <= 1000; i++) {
+                vertex.addNeighbor(new Vertex(i * 31));
+            }
+            int visited = 0;
+
+            // when
+            Iterator<Vertex> iterator = vertex.getNeighbors().iterator();
+            while(iterator.hasNext()) {
+                Vertex neighbor = iterator.next();
+                visited++;
+                if(neighbor.getValue() % 2 == 0) {
+                    iterator.remove();
+                }
+            }
+
+            // then
+            assertThat(visited).isEqualTo(1000);
+            assertThat(vertex.degree()).isEqualTo(500);
+            assertThat(vertex.getNeighbors().contains(new Vertex(31))).isTrue();
+            assertThat(vertex.getNeighbors().contains(new Vertex(62))).isFalse();
+        }
+    }
+}
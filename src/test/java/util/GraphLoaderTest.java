@@ -0,0 +1,89 @@
+package util;
+
+import graph.DirectedGraph;
+import graph.UndirectedGraph;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GraphLoaderTest {
+    @Nested
+    @DisplayName("GraphLoader should")
+    class GraphLoaderShould {
+        @TempDir
+        Path directory;
+
+        private String writeEdgeList(String contents) throws IOException {
+            Path file = directory.resolve("edges.txt");
+            Files.write(file, contents.getBytes(StandardCharsets.US_ASCII));
+            return file.toString();
+        }
+
+        @Test
+        @DisplayName("skip self-loops and duplicate edges in a DirectedGraph")
+        void skipSelfLoopsAndDuplicatesDirected() throws IOException {
+            // given
+            String filename = writeEdgeList("1 2\n2 1\n1 1\n1 2\n3 4\n");
+            DirectedGraph directedGraph = new DirectedGraph();
+
+            // when
+            GraphLoader.loadGraph(directedGraph, filename);
+
+            // then
+            assertThat(directedGraph.getVertexMap()).hasSize(4);
+            assertThat(directedGraph.getNumEdges()).isEqualTo(3);
+        }
+
+        @Test
+        @DisplayName("skip reversed duplicate edges in an UndirectedGraph")
+        void skipReversedDuplicatesUndirected() throws IOException {
+            // given
+            String filename = writeEdgeList("1 2\n2 1\n1 1\n1 2\n3 4\n");
+            UndirectedGraph undirectedGraph = new UndirectedGraph();
+
+            // when
+            GraphLoader.loadGraph(undirectedGraph, filename);
+
+            // then
+            assertThat(undirectedGraph.getVertexMap()).hasSize(4);
+            assertThat(undirectedGraph.getNumEdges()).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("stop at the first token that is not an integer")
+        void stopAtFirstNonIntegerToken() throws IOException {
+            // given
+            String filename = writeEdgeList("1 2\r\n2 3\r\n# comment\r\n4 5\r\n");
+            DirectedGraph directedGraph = new DirectedGraph();
+
+            // when
+            GraphLoader.loadGraph(directedGraph, filename);
+
+            // then
+            assertThat(directedGraph.getVertexMap()).hasSize(3);
+            assertThat(directedGraph.getNumEdges()).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("load a file parsed in several chunks")
+        void loadMultipleChunks() {
+            // given
+            DirectedGraph directedGraph = new DirectedGraph();
+
+            // when
+            GraphLoader.loadGraph(directedGraph, "data/raw_graph_data/twitter_higgs.txt");
+
+            // then
+            assertThat(directedGraph.getVertexMap()).hasSize(256491);
+            assertThat(directedGraph.getNumEdges()).isEqualTo(328132);
+        }
+    }
+}
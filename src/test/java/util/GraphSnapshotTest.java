@@ -0,0 +1,175 @@
+package util;
+
+import graph.CompactGraph;
+import graph.DirectedGraph;
+import graph.DominatingSetCalculations;
+import graph.Edge;
+import graph.Graph;
+import graph.UndirectedGraph;
+import graph.Vertex;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class GraphSnapshotTest {
+    @Nested
+    @DisplayName("GraphSnapshot should")
+    class GraphSnapshotShould {
+        @TempDir
+        Path directory;
+
+        private void assertSameGraph(Graph<?> actual, Graph<?> expected) {
+            assertThat(actual.getVertexMap().keySet()).isEqualTo(expected.getVertexMap().keySet());
+            assertThat(actual.getNumEdges()).isEqualTo(expected.getNumEdges());
+            for(int value : expected.getVertexMap().keySet()) {
+                assertThat(actual.getVertexMap().get(value).getNeighbors())
+                        .isEqualTo(expected.getVertexMap().get(value).getNeighbors());
+            }
+        }
+
+        @Test
+        @DisplayName("round-trip a DirectedGraph loaded from text")
+        void roundTripDirected() throws IOException {
+            // given
+            DirectedGraph directedGraph = new DirectedGraph();
+            GraphLoader.loadGraph(directedGraph, "data/raw_graph_data/facebook_combined.txt");
+            String filename = directory.resolve("graph.bin").toString();
+
+            // when
+            GraphSnapshot.writeGraph(directedGraph, filename);
+            GraphSnapshot snapshot = GraphSnapshot.mapGraph(filename);
+            DirectedGraph reloaded = new DirectedGraph();
+            snapshot.loadGraph(reloaded);
+
+            // then
+            assertThat(snapshot.isDirected()).isTrue();
+            assertThat(snapshot.isWeighted()).isFalse();
+            assertSameGraph(reloaded, directedGraph);
+        }
+
+        @Test
+        @DisplayName("round-trip an UndirectedGraph with a self-loop")
+        void roundTripUndirected() throws IOException {
+            // given
+            UndirectedGraph undirectedGraph = new UndirectedGraph();
+            GraphLoader.loadGraph(undirectedGraph, "data/raw_graph_data/facebook_1000.txt");
+            undirectedGraph.addVertex(5000);
+            undirectedGraph.addEdge(5000, 5000);
+            String filename = directory.resolve("graph.bin").toString();
+
+            // when
+            GraphSnapshot.writeGraph(undirectedGraph, filename);
+            UndirectedGraph reloaded = new UndirectedGraph();
+            GraphSnapshot.mapGraph(filename).loadGraph(reloaded);
+
+            // then
+            assertSameGraph(reloaded, undirectedGraph);
+        }
+
+        @Test
+        @DisplayName("serve adjacency and weights from the mapped file")
+        void serveAdjacencyAndWeights() throws IOException {
+            // given
+            DirectedGraph directedGraph = new DirectedGraph();
+            directedGraph.addVertex(3);
+            directedGraph.addVertex(7);
+            directedGraph.addVertex(9);
+            directedGraph.addEdge(3, 9);
+            directedGraph.addEdge(9, 7);
+            directedGraph.getEdgeMap().get(3).iterator().next().setWeight(2.5);
+            String filename = directory.resolve("graph.bin").toString();
+
+            // when
+            GraphSnapshot.writeGraph(directedGraph, filename);
+            GraphSnapshot snapshot = GraphSnapshot.mapGraph(filename);
+            DirectedGraph reloaded = new DirectedGraph();
+            snapshot.loadGraph(reloaded);
+
+            // then
+            assertThat(snapshot.isWeighted()).isTrue();
+            assertThat(snapshot.indexOf(9)).isEqualTo(2);
+            assertThat(snapshot.indexOf(4)).isEqualTo(-1);
+            assertThat(snapshot.outDegree(snapshot.indexOf(3))).isEqualTo(1);
+            assertThat(snapshot.inDegree(snapshot.indexOf(7))).isEqualTo(1);
+            assertThat(snapshot.weight(snapshot.indexOf(3), snapshot.indexOf(9))).isEqualTo(2.5);
+            assertThat(snapshot.weight(snapshot.indexOf(9), snapshot.indexOf(7))).isEqualTo(0);
+            Edge reloadedEdge = reloaded.getEdgeMap().get(3).iterator().next();
+            assertThat(reloadedEdge.weight()).isEqualTo(2.5);
+        }
+
+        @Test
+        @DisplayName("round-trip the weight of every edge of a weighted UndirectedGraph")
+        void roundTripWeights() throws IOException {
+            // given
+            UndirectedGraph undirectedGraph = new UndirectedGraph();
+            GraphLoader.loadGraph(undirectedGraph, "data/raw_graph_data/facebook_1000.txt");
+            for(Set<Edge> edges : undirectedGraph.getEdgeMap().values()) {
+                for(Edge edge : edges) {
+                    edge.setWeight(edge.getA() + edge.getB() / 1000.0);
+                }
+            }
+            String filename = directory.resolve("graph.bin").toString();
+
+            // when
+            GraphSnapshot.writeGraph(undirectedGraph, filename);
+            UndirectedGraph reloaded = new UndirectedGraph();
+            GraphSnapshot.mapGraph(filename).loadGraph(reloaded);
+
+            // then
+            assertSameGraph(reloaded, undirectedGraph);
+            for(Set<Edge> edges : reloaded.getEdgeMap().values()) {
+                for(Edge edge : edges) {
+                    assertThat(edge.weight()).isEqualTo(edge.getA() + edge.getB() / 1000.0);
+                }
+            }
+        }
+
+        @Test
+        @DisplayName("run greedy on the mapped CompactGraph as on the graph loaded from text")
+        void runGreedyOnMapping() throws IOException {
+            // given
+            DirectedGraph directedGraph = new DirectedGraph();
+            GraphLoader.loadGraph(directedGraph, "data/raw_graph_data/facebook_combined.txt");
+            String filename = directory.resolve("graph.bin").toString();
+            GraphSnapshot.writeGraph(directedGraph, filename);
+            int[] expected = DominatingSetCalculations.greedy(directedGraph).stream()
+                    .mapToInt(Vertex::getValue)
+                    .sorted()
+                    .toArray();
+
+            // when
+            CompactGraph mapped = GraphSnapshot.mapGraph(filename).toCompactGraph();
+            int[] underTest = DominatingSetCalculations.greedy(mapped);
+
+            // then
+            assertThat(underTest).containsExactly(expected);
+            assertThat(DominatingSetCalculations.verify(underTest, mapped)).isTrue();
+            assertThat(mapped.isConnected()).isEqualTo(directedGraph.isConnected());
+            assertThat(DominatingSetCalculations.connectedGreedy(mapped).orElse(null))
+                    .isEqualTo(DominatingSetCalculations.connectedGreedy(directedGraph.freeze()).orElse(null));
+        }
+
+        @Test
+        @DisplayName("reject a file that is not a snapshot")
+        void rejectOtherFiles() throws IOException {
+            // given
+            Path file = directory.resolve("edges.txt");
+            Files.write(file, "1 2\n2 3\n3 4\n4 5\n5 6\n6 7\n7 8\n".getBytes(StandardCharsets.US_ASCII));
+
+            // when // then
+            assertThatThrownBy(() -> GraphSnapshot.mapGraph(file.toString()))
+                    .isInstanceOf(IOException.class)
+                    .hasMessageContaining("is not a graph snapshot");
+        }
+    }
+}